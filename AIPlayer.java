@@ -1,6 +1,5 @@
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Stack;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 /**
  * Program: AIPlayer.java
@@ -22,9 +21,48 @@ public class AIPlayer
     // fields for the AIPlayer class...
     private SudokuBoard currentState;
     private int size;
+    private Engine engine;
+    private VisitedSet.Policy visitedPolicy;
+    private long visitedBytes;
     
-    // field to get rid of the magic number problem
-    private final int divideBy = 1000;
+    // cache and store consulted by solve() before it runs a search, or
+    // null
+    private SolutionCache cache;
+    private SolutionStore store;
+    
+    // result of the last solve, filled in by depthFirstSearch for
+    // the DEPTH_FIRST engine
+    private SolveResult result;
+    
+    // system property used to pick the engine at runtime
+    private static final String engineProperty = "sudoku.engine";
+    
+    // system properties used to pick the visited set of the depth first
+    // search, and the number of bytes a BLOOM visited set may use
+    private static final String visitedProperty = "sudoku.visited";
+    private static final String visitedBytesProperty = "sudoku.visited.bytes";
+    private static final long defaultVisitedBytes = 16L * 1024 * 1024;
+    
+    // system properties used to pick the policy and the number of entries
+    // of the solution cache shared by every AIPlayer
+    private static final String cacheProperty = "sudoku.cache";
+    private static final String cacheEntriesProperty = "sudoku.cache.entries";
+    private static final long defaultCacheEntries = 65536;
+    
+    // system property used to pick the directory of the solution store
+    private static final String storeProperty = "sudoku.store";
+    
+    // names the result of a solve answered by the cache or store is given
+    private static final String cacheEngine = "CACHE";
+    private static final String storeEngine = "STORE";
+    
+    // solution cache and store shared by every AIPlayer, made when first
+    // needed. they can be null, so a flag tells if they were made yet,
+    // and once it is set they are read without taking a lock.
+    private static volatile SolutionCache sharedCache;
+    private static volatile SolutionStore sharedStore;
+    private static volatile boolean cacheMade;
+    private static volatile boolean storeMade;
 
     
     /**
@@ -36,169 +74,487 @@ public class AIPlayer
      *                     the state were the solve AI needs to start at
      */
     public AIPlayer(SudokuBoard currentState) 
+    {
+        this(currentState, getDefaultEngine());
+    }
+    
+    
+    /**
+     * Constructor for the AIPlayer class. The constructor sets the 
+     * current state of the board and the engine that is used to solve it.
+     * 
+     * @param currentState
+     *                     the state were the solve AI needs to start at
+     * @param engine
+     *               the engine that is used to solve the board
+     */
+    public AIPlayer(SudokuBoard currentState, Engine engine) 
     {
         this.currentState = currentState;
-        size = currentState.getBoardSize();       
+        size = currentState.getBoardSize();
+        this.engine = engine;
+        visitedPolicy = getDefaultVisitedPolicy();
+        visitedBytes = Long.getLong(visitedBytesProperty, 
+                defaultVisitedBytes);
+        cache = getDefaultCache();
+        store = getDefaultStore();
     }
     
-
+    
     /**
-     * Method to actually have the AI solve the game. This method is 
-     * called in the Sudoku class by the main method. This method simply
-     * calls the depthFirstSearch method and passes it the currentState 
-     * of the board. If the depthFirstSearch method returns false then
-     * no solution could be found and the user is prompted with the results. 
-     * If a solution is found then the time it took to solve and the 
-     * solution is printed to the screen.
+     * The engines the AI can use to solve a board. The engine can be
+     * picked at runtime with the sudoku.engine system property, for 
+     * example -Dsudoku.engine=dancing_links.
      * 
      */
-    public void play()
-    {        
-        boolean search = depthFirstSearch(currentState);
+    public enum Engine
+    {
+        // the original depth first search that clones boards
+        DEPTH_FIRST,
+        
+        // in place backtracking with constraint propagation
+        BACKTRACKING,
         
-        // if false then no solution could be found
-        if (!search) 
+        // Algorithm X on an exact cover matrix
+        DANCING_LINKS,
+        
+        // backtracking split into fork/join tasks across every core
+        PARALLEL
+    }
+    
+    
+    /**
+     * Method to get the engine picked with the sudoku.engine system 
+     * property. If the property is not set then BACKTRACKING is used.
+     * 
+     * @return the engine picked at runtime is returned.
+     */
+    public static Engine getDefaultEngine()
+    {
+        return Engine.valueOf(System.getProperty(engineProperty, 
+                Engine.BACKTRACKING.name()).toUpperCase());
+    }
+    
+    
+    /**
+     * Method to get the visited set policy picked with the sudoku.visited
+     * system property. If the property is not set then OFF is used, 
+     * since the depth first search never reaches a board twice.
+     * 
+     * @return the visited set policy picked at runtime is returned.
+     */
+    public static VisitedSet.Policy getDefaultVisitedPolicy()
+    {
+        return VisitedSet.Policy.valueOf(System.getProperty(visitedProperty,
+                VisitedSet.Policy.OFF.name()).toUpperCase());
+    }
+    
+    
+    /**
+     * Method to set the visited set used by the DEPTH_FIRST engine. The
+     * other engines search in place and never see a board twice, so they
+     * do not use a visited set. A BLOOM set is only used to skip work.
+     * A search for more than one solution does not use it, and a search
+     * for one solution that pruned a board and found nothing is run 
+     * again without it, so a false positive never changes an answer.
+     * 
+     * @param policy
+     *               the policy of the visited set
+     * @param byteBudget
+     *                   the number of bytes a BLOOM visited set may use
+     */
+    public void setVisitedPolicy(VisitedSet.Policy policy, long byteBudget)
+    {
+        visitedPolicy = policy;
+        visitedBytes = byteBudget;
+    }
+    
+    
+    /**
+     * Method to get the solution cache shared by every AIPlayer. Its 
+     * policy is picked with the sudoku.cache system property, and the 
+     * number of entries with sudoku.cache.entries. If the property is not
+     * set, or is OFF, then there is no cache, since a cache only pays off
+     * when puzzles come up again and slows down a batch of new ones.
+     * 
+     * @return the shared solution cache is returned, or null if there is
+     *         none.
+     */
+    public static SolutionCache getDefaultCache()
+    {
+        if (!cacheMade)
         {
-            System.out.println("No Solution was found!");
+            synchronized (AIPlayer.class)
+            {
+                if (!cacheMade)
+                {
+                    SolutionCache.Policy policy = SolutionCache.Policy.valueOf(
+                            System.getProperty(cacheProperty, 
+                            SolutionCache.Policy.OFF.name()).toUpperCase());
+                    
+                    if (policy != SolutionCache.Policy.OFF)
+                    {
+                        sharedCache = new SolutionCache(policy, 
+                                Long.getLong(cacheEntriesProperty, 
+                                defaultCacheEntries));
+                    }
+                    cacheMade = true;
+                }
+            }
         }
+        return sharedCache;
     }
     
-       
+    
     /**
-     * Method to check a state to see if it is a goal state. It does
-     * this by going through each row, column, and square, and checking
-     * to see if each are filled with the correct values. Based on the 
-     * constraints placed on the AI at each turn, the isGoalState method
-     * will be able to determine if any state is a solution.
+     * Method to set the solution cache solve() consults before it runs a 
+     * search, and adds the solutions it finds to.
      * 
-     * @param state
-     *              the current state of the board
-     *              
-     * @return true or false is returned depending on if the state is a goal.
+     * @param cache
+     *              the solution cache, or null to always search
      */
-    public boolean isGoalState(SudokuBoard state) 
+    public void setCache(SolutionCache cache)
+    {
+        this.cache = cache;
+    }
+    
+    
+    /**
+     * Method to get the solution store shared by every AIPlayer. The 
+     * directory of the store is picked with the sudoku.store system 
+     * property. If the property is not set then there is no store.
+     * 
+     * @return the shared solution store is returned, or null if there is
+     *         none.
+     */
+    public static SolutionStore getDefaultStore()
+    {
+        if (!storeMade)
+        {
+            synchronized (AIPlayer.class)
+            {
+                if (!storeMade)
+                {
+                    String directory = System.getProperty(storeProperty);
+                    
+                    if (directory != null)
+                    {
+                        try
+                        {
+                            sharedStore = new SolutionStore(directory);
+                        }
+                        catch (IOException e)
+                        {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                    storeMade = true;
+                }
+            }
+        }
+        return sharedStore;
+    }
+    
+    
+    /**
+     * Method to set the solution store solve() consults when the cache 
+     * does not have a board, and adds the solutions it finds to.
+     * 
+     * @param store
+     *              the solution store, or null to not use one
+     */
+    public void setStore(SolutionStore store)
     {
-        int[][] board = state.getBoard();
+        this.store = store;
+    }
+    
+    
+    /**
+     * Method to create the solver for the engine picked for the AI.
+     * 
+     * @return a new solver for the currentState is returned.
+     */
+    private Solver createSolver()
+    {
+        if (engine == Engine.DANCING_LINKS)
+        {
+            return new DancingLinksSolver(currentState);
+        }
+        if (engine == Engine.PARALLEL)
+        {
+            return new ParallelSolver(currentState);
+        }
+        return new BacktrackingSolver(currentState);
+    }
+    
+
+    /**
+     * Method to have the AI solve the currentState without printing 
+     * anything. The DEPTH_FIRST engine calls the depthFirstSearch method,
+     * every other engine runs its solver. A currentState whose given 
+     * values already conflict has no solution, so no search is run for it.
+     * If the AI has a solution cache, a board that was solved before is 
+     * answered from the cache, and the solution of any other board is 
+     * added to it. A board the cache does not have is looked up in the 
+     * solution store next, if there is one, and solutions are added to 
+     * the store as well.
+     * This method is used by play() and by the BatchSolver class.
+     * 
+     * @return the result of the solve is returned. It holds the solution,
+     *         or no solution if none could be found, along with the time
+     *         the solve took and the counters of the engine.
+     */
+    public SolveResult solve()
+    {
+        // given values that break the rules can never be solved
+        if (currentState.getConflictCount() > 0)
+        {
+            result = new SolveResult(engine.name());
+            return result;
+        }
         
-        // ArrayList to hold the the values that have 
-        // to be in the board for it to be a goal state
-        ArrayList<Integer> check = new ArrayList<Integer>(size);
+        SolutionCache.Lookup lookup = null;
         
-        // loop to initialize the list above
-        for (int i = 1; i <= size; i++)
+        if (cache != null)
         {
-            check.add(i);
+            SolveResult cached = new SolveResult(cacheEngine);
+            
+            cached.startTimer();
+            lookup = cache.lookup(currentState);
+            
+            if (lookup.isHit())
+            {
+                cached.setSolution(lookup.getSolution());
+                cached.stopTimer();
+                result = cached;
+                return result;
+            }
         }
         
-         
-        // goes through each row and checks to see 
-        // if it is filled with the required values
-        for (int row = 0; row < size; row++)
+        if (store != null)
         {
-            for (int col = 0; col < size; col++)
+            SolveResult stored = new SolveResult(storeEngine);
+            
+            stored.startTimer();
+            SudokuBoard solution = store.get(currentState);
+            
+            if (solution != null)
             {
-                if (!check.contains(board[row][col]))
+                stored.setSolution(solution);
+                stored.stopTimer();
+                result = stored;
+                
+                if (lookup != null)
                 {
-                    return false;
+                    lookup.store(solution);
                 }
+                return result;
             }
         }
-                
-        // goes through each column and checks 
-        // see if it is filled with the required values
-        for (int col = 0; col < size; col++)
-        {           
-            for (int row = 0; row < size; row++)
+        
+        if (engine == Engine.DEPTH_FIRST)
+        {
+            depthFirstSearch(currentState);
+        }
+        else
+        {
+            Solver solver = createSolver();
+            
+            solver.solve();
+            result = solver.getResult();
+        }
+        
+        if (result.isSolved())
+        {
+            if (lookup != null)
             {
-                if (!check.contains(board[row][col]))
-                {
-                    return false;
-                }
+                lookup.store(result.getSolution());
             }
-        } 
-              
-        // goes through each square and checks to 
-        // see if it is filled with the required values
-        for (int row = 0; row < size; row += Math.sqrt(size))
-        {
-            for (int col = 0; col < size; col += Math.sqrt(size))
-            {                
-                // gets each individual square
-                int squareNumber = state.getSquareNumber(row, col);
-                int[][] square = state.getSquare(squareNumber);
-                
-                // loops to traverse the square and 
-                // check for the appropriate values
-                for (int i = 0; i < square.length; i++)
-                {
-                    for (int j = 0; j < square[i].length; j++)
-                    {
-                        if (!check.contains(square[i][j]))
-                        {
-                            return false;
-                        }
-                    }
-                }               
+            if (store != null)
+            {
+                store.put(currentState, result.getSolution());
             }
-        } 
-        // if it makes it through all of the 
-        // test, then state, is in fact a goalState
-        return true;      
+        }
+        return result;
+    }
+    
+    
+    /**
+     * Method to have the AI look for the solutions of the currentState, up
+     * to a limit, without printing anything. The search stops as soon as
+     * the limit is reached or the listener asks it to, so every solution 
+     * of a board can be streamed to the listener, or a limit of 2 can be 
+     * used to tell if the board has a single solution. The PARALLEL engine
+     * looks for the solutions on every core. The result of the search can
+     * be retrieved with getResult() afterwards.
+     * 
+     * @param limit
+     *              the most solutions the search looks for, at least 1
+     * @param listener
+     *                 the listener that is passed each solution, or null
+     *                 if the solutions only need to be counted
+     *                 
+     * @return the number of solutions found is returned, which is never
+     *         more than the limit
+     */
+    public long findSolutions(long limit, SolutionListener listener)
+    {
+        // given values that break the rules can never be solved
+        if (currentState.getConflictCount() > 0)
+        {
+            result = new SolveResult(engine.name());
+            return 0;
+        }
+        
+        if (engine == Engine.DEPTH_FIRST)
+        {
+            return depthFirstSearch(currentState, limit, listener);
+        }
+        
+        Solver solver = createSolver();
+        long found = solver.findSolutions(limit, listener);
+        
+        result = solver.getResult();
+        return found;
+    }
+    
+    
+    /**
+     * Method to count the solutions of the currentState, up to a limit.
+     * 
+     * @param limit
+     *              the most solutions that are counted, at least 1
+     *              
+     * @return the number of solutions found is returned, which is never
+     *         more than the limit
+     */
+    public long countSolutions(long limit)
+    {
+        return findSolutions(limit, null);
+    }
+    
+    
+    /**
+     * Method to count the solutions of a board, up to a limit, with the
+     * engine picked with the sudoku.engine system property.
+     * 
+     * @param board
+     *              the board whose solutions are counted
+     * @param limit
+     *              the most solutions that are counted, at least 1
+     *              
+     * @return the number of solutions found is returned, which is never
+     *         more than the limit
+     */
+    public static long countSolutions(SudokuBoard board, long limit)
+    {
+        return new AIPlayer(board).countSolutions(limit);
+    }
+    
+    
+    /**
+     * Method to check if a board has exactly one solution. The search 
+     * stops as soon as a second solution is found.
+     * 
+     * @param board
+     *              the board that needs to be checked
+     *              
+     * @return true or false is returned depending on if the board has
+     *         exactly one solution
+     */
+    public static boolean hasUniqueSolution(SudokuBoard board)
+    {
+        return countSolutions(board, 2) == 1;
+    }
+    
+    
+    /**
+     * Method to return the result of the last search run by solve(),
+     * findSolutions(), or countSolutions().
+     * 
+     * @return the result of the last search is returned, or null if no
+     *         search has been run.
+     */
+    public SolveResult getResult()
+    {
+        return result;
+    }
+    
+
+    /**
+     * Method to actually have the AI solve the game. This method is 
+     * called in the Sudoku class by the main method. This method calls
+     * the solve method to solve the currentState of the board. If no 
+     * solution could be found then the user is prompted with the results.
+     * If a solution is found then the time it took to solve and the 
+     * solution is printed to the screen, followed by the counters of the
+     * engine that solved it.
+     * 
+     */
+    public void play()
+    {        
+        SolveResult result = solve();
+        
+        // no solution could be found
+        if (!result.isSolved()) 
+        {
+            System.out.println("No Solution was found!");
+            result.print();
+            return;
+        }
+        
+        result.getSolution().printBoard();
+        
+        // prints a goal was found and the 
+        // time it took to find the solution
+        System.out.println("Here Is The Solution! It took " 
+                + result.getSeconds() + " seconds to "
+                + "complete.");
+        result.print();
+    }
+    
+       
+    /**
+     * Method to check a state to see if it is a goal state, which is when
+     * every location is filled and no row, column, or square holds a 
+     * value twice. The board keeps count of both as values are set, so 
+     * the check does not scan the board.
+     * 
+     * @param state
+     *              the current state of the board
+     *              
+     * @return true or false is returned depending on if the state is a goal.
+     */
+    public boolean isGoalState(SudokuBoard state) 
+    {
+        return state.isSolved();
     }
     
     
     /**
-     * Method to look through a SudokuBoard and return the indices with
-     * the smallest amount of possible actions. This method is used in 
-     * the depthFistSearch() method to determine where the AI should make
-     * the next move. 
+     * Method to look through a SudokuBoard and return the indices of the
+     * location with the smallest amount of possible actions. The location
+     * is picked by BacktrackingSolver.chooseCell(), the same way every
+     * engine picks the next location to fill.
      *              
      * @param board
      *              the board used to find the location with the 
      *              smallest amount of actions.
      *              
-     * @return A string containing the indices of the location with the 
-     *         smallest amount of actions. charAt(0) is X, and charAt(1)
-     *         is Y.
+     * @return the indices of the location with the smallest amount of
+     *         actions are returned, [0] is the row and [1] is the column,
+     *         or null if every location is filled.
      */
-    @SuppressWarnings("unchecked")
     public int[] getSmallestAction(SudokuBoard board)
     {
-        ArrayList<Integer> actions;
-        
-        // array to hold the indices with the smallest value
-        int[] indices = new int[2];
-        
-        // used to test against, to find the smallest number of actions
-        ArrayList<Integer> temp = null;
+        int cell = BacktrackingSolver.chooseCell(board);
         
-        for (int row = 0; row < size; row++)
+        if (cell == -1)
         {
-            for (int col = 0; col < size; col++)
-            {
-                if (board.getActions(row, col) == null)
-                {
-                    continue;
-                }
-                
-                // holds the actions for a square
-                actions = board.getActions(row, col);
-                
-                if (temp == null)
-                {
-                    temp = new ArrayList<Integer>(actions);
-                }
-                
-                if (temp.size() >= actions.size())
-                {
-                    temp = (ArrayList<Integer>) actions.clone();
-                    
-                    indices[0] = row;
-                    indices[1] = col;
-                }               
-            }
+            return null;
         }
-        return indices;
+        return new int[] {cell / board.getBoardSize(),
+                cell % board.getBoardSize()};
     }
     
     
@@ -206,9 +562,10 @@ public class AIPlayer
      * Method that implements a Depth First Search to solve the Sudoku game
      * from the currentState. The method returns true or false depending on 
      * whether the search could find a solution. This method will stop at the 
-     * first solution that is found and print that solution. By commenting
-     * out the returns below and replacing them with print statements, every
-     * solution of the board will be printed.
+     * first solution that is found and keep that solution in the result
+     * returned by the solve() method, along with the time and counters of
+     * the search. Every solution of the board can be found with the 
+     * findSolutions() method instead.
      * 
      * @param board a SudokuBoard that will be used by the DFS to solve
      *              the game from the currentState.
@@ -217,137 +574,230 @@ public class AIPlayer
      */
     public boolean depthFirstSearch(SudokuBoard board)
     {
+        return depthFirstSearch(board, 1, null) > 0;
+    }
+    
+    
+    /**
+     * Method that implements the Depth First Search, which keeps going
+     * after a solution is found until the limit is reached or the 
+     * listener asks it to stop. The first solution is kept in the result.
+     * 
+     * @param board a SudokuBoard that will be used by the DFS to solve
+     *              the game from the currentState.
+     * @param limit
+     *              the most solutions the search looks for
+     * @param listener
+     *                 the listener that is passed each solution, or null
+     *              
+     * @return the number of solutions found is returned
+     */
+    private long depthFirstSearch(SudokuBoard board, long limit, 
+            SolutionListener listener)
+    {
+        VisitedSet.Policy policy = visitedPolicy;
+        
+        // a Bloom filter can prune a board it never saw, so a count or a
+        // proof of a single solution, which needs every branch, is made
+        // without one
+        if (policy == VisitedSet.Policy.BLOOM && limit > 1)
+        {
+            policy = VisitedSet.Policy.OFF;
+        }
+        long found = depthFirstSearch(board, limit, listener, policy);
         
-        ArrayList<Integer> actions;
+        // a search that found nothing may have pruned the only solution,
+        // while a solution that was found is always right
+        if (found == 0 && policy == VisitedSet.Policy.BLOOM 
+                && result.getVisitedHits() > 0)
+        {
+            found = depthFirstSearch(board, limit, listener, 
+                    VisitedSet.Policy.OFF);
+        }
+        return found;
+    }
+    
+    
+    /**
+     * Method that runs one depth first search with a visited set policy.
+     * 
+     * @param board a SudokuBoard that will be used by the DFS to solve
+     *              the game from the currentState.
+     * @param limit
+     *              the most solutions the search looks for
+     * @param listener
+     *                 the listener that is passed each solution, or null
+     * @param policy
+     *               the policy of the visited set of the search
+     *              
+     * @return the number of solutions found is returned
+     */
+    private long depthFirstSearch(SudokuBoard board, long limit, 
+            SolutionListener listener, VisitedSet.Policy policy)
+    {
+        result = new SolveResult(Engine.DEPTH_FIRST.name());
+        result.startTimer();
        
         // use a clone of the original state
         SudokuBoard state = board.clone();
 
-        // Create a new queue to hold the frontier
-        Stack<SudokuBoard> frontier = new Stack<SudokuBoard>();
+        // Create a new frontier that holds a level for each board on the
+        // current path, and makes the children of a level one at a time
+        Frontier frontier = new Frontier(size);
 
-        // Create a new hashSet to hold the states already seen
-        HashSet<SudokuBoard> seen = new HashSet<SudokuBoard>();
-
-        // Push the start state on the empty queue
-        frontier.add(state);
+        // Create a new visited set to remember the states already seen
+        VisitedSet seen = new VisitedSet(policy, visitedBytes);
        
-        // sets a timer to see how long the method takes
-        double startTime = System.currentTimeMillis();
-        
         // check to see if the initial state was the goal
         // state
         if (isGoalState(state))
         {
-            state.printBoard();
-            double endTime = System.currentTimeMillis();
-            double duration = (endTime - startTime) / divideBy;
-            
-            // prints a goal was found and the 
-            // time it took to find the solution
-            System.out.println("Here Is The Solution! It took " 
-                    + duration + " seconds to "
-                    + "complete.");
-            
-            return true;
+            recordSolution(state, limit, listener);
+            return finish(seen);
         }
         
-        // restart the clock right before going through the loop
-        startTime = System.currentTimeMillis();
+        // Push the start state on the empty frontier
+        expand(state, frontier, seen);
         
         // loop do
         while (true)
         {
-            // if the frontier is empty then return failure.
+            // if the frontier is empty then every solution has been found
             if (frontier.isEmpty())
             {
-                // failure
-                return false;
+                return finish(seen);
             }
 
-            // choose a leaf node and remove it from the frontier
-            state = frontier.pop();
-            // add node to seen set
-            seen.add(state);
+            // generate the next child of the deepest board, or back up a
+            // level if every child of that board has been tried
+            SudokuBoard child = frontier.nextChild();
+            
+            if (child == null)
+            {
+                result.addBacktrack();
+                continue;
+            }
+            result.addCandidates(1);
+            
+            if (seen.contains(child))
+            {
+                continue;
+            }
 
             // Uncomment the three lines below to print out 
             // all of the steps it takes to get to the solution. 
             
             // print the currently explored path
-            // state.printBoard();
+            // child.printBoard();
             // System.out.println();
             
-            // location with the smallest amount of moves
-            int[] indices = getSmallestAction(state);
-            
-            // possible actions at the location with the smallest
-            // amount of moves.
-            actions = state.getActions(indices[0], indices[1]);
-
-            // expand the chosen node, adding the resulting nodes to the
-            // frontier
-            for (int i = 0; i < actions.size(); i++)
+            // if the node contains a goal state then record the 
+            // corresponding solution, if not add the child to 
+            // the frontier
+            if (isGoalState(child))
             {
-                // generate the all of the children
-                SudokuBoard child = makeMove(indices[0], 
-                        indices[1], state, actions.get(i));
-
-                if (!seen.contains(child) && !frontier.contains(child))
+                if (!recordSolution(child, limit, listener))
                 {
-                    // if the node contains a goal state then return the 
-                    // corresponding solution, if not add the child to 
-                    // the frontier
-                    if (isGoalState(child))
-                    {
-                        child.printBoard();
-                        double endTime = System.currentTimeMillis();
-                        double duration = (endTime - startTime) / divideBy;
-                        // prints a goal was found and the time 
-                        // it took to find the solution
-                        System.out.println("Here Is The Solution! It took " 
-                                           + duration + " seconds to "
-                                           + "complete.");
-                        
-                        return true;
-                    }
-                    else
-                    {
-                        frontier.add(child);
-                    }
+                    return finish(seen);
                 }
+                continue;
             }
+            expand(child, frontier, seen);
         }
     } 
     
     
     /**
-     * Method to make a move on a board at a specified row/column location.
-     * This method is called by the depthFirstSearch() method to actually 
-     * make a move on the board. At a given state the depthFisrtSearch() method 
-     * will call this method for each possible action and produce all states
-     * for the move.
+     * Method to expand a board in the depth first search. The location
+     * with the smallest amount of moves is chosen, and a level for it 
+     * is added to the frontier so its children can be made one at a time.
+     * A board with no moves at that location is a dead end and is not 
+     * added.
+     * 
+     * @param state
+     *              the board that is expanded
+     * @param frontier
+     *                 the frontier of the search
+     * @param seen
+     *             the visited set of the search
+     */
+    private void expand(SudokuBoard state, Frontier frontier, VisitedSet seen)
+    {
+        // add node to seen set
+        seen.add(state);
+        result.addNode();
+        
+        // location with the smallest amount of moves, as a cell number
+        // so nothing is allocated for each node
+        int cell = BacktrackingSolver.chooseCell(state);
+        
+        // possible actions at the location with the smallest
+        // amount of moves.
+        int candidates = 0;
+        
+        if (cell != -1)
+        {
+            candidates = state.getCandidateMask(cell / size, cell % size);
+        }
+        
+        if (candidates == 0)
+        {
+            result.addBacktrack();
+            return;
+        }
+        
+        frontier.push(state, cell, candidates);
+        result.updateFrontier(frontier.size());
+        result.updateBoards(frontier.size());
+    }
+    
+    
+    /**
+     * Method to record a solution found by the depth first search. The
+     * first solution is kept in the result and every solution is passed
+     * to the listener.
      * 
-     * @param row 
-     *            the row location where the move needs to be made
-     * @param column 
-     *               the column location where the move needs to be made
-     * @param state 
-     *              the current board where the move needs to be made
-     * @param value
-     *              the value that needs to be added to the board
+     * @param goal
+     *             the solution that was found
+     * @param limit
+     *              the most solutions the search looks for
+     * @param listener
+     *                 the listener that is passed each solution, or null
      *              
-     * @return a copy of the original board with the move made
+     * @return true or false is returned depending on if the search should
+     *         keep looking for solutions
      */
-    private SudokuBoard makeMove(int row, int column, 
-            SudokuBoard state, int value)
+    private boolean recordSolution(SudokuBoard goal, long limit, 
+            SolutionListener listener)
     {
-        // copies the state so the original won't be altered
-        SudokuBoard copy = state.clone();
-
-        // makes the move
-        copy.setValue(row, column, value);
-        return copy;
-    }   
+        result.addSolutions(1);
+        
+        if (result.getSolution() == null)
+        {
+            result.setSolution(goal);
+        }
+        if (listener != null && !listener.solutionFound(goal.clone()))
+        {
+            return false;
+        }
+        return result.getSolutionCount() < limit;
+    }
+    
+    
+    /**
+     * Method to record the end of a depth first search in the result.
+     * 
+     * @param seen
+     *             the visited set used by the search
+     *              
+     * @return the number of solutions found is returned
+     */
+    private long finish(VisitedSet seen)
+    {
+        result.setVisited(seen);
+        result.stopTimer();
+        return result.getSolutionCount();
+    }
 }
 
 //end of AIPlayer class
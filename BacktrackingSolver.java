@@ -0,0 +1,366 @@
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Program: BacktrackingSolver.java
+ *
+ * This class is used to solve a SudokuBoard with a backtracking search
+ * that works on a single board. At each step the search picks the empty
+ * location with the fewest possible values, tries each value in turn, and
+ * clears the value again with an UndoTrail when it leads to a dead end.
+ * Unlike the depth first search in the AIPlayer class no board is cloned
+ * for each move, so the memory used by the search does not grow with the
+ * number of states it explores. Before the search starts and after every
+ * move a Propagator fills in the values that are forced, and a move that
+ * leads to a contradiction is undone right away.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class BacktrackingSolver implements Solver
+{
+    // fields for the BacktrackingSolver class...
+    private SudokuBoard board;
+    private BoardGeometry geometry;
+    private UndoTrail trail;
+    private Propagator propagator;
+    private SolveResult result;
+    
+    // set by another thread to make the search give up early
+    private AtomicBoolean stop;
+    
+    // solutions found so far, the most the search looks for, and the 
+    // listener that is passed each solution
+    private long solutions;
+    private long limit;
+    private SolutionListener listener;
+    
+    // most search nodes the search may expand, and if it ran out of them
+    private long nodeLimit;
+    private boolean cutOff;
+    
+    // picks the order values are tried in, or null for lowest first
+    private Random random;
+
+
+    /**
+     * Constructor for the BacktrackingSolver class. The constructor
+     * makes a copy of the start state, so the board passed in is never
+     * changed by the search.
+     *
+     * @param startState
+     *                   the state the search needs to start at
+     */
+    public BacktrackingSolver(SudokuBoard startState)
+    {
+        this(startState, new AtomicBoolean(false));
+    }
+
+
+    /**
+     * Constructor for the BacktrackingSolver class. The search gives up
+     * as soon as the stop flag is set, which lets several solvers work on
+     * parts of the same board and stop once one of them finds a solution.
+     *
+     * @param startState
+     *                   the state the search needs to start at
+     * @param stop
+     *             flag that makes the search give up once it is set
+     */
+    public BacktrackingSolver(SudokuBoard startState, AtomicBoolean stop)
+    {
+        this.stop = stop;
+        board = startState.clone();
+        geometry = board.getGeometry();
+        trail = new UndoTrail(board.getBoardSize());
+        propagator = new Propagator();
+        result = new SolveResult(AIPlayer.Engine.BACKTRACKING.name());
+        nodeLimit = Long.MAX_VALUE;
+    }
+
+
+    /**
+     * Method to solve the board. The search stops at the first solution
+     * that is found, which can then be retrieved with getSolution().
+     *
+     * @return true or false is returned depending on if a solution is found
+     */
+    public boolean solve()
+    {
+        return findSolutions(1, null) > 0;
+    }
+
+
+    /**
+     * Method to look for solutions of the board, up to a limit. The 
+     * search stops as soon as the limit is reached or the listener asks
+     * it to. The first solution can be retrieved with getSolution(), and
+     * the board is left the way it was, so the method can be called again.
+     * A search ended by the stop flag counts only the solutions it found
+     * before that, so it returns 0 if it found none.
+     *
+     * @param limit
+     *              the most solutions the search looks for
+     * @param listener
+     *                 the listener that is passed each solution, or null
+     *
+     * @return the number of solutions found is returned
+     */
+    public long findSolutions(long limit, SolutionListener listener)
+    {
+        this.limit = limit;
+        this.listener = listener;
+        solutions = 0;
+        cutOff = false;
+        result = new SolveResult(AIPlayer.Engine.BACKTRACKING.name());
+        result.startTimer();
+        result.updateBoards(1);
+
+        int mark = trail.mark();
+        int resolved = propagator.propagate(board, trail);
+
+        if (resolved != Propagator.CONTRADICTION)
+        {
+            result.addPropagated(resolved);
+            search(0);
+        }
+        trail.undo(board, mark);
+
+        result.stopTimer();
+        return solutions;
+    }
+
+
+    /**
+     * Method to set the most search nodes a search may expand. A search
+     * that runs out of nodes gives up, and hitNodeLimit() tells it apart
+     * from a search that looked everywhere. There is no limit by default.
+     *
+     * @param nodeLimit
+     *                  the most search nodes a search may expand
+     */
+    public void setNodeLimit(long nodeLimit)
+    {
+        this.nodeLimit = nodeLimit;
+    }
+
+
+    /**
+     * Method to make the search try the values of each location in a
+     * random order instead of lowest first. Solving an empty board this
+     * way makes a random full grid.
+     *
+     * @param random
+     *               the random numbers that pick the order, or null to
+     *               try the lowest value first again
+     */
+    public void setRandom(Random random)
+    {
+        this.random = random;
+    }
+
+
+    /**
+     * Method to check if the last search gave up because it ran out of
+     * search nodes. If it did, there may be solutions it did not find.
+     *
+     * @return true or false is returned depending on if the last search
+     *         ran out of search nodes
+     */
+    public boolean hitNodeLimit()
+    {
+        return cutOff;
+    }
+
+
+    /**
+     * Method to return the first solution found by solve() or
+     * findSolutions().
+     *
+     * @return the solved board is returned, or null if no solution 
+     *         has been found.
+     */
+    public SudokuBoard getSolution()
+    {
+        return result.getSolution();
+    }
+
+
+    /**
+     * Method to return the timing and counters of the last solve. The 
+     * frontier of this engine is the path from the start state to the 
+     * current move, so the largest frontier is the deepest the search went.
+     *
+     * @return the result of the last solve is returned.
+     */
+    public SolveResult getResult()
+    {
+        return result;
+    }
+
+
+    /**
+     * Method that does the actual backtracking search. Each value for the
+     * chosen location is placed on the board, the forced values that follow
+     * from it are filled in, the search continues from there, and if no 
+     * solution is found everything placed since is cleared before the next
+     * value is tried. Each solution is counted, and the search keeps going
+     * until the limit is reached.
+     *
+     * @param depth
+     *              the number of moves made on the path to this point
+     *
+     * @return true or false is returned depending on if the search needs
+     *         to stop
+     */
+    private boolean search(int depth)
+    {
+        // another solver asked every search to give up, so the whole
+        // search is ended, not only this branch
+        if (stop.get())
+        {
+            return true;
+        }
+        if (result.getNodes() >= nodeLimit)
+        {
+            cutOff = true;
+            return true;
+        }
+        result.addNode();
+        result.updateFrontier(depth);
+        
+        int cell = chooseCell(board);
+
+        // no empty locations are left, so the board is solved
+        if (cell == -1)
+        {
+            return recordSolution();
+        }
+
+        int candidates = board.getCandidateMask(geometry.getRow(cell),
+                geometry.getColumn(cell));
+        int mark = trail.mark();
+
+        while (candidates != 0)
+        {
+            int bit = nextCandidate(candidates);
+            candidates ^= bit;
+
+            trail.assign(board, cell, Integer.numberOfTrailingZeros(bit) + 1);
+            result.addCandidates(1);
+
+            int resolved = propagator.propagate(board, trail);
+
+            if (resolved != Propagator.CONTRADICTION)
+            {
+                result.addPropagated(resolved);
+
+                if (search(depth + 1))
+                {
+                    return true;
+                }
+            }
+            trail.undo(board, mark);
+            result.addBacktrack();
+        }
+        return false;
+    }
+
+
+    /**
+     * Method to pick the next value to try out of the ones left, which is
+     * the lowest one unless a random order was asked for.
+     *
+     * @param candidates
+     *                   bitmask of the values that are left to try
+     *
+     * @return the bit of the value to try next is returned
+     */
+    private int nextCandidate(int candidates)
+    {
+        if (random != null)
+        {
+            // drop a random number of the lowest values
+            for (int skip = random.nextInt(Integer.bitCount(candidates));
+                    skip > 0; skip--)
+            {
+                candidates &= candidates - 1;
+            }
+        }
+        return candidates & -candidates;
+    }
+
+
+    /**
+     * Method to count the solution on the board. The first solution is
+     * kept as the solution of the search, and every solution is passed to
+     * the listener.
+     *
+     * @return true or false is returned depending on if the search needs
+     *         to stop
+     */
+    private boolean recordSolution()
+    {
+        solutions++;
+        result.addSolutions(1);
+
+        if (result.getSolution() == null)
+        {
+            result.setSolution(board.clone());
+        }
+        if (listener != null && !listener.solutionFound(board.clone()))
+        {
+            return true;
+        }
+        return solutions >= limit;
+    }
+
+
+    /**
+     * Method to find the empty location with the smallest amount of
+     * possible values. The scan stops early when a location with zero
+     * or one possible values is found, since no location can be better.
+     *
+     * @param board
+     *              the board to look through
+     *
+     * @return the cell number of the location is returned, or -1 if
+     *         there are no empty locations left.
+     */
+    public static int chooseCell(SudokuBoard board)
+    {
+        BoardGeometry geometry = board.getGeometry();
+        int cellCount = geometry.getCellCount();
+        int best = -1;
+        int bestCount = Integer.MAX_VALUE;
+
+        for (int cell = 0; cell < cellCount; cell++)
+        {
+            int row = geometry.getRow(cell);
+            int col = geometry.getColumn(cell);
+
+            if (board.checkForValue(row, col))
+            {
+                continue;
+            }
+
+            int count = Integer.bitCount(board.getCandidateMask(row, col));
+
+            if (count < bestCount)
+            {
+                best = cell;
+                bestCount = count;
+
+                if (count <= 1)
+                {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+}
+
+//end of BacktrackingSolver class
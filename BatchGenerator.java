@@ -0,0 +1,488 @@
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Program: BatchGenerator.java
+ *
+ * This class is used to make a large number of puzzles without any user
+ * input and write them to a file, one puzzle per line in the same format
+ * BatchSolver reads. Each puzzle is made by a PuzzleGenerator on one of a
+ * pool of worker threads. Every puzzle gets its own seed, drawn in order
+ * from a single random stream seeded by the caller, so the same seed
+ * always writes the same file no matter how many threads are used. The
+ * puzzles are taken back in the order they were started, and only a fixed
+ * number are in flight at once, so the memory used does not depend on how
+ * many puzzles are made.
+ *
+ * A puzzle passes through five stages. The fill stage makes a full grid
+ * and the remove stage turns it into a puzzle, both on a worker thread.
+ * The target stage drops puzzles that were left with more given values
+ * than asked for, and if many in a row are dropped the batch fails, since
+ * the target is then out of reach for the board size. The unique stage
+ * drops puzzles that were already written, even when they were written
+ * relabeled, transposed, or with lines swapped. It finds the canonical
+ * form of each puzzle on the worker thread, and keeps the fingerprint of
+ * every canonical board in an EXACT VisitedSet. The write stage writes
+ * the rest. The number of items into each stage, how many of them it
+ * rejected, and the time it took are kept for printStats().
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class BatchGenerator
+{
+    /**
+     * The counts and time of one stage of the batch.
+     *
+     */
+    public static class Stage
+    {
+        // fields for the Stage class...
+        private String name;
+        private long items;
+        private long rejected;
+        private long nanos;
+
+
+        /**
+         * Constructor for the Stage class.
+         *
+         * @param name
+         *             the name of the stage
+         */
+        public Stage(String name)
+        {
+            this.name = name;
+        }
+
+
+        /**
+         * Method to add the work of one step to the stage.
+         *
+         * @param count
+         *              the number of items that went into the stage
+         * @param rejects
+         *                the number of those items the stage rejected
+         * @param elapsed
+         *                the time the step took in nanoseconds
+         */
+        public void add(long count, long rejects, long elapsed)
+        {
+            items += count;
+            rejected += rejects;
+            nanos += elapsed;
+        }
+
+
+        /**
+         * Method to return the name of the stage.
+         *
+         * @return the name of the stage is returned.
+         */
+        public String getName()
+        {
+            return name;
+        }
+
+
+        /**
+         * Method to return the number of items that went into the stage.
+         *
+         * @return the number of items is returned.
+         */
+        public long getItems()
+        {
+            return items;
+        }
+
+
+        /**
+         * Method to return the number of items the stage rejected.
+         *
+         * @return the number of rejected items is returned.
+         */
+        public long getRejected()
+        {
+            return rejected;
+        }
+
+
+        /**
+         * Method to return the time spent in the stage. Time spent on the
+         * worker threads is added up over all of them.
+         *
+         * @return the time spent in nanoseconds is returned.
+         */
+        public long getNanos()
+        {
+            return nanos;
+        }
+
+
+        /**
+         * Method to return the fraction of the items the stage rejected.
+         *
+         * @return the rejection rate between 0 and 1 is returned.
+         */
+        public double getRejectionRate()
+        {
+            if (items == 0)
+            {
+                return 0;
+            }
+            return (double) rejected / items;
+        }
+
+
+        /**
+         * Method to return the number of items the stage handles in a
+         * second of its own time.
+         *
+         * @return the items per second is returned.
+         */
+        public double getThroughput()
+        {
+            if (nanos == 0)
+            {
+                return 0;
+            }
+            return items * nanosPerSecond / nanos;
+        }
+
+
+        /**
+         * Method to return a description of the stage.
+         *
+         * @return a description of the stage is returned.
+         */
+        public String toString()
+        {
+            return String.format("%-7s %12d in, %12d rejected (%5.1f%%), "
+                    + "%12.0f/s", name, items, rejected,
+                    getRejectionRate() * percent, getThroughput());
+        }
+    }
+
+    // fields for the BatchGenerator class...
+    private int size;
+    private int targetClues;
+    private int threads;
+    private long seed;
+
+    // stages of the last call to generate()
+    private Stage fill;
+    private Stage remove;
+    private Stage target;
+    private Stage unique;
+    private Stage write;
+    private long elapsedNanos;
+
+    // puzzles in flight for each worker thread
+    private static final int puzzlesPerThread = 4;
+
+    // duplicates in a row after which the board size is taken to have
+    // run out of new puzzles
+    private static final int maxDuplicateRun = 100000;
+
+    // puzzles in a row over the target after which the target is taken
+    // to be out of reach
+    private static final int maxMissRun = 20;
+
+    // fields to get rid of the magic number problem
+    private static final double nanosPerSecond = 1e9;
+    private static final double percent = 100;
+
+
+    /**
+     * Constructor for the BatchGenerator class.
+     *
+     * @param boardSize
+     *                  the size of the boards that are made
+     * @param targetClues
+     *                    the number of given values each puzzle should have
+     * @param threads
+     *                the number of worker threads used to make puzzles
+     * @param seed
+     *             the seed of the stream the seed of each puzzle is
+     *             drawn from
+     */
+    public BatchGenerator(int boardSize, int targetClues, int threads,
+            long seed)
+    {
+        size = boardSize;
+        this.targetClues = targetClues;
+        this.threads = threads;
+        this.seed = seed;
+        resetStats();
+    }
+
+
+    /**
+     * Method to make a number of different puzzles and write them to a
+     * file, one per line. Puzzles that were already written are made
+     * again with the next seed, so the file holds count puzzles, unless
+     * so many duplicates are made in a row that the board size seems to
+     * have run out of new puzzles, as can happen on 4x4 boards.
+     * Puzzles left with more given values than the target are dropped
+     * and made again as well.
+     *
+     * @param outputFile
+     *                   the name of the file the puzzles are written to
+     * @param count
+     *              the number of puzzles to write
+     *
+     * @return the number of puzzles written is returned
+     *
+     * @throws IOException
+     *                     if the output file could not be written
+     * @throws IllegalStateException
+     *                               if so many puzzles in a row are left
+     *                               over the target that it seems out of
+     *                               reach for the board size
+     */
+    public long generate(String outputFile, long count) throws IOException
+    {
+        resetStats();
+        long startTime = System.nanoTime();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ArrayDeque<Future<Job>> pending = new ArrayDeque<Future<Job>>();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        VisitedSet written = new VisitedSet(VisitedSet.Policy.EXACT, 0);
+        int window = threads * puzzlesPerThread;
+        long puzzles = 0;
+        int duplicateRun = 0;
+        int missRun = 0;
+        int fewestMissed = Integer.MAX_VALUE;
+        BoardRenderer renderer = new BoardRenderer();
+
+        try (OutputStream out = new BufferedOutputStream(
+                new FileOutputStream(outputFile)))
+        {
+            while (puzzles < count && duplicateRun < maxDuplicateRun)
+            {
+                // keep the workers busy, but never start more puzzles
+                // than could still be needed
+                while (pending.size() < window
+                        && pending.size() < count - puzzles)
+                {
+                    pending.add(pool.submit(new Job(seeds.nextLong())));
+                }
+
+                Job job = waitFor(pending.poll());
+                SudokuBoard puzzle = job.puzzle;
+
+                fill.add(1, 0, job.fillNanos);
+                remove.add(job.removalsTried, job.removalsRejected,
+                        job.removeNanos);
+
+                if (puzzle.getFilledCount() > targetClues)
+                {
+                    target.add(1, 1, 0);
+                    fewestMissed = Math.min(fewestMissed,
+                            puzzle.getFilledCount());
+
+                    if (++missRun >= maxMissRun)
+                    {
+                        throw new IllegalStateException("Could not make "
+                                + size + "x" + size + " puzzles with "
+                                + targetClues + " given values, the "
+                                + "fewest reached was " + fewestMissed);
+                    }
+                    continue;
+                }
+                target.add(1, 0, 0);
+                missRun = 0;
+
+                long uniqueStart = System.nanoTime();
+
+                if (written.contains(job.canonical))
+                {
+                    unique.add(1, 1, job.canonicalNanos
+                            + System.nanoTime() - uniqueStart);
+                    duplicateRun++;
+                    continue;
+                }
+                written.add(job.canonical);
+                unique.add(1, 0, job.canonicalNanos
+                        + System.nanoTime() - uniqueStart);
+                duplicateRun = 0;
+
+                long writeStart = System.nanoTime();
+
+                renderer.writeLine(puzzle, out);
+                puzzles++;
+                write.add(1, 0, System.nanoTime() - writeStart);
+            }
+        }
+        finally
+        {
+            pool.shutdownNow();
+            elapsedNanos = System.nanoTime() - startTime;
+        }
+        return puzzles;
+    }
+
+
+    /**
+     * Method to wait for a puzzle to be made.
+     *
+     * @param result
+     *               the result of the job making the puzzle
+     *
+     * @return the finished job is returned
+     *
+     * @throws IOException
+     *                     if the batch was interrupted
+     */
+    private Job waitFor(Future<Job> result) throws IOException
+    {
+        try
+        {
+            return result.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("The batch was interrupted");
+        }
+        catch (ExecutionException e)
+        {
+            throw new IllegalStateException("A puzzle could not be made",
+                    e.getCause());
+        }
+    }
+
+
+    /**
+     * Method to reset the stages before a new batch.
+     *
+     */
+    private void resetStats()
+    {
+        fill = new Stage("fill");
+        remove = new Stage("remove");
+        target = new Stage("target");
+        unique = new Stage("unique");
+        write = new Stage("write");
+        elapsedNanos = 0;
+    }
+
+
+    /**
+     * Method to return the stages of the last batch, in order.
+     *
+     * @return the stages of the last batch are returned.
+     */
+    public Stage[] getStages()
+    {
+        return new Stage[] {fill, remove, target, unique, write};
+    }
+
+
+    /**
+     * Method to return the wall clock time the last batch took.
+     *
+     * @return the time of the last batch in nanoseconds is returned.
+     */
+    public long getElapsedNanos()
+    {
+        return elapsedNanos;
+    }
+
+
+    /**
+     * Method to print the stages of the last batch to the screen, and the
+     * number of puzzles written per second overall.
+     *
+     */
+    public void printStats()
+    {
+        for (Stage stage : getStages())
+        {
+            System.out.println(stage);
+        }
+
+        double seconds = elapsedNanos / nanosPerSecond;
+
+        System.out.println(String.format("Wrote %d puzzles in %.2f seconds, "
+                + "%.0f puzzles/s", write.getItems(), seconds,
+                seconds == 0 ? 0 : write.getItems() / seconds));
+    }
+
+
+    /**
+     * The work of making one puzzle and its canonical board on a worker
+     * thread, along with its counts and times, which are added to the
+     * stages once the puzzle is taken back.
+     *
+     */
+    private class Job implements Callable<Job>
+    {
+        // fields for the Job class...
+        private long jobSeed;
+        private SudokuBoard puzzle;
+        private SudokuBoard canonical;
+        private long fillNanos;
+        private long canonicalNanos;
+        private long removeNanos;
+        private long removalsTried;
+        private long removalsRejected;
+
+
+        /**
+         * Constructor for the Job class.
+         *
+         * @param jobSeed
+         *                the seed of the puzzle
+         */
+        public Job(long jobSeed)
+        {
+            this.jobSeed = jobSeed;
+        }
+
+
+        /**
+         * Method to make the puzzle and find its canonical board.
+         *
+         * @return the job, holding the puzzle, is returned
+         */
+        public Job call()
+        {
+            PuzzleGenerator generator = new PuzzleGenerator(size, jobSeed);
+
+            long start = System.nanoTime();
+            SudokuBoard grid = generator.generateSolution();
+            long filled = System.nanoTime();
+
+            puzzle = generator.removeValues(grid, targetClues);
+            long removed = System.nanoTime();
+
+            // a puzzle over the target is dropped, so it needs no key
+            if (puzzle.getFilledCount() <= targetClues)
+            {
+                canonical = puzzle.canonicalize().getBoard();
+            }
+            fillNanos = filled - start;
+            removeNanos = removed - filled;
+            canonicalNanos = System.nanoTime() - removed;
+            removalsTried = generator.getRemovalsTried();
+            removalsRejected = generator.getRemovalsRejected();
+            return this;
+        }
+    }
+}
+
+//end of BatchGenerator class
@@ -0,0 +1,391 @@
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Program: BatchSolver.java
+ *
+ * This class is used to solve every puzzle in a file without any user
+ * input. The puzzles are read one at a time with a PuzzleReader, or from
+ * a PuzzleCorpus if the file is a binary corpus, and handed to a pool of
+ * worker threads, each of which solves its puzzle with an AIPlayer. The
+ * solutions are written to the output file by a BoardRenderer in the
+ * single line format, in the same order as the puzzles in the input file.
+ * Only a fixed number of puzzles are in flight at once, so the memory
+ * used does not depend on how many puzzles are in the file. The time the
+ * batch took, and the time and counters of the SolveResult of every
+ * puzzle, are kept for printStats().
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class BatchSolver
+{
+    // fields for the BatchSolver class...
+    private int threads;
+    private AIPlayer.Engine engine;
+
+    // results of the last call to solve()
+    private int solvedCount;
+    private int unsolvedCount;
+    private int invalidCount;
+    private long elapsedNanos;
+
+    // counters of every puzzle added up, and the time their solves took
+    private SolveResult totals;
+    private long solveNanos;
+    private long maxSolveNanos;
+
+    // puzzles in flight for each worker thread
+    private static final int puzzlesPerThread = 4;
+
+    // lines written for puzzles that could not be solved
+    private static final String noSolution = "No solution";
+    private static final String invalidPuzzle = "Invalid puzzle: ";
+
+    // fields to get rid of the magic number problem
+    private static final double nanosPerSecond = 1e9;
+    private static final double nanosPerMicro = 1e3;
+
+
+    /**
+     * Constructor for the BatchSolver class.
+     *
+     * @param threads
+     *                the number of worker threads used to solve puzzles
+     * @param engine
+     *               the engine each AIPlayer uses to solve a puzzle
+     */
+    public BatchSolver(int threads, AIPlayer.Engine engine)
+    {
+        this.threads = threads;
+        this.engine = engine;
+    }
+
+
+    /**
+     * Method to solve every puzzle in a file. For each puzzle one line is
+     * written to the output file. It holds the solution, "No solution" if
+     * the puzzle can not be solved, or the reason a malformed puzzle could
+     * not be read. The file can be a text file in either format
+     * PuzzleReader reads, or a corpus written by a CorpusWriter.
+     *
+     * @param inputFile
+     *                  the name of the file that contains the puzzles
+     * @param outputFile
+     *                   the name of the file the solutions are written to
+     *
+     * @return the number of puzzles in the input file is returned
+     *
+     * @throws IOException
+     *                     if either file could not be read or written
+     */
+    public int solve(String inputFile, String outputFile) throws IOException
+    {
+        if (PuzzleCorpus.isCorpus(inputFile))
+        {
+            try (PuzzleCorpus corpus = new PuzzleCorpus(inputFile))
+            {
+                return solve(corpus.iterator(), outputFile);
+            }
+        }
+
+        try (PuzzleReader reader = new PuzzleReader(inputFile))
+        {
+            return solve(reader.iterator(), outputFile);
+        }
+    }
+
+
+    /**
+     * Method to solve every puzzle of an iterator, writing one line to
+     * the output file for each of them as solve() describes.
+     *
+     * @param puzzles
+     *                the puzzles, where a malformed puzzle makes next()
+     *                throw an IllegalArgumentException
+     * @param outputFile
+     *                   the name of the file the solutions are written to
+     *
+     * @return the number of puzzles is returned
+     *
+     * @throws IOException
+     *                     if either file could not be read or written
+     */
+    private int solve(Iterator<SudokuBoard> puzzles, String outputFile)
+            throws IOException
+    {
+        solvedCount = 0;
+        unsolvedCount = 0;
+        invalidCount = 0;
+        totals = new SolveResult(engine.name());
+        solveNanos = 0;
+        maxSolveNanos = 0;
+
+        long start = System.nanoTime();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ArrayDeque<Future<SolveResult>> pending =
+                new ArrayDeque<Future<SolveResult>>();
+        int window = threads * puzzlesPerThread;
+        BoardRenderer renderer = new BoardRenderer();
+
+        try (OutputStream out = new BufferedOutputStream(
+                new FileOutputStream(outputFile)))
+        {
+            while (puzzles.hasNext())
+            {
+                Future<SolveResult> result;
+
+                try
+                {
+                    result = pool.submit(createTask(puzzles.next()));
+                }
+                catch (IllegalArgumentException e)
+                {
+                    CompletableFuture<SolveResult> invalid =
+                            new CompletableFuture<SolveResult>();
+
+                    invalid.completeExceptionally(e);
+                    result = invalid;
+                }
+                pending.add(result);
+
+                // wait for the oldest puzzle before reading any further
+                if (pending.size() >= window)
+                {
+                    writeResult(out, renderer, pending.poll());
+                }
+            }
+
+            while (!pending.isEmpty())
+            {
+                writeResult(out, renderer, pending.poll());
+            }
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+        finally
+        {
+            pool.shutdownNow();
+            elapsedNanos = System.nanoTime() - start;
+        }
+        return solvedCount + unsolvedCount + invalidCount;
+    }
+
+
+    /**
+     * Method to create the task that solves a single puzzle.
+     *
+     * @param board
+     *              the puzzle that needs to be solved
+     *
+     * @return a task returning the result of solving the puzzle is 
+     *         returned
+     */
+    private Callable<SolveResult> createTask(final SudokuBoard board)
+    {
+        return new Callable<SolveResult>()
+        {
+            public SolveResult call()
+            {
+                return new AIPlayer(board, engine).solve();
+            }
+        };
+    }
+
+
+    /**
+     * Method to wait for the result of a puzzle and write it to the
+     * output file. A solution is written by the renderer in the single
+     * line format, straight into the output buffer. The time and counters
+     * of the result are added to the stats of the batch.
+     *
+     * @param out
+     *            the stream of the output file
+     * @param renderer
+     *                 the renderer the solutions are written with
+     * @param result
+     *               the result of the puzzle
+     *
+     * @throws IOException
+     *                     if the output file could not be written
+     */
+    private void writeResult(OutputStream out, BoardRenderer renderer,
+            Future<SolveResult> result) throws IOException
+    {
+        SolveResult solved;
+
+        try
+        {
+            solved = result.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("The batch was interrupted");
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+
+            // a puzzle that could not be read only needs its reason
+            invalidCount++;
+            writeText(out, invalidPuzzle
+                    + (cause instanceof IllegalArgumentException
+                            ? cause.getMessage() : cause));
+            return;
+        }
+
+        totals.add(solved);
+        solveNanos += solved.getElapsedNanos();
+        maxSolveNanos = Math.max(maxSolveNanos, solved.getElapsedNanos());
+
+        if (!solved.isSolved())
+        {
+            unsolvedCount++;
+            writeText(out, noSolution);
+        }
+        else
+        {
+            solvedCount++;
+            renderer.writeLine(solved.getSolution(), out);
+        }
+    }
+
+
+    /**
+     * Method to write a line of text to the output file.
+     *
+     * @param out
+     *            the stream of the output file
+     * @param text
+     *             the text that needs to be written
+     *
+     * @throws IOException
+     *                     if the output file could not be written
+     */
+    private void writeText(OutputStream out, String text) throws IOException
+    {
+        out.write((text + System.lineSeparator()).getBytes());
+    }
+
+
+    /**
+     * Method to return the number of puzzles solved by the last batch.
+     *
+     * @return the number of solved puzzles is returned.
+     */
+    public int getSolvedCount()
+    {
+        return solvedCount;
+    }
+
+
+    /**
+     * Method to return the number of puzzles in the last batch that
+     * have no solution.
+     *
+     * @return the number of puzzles with no solution is returned.
+     */
+    public int getUnsolvedCount()
+    {
+        return unsolvedCount;
+    }
+
+
+    /**
+     * Method to return the number of puzzles in the last batch that
+     * could not be read.
+     *
+     * @return the number of malformed puzzles is returned.
+     */
+    public int getInvalidCount()
+    {
+        return invalidCount;
+    }
+
+
+    /**
+     * Method to return the time the last batch took, from reading the
+     * first puzzle to writing the last solution.
+     *
+     * @return the time the batch took in nanoseconds is returned.
+     */
+    public long getElapsedNanos()
+    {
+        return elapsedNanos;
+    }
+
+
+    /**
+     * Method to return the time the last batch took in seconds.
+     *
+     * @return the time the batch took in seconds is returned.
+     */
+    public double getSeconds()
+    {
+        return elapsedNanos / nanosPerSecond;
+    }
+
+
+    /**
+     * Method to return the counters of every puzzle of the last batch
+     * that was solved, added up into one result. Its time is not set,
+     * since the puzzles are solved at the same time.
+     *
+     * @return the counters of the batch are returned.
+     */
+    public SolveResult getTotals()
+    {
+        return totals;
+    }
+
+
+    /**
+     * Method to print the throughput of the last batch, and the mean 
+     * time and counters of a solve, taken from the SolveResult of every
+     * puzzle that was solved.
+     *
+     */
+    public void printStats()
+    {
+        int solves = solvedCount + unsolvedCount;
+        double seconds = getSeconds();
+
+        System.out.println(String.format("%d puzzles in %.3f seconds, "
+                + "%.0f puzzles/s", solves + invalidCount, seconds,
+                seconds == 0 ? 0 : (solves + invalidCount) / seconds));
+
+        if (solves == 0)
+        {
+            return;
+        }
+        System.out.println(String.format("per puzzle: %.1f us mean, "
+                + "%.1f us max, %.1f nodes, %.1f backtracks, "
+                + "%.1f candidates, %.1f propagated",
+                solveNanos / nanosPerMicro / solves,
+                maxSolveNanos / nanosPerMicro,
+                (double) totals.getNodes() / solves,
+                (double) totals.getBacktracks() / solves,
+                (double) totals.getCandidates() / solves,
+                (double) totals.getPropagated() / solves));
+    }
+}
+
+//end of BatchSolver class
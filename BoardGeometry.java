@@ -0,0 +1,372 @@
+import java.util.HashMap;
+
+/**
+ * Program: BoardGeometry.java
+ *
+ * This class is used to describe the layout of a Sudoku board of a given
+ * size. Every location on the board is numbered as a cell, where the cell
+ * for board[row][col] is (row * size + col). The class holds lookup tables
+ * for the row, column, and square of each cell, the cells that make up
+ * each row, column, and square, the peers of each cell, and the random
+ * Zobrist keys used to hash boards. The tables only depend on the board
+ * size so they are built once per size and shared by every SudokuBoard,
+ * the AIPlayer class, and the HumanPlayer class. None of the arrays
+ * returned by this class should be modified.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class BoardGeometry
+{
+    // geometry already built for each board size
+    private static final HashMap<Integer, BoardGeometry> geometries =
+            new HashMap<Integer, BoardGeometry>();
+
+    // fields for BoardGeometry class...
+    private final int size;
+    private final int squareWidth;
+
+    // cell -> row, column, and square number
+    private final int[] rowOf;
+    private final int[] colOf;
+    private final int[] squareOf;
+
+    // row, column, and square number -> cells it contains
+    private final int[][] rowCells;
+    private final int[][] colCells;
+    private final int[][] squareCells;
+
+    // cell -> every other cell sharing a row, column, or square with it
+    private final int[][] peers;
+
+    // inner and outer indices of each square, see getSquareIndices()
+    private final int[][] squareIndices;
+
+    // random key for each value at each cell, see getZobristKey()
+    private final long[] zobristKeys;
+
+    // fixed seed so a board hashes the same way in every run
+    private static final long zobristSeed = 0x5D0C0B0A4D1E5EEDL;
+
+    // constants of the splitmix64 generator used to make the keys
+    private static final long goldenGamma = 0x9E3779B97F4A7C15L;
+    private static final long mixFirst = 0xBF58476D1CE4E5B9L;
+    private static final long mixSecond = 0x94D049BB133111EBL;
+
+
+    /**
+     * Constructor for the BoardGeometry class. The constructor builds
+     * all of the lookup tables for the board size. It is private so
+     * the tables are only built once per size through forSize().
+     *
+     * @param boardSize
+     *                  size of the board the tables are built for
+     */
+    private BoardGeometry(int boardSize)
+    {
+        size = boardSize;
+        squareWidth = (int) Math.sqrt((double) size);
+
+        int cells = size * size;
+        rowOf = new int[cells];
+        colOf = new int[cells];
+        squareOf = new int[cells];
+        rowCells = new int[size][size];
+        colCells = new int[size][size];
+        squareCells = new int[size][size];
+        squareIndices = new int[size][4];
+
+        // how many cells have been added to each square so far
+        int[] squareFill = new int[size];
+
+        for (int cell = 0; cell < cells; cell++)
+        {
+            int row = cell / size;
+            int col = cell % size;
+            int square = (row / squareWidth) * squareWidth
+                    + col / squareWidth;
+
+            rowOf[cell] = row;
+            colOf[cell] = col;
+            squareOf[cell] = square;
+
+            rowCells[row][col] = cell;
+            colCells[col][row] = cell;
+            squareCells[square][squareFill[square]++] = cell;
+        }
+
+        for (int square = 0; square < size; square++)
+        {
+            int innerX = (square / squareWidth) * squareWidth;
+            int innerY = (square % squareWidth) * squareWidth;
+
+            squareIndices[square][0] = innerX;
+            squareIndices[square][1] = innerY;
+            squareIndices[square][2] = innerX + squareWidth;
+            squareIndices[square][3] = innerY + squareWidth;
+        }
+
+        // a cell has (size - 1) peers in each unit, minus the cells of its
+        // square that were already counted in its row and column
+        int peerCount = 3 * (size - 1) - 2 * (squareWidth - 1);
+        peers = new int[cells][peerCount];
+
+        for (int cell = 0; cell < cells; cell++)
+        {
+            int count = 0;
+
+            for (int other = 0; other < cells; other++)
+            {
+                if (other != cell
+                        && (rowOf[other] == rowOf[cell]
+                        || colOf[other] == colOf[cell]
+                        || squareOf[other] == squareOf[cell]))
+                {
+                    peers[cell][count++] = other;
+                }
+            }
+        }
+
+        zobristKeys = new long[cells * size];
+        long seed = zobristSeed + size;
+
+        for (int i = 0; i < zobristKeys.length; i++)
+        {
+            // splitmix64, which gives well mixed keys from a counter
+            seed += goldenGamma;
+
+            long key = seed;
+            key = (key ^ (key >>> 30)) * mixFirst;
+            key = (key ^ (key >>> 27)) * mixSecond;
+            zobristKeys[i] = key ^ (key >>> 31);
+        }
+    }
+
+
+    /**
+     * Method to get the geometry of a board size. The geometry is built
+     * the first time a size is requested and the same instance is
+     * returned for every later request.
+     *
+     * @param boardSize
+     *                  size of the board the geometry is needed for
+     *
+     * @return the shared geometry for the board size is returned
+     */
+    public static synchronized BoardGeometry forSize(int boardSize)
+    {
+        BoardGeometry geometry = geometries.get(boardSize);
+
+        if (geometry == null)
+        {
+            geometry = new BoardGeometry(boardSize);
+            geometries.put(boardSize, geometry);
+        }
+        return geometry;
+    }
+
+
+    /**
+     * Method to return the size of the board this geometry describes.
+     *
+     * @return the size of the board is returned.
+     */
+    public int getSize()
+    {
+        return size;
+    }
+
+
+    /**
+     * Method to return the width of an individual square, which is
+     * the square root of the board size.
+     *
+     * @return the width of an individual square is returned.
+     */
+    public int getSquareWidth()
+    {
+        return squareWidth;
+    }
+
+
+    /**
+     * Method to return the number of cells on the board.
+     *
+     * @return the number of cells on the board is returned.
+     */
+    public int getCellCount()
+    {
+        return rowOf.length;
+    }
+
+
+    /**
+     * Method to return the cell number of a row and column location.
+     *
+     * @param row
+     *            the row index of the location
+     * @param col
+     *            the column index of the location
+     *
+     * @return the cell number of the location is returned.
+     */
+    public int getCell(int row, int col)
+    {
+        return row * size + col;
+    }
+
+
+    /**
+     * Method to return the row index of a cell.
+     *
+     * @param cell
+     *             the cell number
+     *
+     * @return the row index of the cell is returned.
+     */
+    public int getRow(int cell)
+    {
+        return rowOf[cell];
+    }
+
+
+    /**
+     * Method to return the column index of a cell.
+     *
+     * @param cell
+     *             the cell number
+     *
+     * @return the column index of the cell is returned.
+     */
+    public int getColumn(int cell)
+    {
+        return colOf[cell];
+    }
+
+
+    /**
+     * Method to return the number of the square that contains a cell.
+     *
+     * @param cell
+     *             the cell number
+     *
+     * @return the number of the square containing the cell is returned.
+     */
+    public int getSquare(int cell)
+    {
+        return squareOf[cell];
+    }
+
+
+    /**
+     * Method to return the number of the square that contains the
+     * location board[row][col].
+     *
+     * @param row
+     *            the row index of the location
+     * @param col
+     *            the column index of the location
+     *
+     * @return the number of the square containing the location is returned.
+     */
+    public int getSquare(int row, int col)
+    {
+        return squareOf[row * size + col];
+    }
+
+
+    /**
+     * Method to return the Zobrist key of a value at a cell. The hash of
+     * a board is the exclusive or of the keys of every value on it, so
+     * placing or removing a value only changes the hash by one key.
+     *
+     * @param cell
+     *             the cell number
+     * @param value
+     *              the value at the cell, between 1 and the board size
+     *
+     * @return the key of the value at the cell is returned.
+     */
+    public long getZobristKey(int cell, int value)
+    {
+        return zobristKeys[cell * size + value - 1];
+    }
+
+
+    /**
+     * Method to return the cells of a row, in column order.
+     *
+     * @param row
+     *            the row index
+     *
+     * @return the cells of the row are returned.
+     */
+    public int[] getRowCells(int row)
+    {
+        return rowCells[row];
+    }
+
+
+    /**
+     * Method to return the cells of a column, in row order.
+     *
+     * @param col
+     *            the column index
+     *
+     * @return the cells of the column are returned.
+     */
+    public int[] getColumnCells(int col)
+    {
+        return colCells[col];
+    }
+
+
+    /**
+     * Method to return the cells of a square, from the top left
+     * of the square to the bottom right.
+     *
+     * @param square
+     *               the square number
+     *
+     * @return the cells of the square are returned.
+     */
+    public int[] getSquareCells(int square)
+    {
+        return squareCells[square];
+    }
+
+
+    /**
+     * Method to return every cell that shares a row, column, or
+     * square with a cell. The cell itself is not included.
+     *
+     * @param cell
+     *             the cell number
+     *
+     * @return the peers of the cell are returned.
+     */
+    public int[] getPeers(int cell)
+    {
+        return peers[cell];
+    }
+
+
+    /**
+     * Method to return the inner and outer indices of a square. Index 0
+     * and 1 are the first row and column of the square, index 2 and 3
+     * are one past the last row and column of the square.
+     *
+     * @param square
+     *               the square number
+     *
+     * @return the indices of the square are returned.
+     */
+    public int[] getSquareIndices(int square)
+    {
+        return squareIndices[square];
+    }
+}
+
+//end of BoardGeometry class
@@ -0,0 +1,262 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Program: BoardRenderer.java
+ *
+ * This class is used to turn boards into text for the screen or a file.
+ * A board is written into a byte buffer in a single pass and then handed
+ * to the stream in one write, instead of one print for every location.
+ * The buffer is kept and reused, so a renderer that prints many boards
+ * makes nothing new for each of them once the buffer is large enough.
+ *
+ * There are two layouts. The grid layout is the one the game shows, with
+ * the squares split by lines, an empty location shown as '*', and every
+ * value padded to the width of the largest value so the columns line up
+ * on every board size. The line layout is the single line format
+ * PuzzleReader reads, which batch mode writes solutions in.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class BoardRenderer
+{
+    // fields for the BoardRenderer class...
+    private byte[] bytes;
+    private int length;
+
+    // ends each line the same way println() does
+    private static final byte[] lineEnd = System.lineSeparator().getBytes();
+
+    // symbols of the line layout, by value
+    private static final int maxBoardSize = 25;
+    private static final byte[] lineSymbols = new byte[maxBoardSize + 1];
+
+    // fields to get rid of the magic number problem
+    private static final int initialBytes = 1024;
+    private static final int radix = 10;
+
+    static
+    {
+        for (int value = 0; value < lineSymbols.length; value++)
+        {
+            lineSymbols[value] = (byte) PuzzleReader.toSymbol(value);
+        }
+    }
+
+
+    /**
+     * Constructor for the BoardRenderer class.
+     *
+     */
+    public BoardRenderer()
+    {
+        bytes = new byte[initialBytes];
+        length = 0;
+    }
+
+
+    /**
+     * Method to print a board in the grid layout, in a single write.
+     *
+     * @param board
+     *              the board that needs to be printed
+     * @param out
+     *            the stream the board is printed to
+     */
+    public void print(SudokuBoard board, PrintStream out)
+    {
+        renderGrid(board);
+        out.write(bytes, 0, length);
+        out.flush();
+    }
+
+
+    /**
+     * Method to write a board in the line layout, followed by the end of
+     * the line, in a single write.
+     *
+     * @param board
+     *              the board that needs to be written
+     * @param out
+     *            the stream the board is written to
+     *
+     * @throws IOException
+     *                     if the stream could not be written
+     */
+    public void writeLine(SudokuBoard board, OutputStream out)
+            throws IOException
+    {
+        renderLine(board);
+        out.write(bytes, 0, length);
+    }
+
+
+    /**
+     * Method to write the board into the buffer in the grid layout. A
+     * line of dashes is put between the rows of squares, with a '+'
+     * under each '|' between the columns of squares.
+     *
+     * @param board
+     *              the board that needs to be written
+     */
+    private void renderGrid(SudokuBoard board)
+    {
+        int size = board.getBoardSize();
+        int squareWidth = (int) Math.sqrt((double) size);
+        int width = Integer.toString(size).length();
+
+        // a row is every value and its space, plus "| " between squares
+        int rowLength = size * (width + 1) + (squareWidth - 1) * 2;
+
+        length = 0;
+        ensureCapacity((size + squareWidth) * (rowLength + lineEnd.length));
+
+        for (int row = 0; row < size; row++)
+        {
+            if (row > 0 && row % squareWidth == 0)
+            {
+                renderSeparator(squareWidth, width);
+            }
+
+            for (int col = 0; col < size; col++)
+            {
+                if (col > 0 && col % squareWidth == 0)
+                {
+                    bytes[length++] = '|';
+                    bytes[length++] = ' ';
+                }
+                renderValue(board.getValue(row, col), width);
+                bytes[length++] = ' ';
+            }
+            renderLineEnd();
+        }
+    }
+
+
+    /**
+     * Method to write the line of dashes between two rows of squares.
+     * It is one shorter than a row, since a row ends with a space.
+     *
+     * @param squareWidth
+     *                    the number of locations across a square
+     * @param width
+     *              the width of a value
+     */
+    private void renderSeparator(int squareWidth, int width)
+    {
+        int squareLength = squareWidth * (width + 1);
+
+        for (int square = 0; square < squareWidth; square++)
+        {
+            int dashes = squareLength;
+
+            // the space after the '|' and before the end of the line
+            if (square > 0)
+            {
+                bytes[length++] = '+';
+                dashes++;
+            }
+            if (square == squareWidth - 1)
+            {
+                dashes--;
+            }
+            Arrays.fill(bytes, length, length + dashes, (byte) '-');
+            length += dashes;
+        }
+        renderLineEnd();
+    }
+
+
+    /**
+     * Method to write one value of the grid layout, padded on the left
+     * to the width of the largest value.
+     *
+     * @param value
+     *              the value, 0 for an empty location
+     * @param width
+     *              the width of a value
+     */
+    private void renderValue(int value, int width)
+    {
+        int end = length + width;
+        int next = end - 1;
+
+        if (value == 0)
+        {
+            bytes[next--] = '*';
+        }
+        else
+        {
+            while (value > 0)
+            {
+                bytes[next--] = (byte) ('0' + value % radix);
+                value /= radix;
+            }
+        }
+        while (next >= length)
+        {
+            bytes[next--] = ' ';
+        }
+        length = end;
+    }
+
+
+    /**
+     * Method to write the board into the buffer in the line layout,
+     * followed by the end of the line.
+     *
+     * @param board
+     *              the board that needs to be written
+     */
+    private void renderLine(SudokuBoard board)
+    {
+        int size = board.getBoardSize();
+
+        length = 0;
+        ensureCapacity(size * size + lineEnd.length);
+
+        for (int row = 0; row < size; row++)
+        {
+            for (int col = 0; col < size; col++)
+            {
+                bytes[length++] = lineSymbols[board.getValue(row, col)];
+            }
+        }
+        renderLineEnd();
+    }
+
+
+    /**
+     * Method to write the end of a line into the buffer.
+     *
+     */
+    private void renderLineEnd()
+    {
+        for (byte b : lineEnd)
+        {
+            bytes[length++] = b;
+        }
+    }
+
+
+    /**
+     * Method to grow the buffer if it can not hold a number of bytes.
+     *
+     * @param needed
+     *               the number of bytes the buffer needs to hold
+     */
+    private void ensureCapacity(int needed)
+    {
+        if (bytes.length < needed)
+        {
+            bytes = new byte[Math.max(needed, bytes.length * 2)];
+        }
+    }
+}
+
+//end of BoardRenderer class
@@ -0,0 +1,882 @@
+import java.util.Arrays;
+
+/**
+ * Program: CanonicalForm.java
+ *
+ * This class is used to map a SudokuBoard to a single representative of
+ * every board that is the same puzzle under the moves that never change
+ * whether a board can be solved: relabeling the values, transposing the
+ * board, swapping rows inside a band or bands of rows, and swapping
+ * columns inside a stack or stacks of columns. Two boards that are the
+ * same puzzle in this way have the same canonical board, so the canonical
+ * board can be used to find puzzles that were already seen, even when
+ * they do not look the same.
+ *
+ * The canonical board is the one that is smallest when its values are
+ * read row by row, with 0 for an empty location, out of every board the
+ * moves can make. It is found with a depth first search that places the
+ * output one location at a time, and only follows the choices that give
+ * the smallest value at that location, since any other choice can only
+ * lead to a larger board. Relabeling is done along the way by giving each
+ * value the next label the first time it is seen.
+ *
+ * A board with many equal choices, such as a full 16x16 grid, could need
+ * a very long search, so the search gives up after a fixed number of
+ * steps and keeps the smallest board found so far. That board is still
+ * the same puzzle and can still be mapped back, but another board that is
+ * the same puzzle may be given a different one. isExact() tells the two
+ * cases apart.
+ *
+ * The moves that were used are kept, so a board, such as the solution of
+ * the canonical board, can be mapped back to the original with
+ * toOriginal().
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class CanonicalForm
+{
+    // fields for the CanonicalForm class...
+    private SudokuBoard board;
+    private boolean exact;
+
+    // the moves: the row and column of the original each row and column
+    // of the canonical board comes from, after the board is transposed if
+    // transposed is true, and the label of each original value
+    private boolean transposed;
+    private int[] rowMap;
+    private int[] colMap;
+    private int[] relabel;
+    private int[] unlabel;
+
+    // most search steps before the search keeps the best board so far.
+    // every 4x4 and 9x9 puzzle tried finishes well before it, in about
+    // 0.3 ms, while a 16x16 or 25x25 search that reaches it has taken
+    // about 35 ms, which bounds the time generate mode and the solution
+    // cache spend on the canonical form of one large puzzle
+    private static final long stepLimit = 200000;
+
+    // field to get rid of the magic number problem
+    private static final long mixMultiplier = 0x9E3779B97F4A7C15L;
+
+
+    /**
+     * Constructor for the CanonicalForm class.
+     *
+     * @param board
+     *              the canonical board
+     * @param exact
+     *              if the search looked at every choice it needed to
+     * @param transposed
+     *                   if the original board is transposed
+     * @param rowMap
+     *               the row each canonical row comes from
+     * @param colMap
+     *               the column each canonical column comes from
+     * @param relabel
+     *                the label of each original value
+     */
+    private CanonicalForm(SudokuBoard board, boolean exact,
+            boolean transposed, int[] rowMap, int[] colMap, int[] relabel)
+    {
+        this.board = board;
+        this.exact = exact;
+        this.transposed = transposed;
+        this.rowMap = rowMap;
+        this.colMap = colMap;
+        this.relabel = relabel;
+
+        unlabel = new int[relabel.length];
+
+        for (int value = 0; value < relabel.length; value++)
+        {
+            unlabel[relabel[value]] = value;
+        }
+    }
+
+
+    /**
+     * Method to find the canonical form of a board.
+     *
+     * @param board
+     *              the board, which is not changed
+     *
+     * @return the canonical form of the board is returned
+     */
+    public static CanonicalForm of(SudokuBoard board)
+    {
+        return new Search(board).run();
+    }
+
+
+    /**
+     * Method to find a hash of a board that is the same for every board
+     * that is the same puzzle, without a search. It is built from the
+     * number of times each value is given, and the number of given values
+     * in each row and column, grouped by band and stack. Boards that are
+     * not the same puzzle can have the same shape, so equal shapes only
+     * tell that the canonical forms are worth comparing.
+     *
+     * @param board
+     *              the board, which is not changed
+     *
+     * @return the shape of the board is returned
+     */
+    public static long getShape(SudokuBoard board)
+    {
+        int size = board.getBoardSize();
+        int width = board.getGeometry().getSquareWidth();
+        int[] valueCounts = new int[size];
+        int[] rowCounts = new int[size];
+        int[] colCounts = new int[size];
+
+        for (int row = 0; row < size; row++)
+        {
+            for (int col = 0; col < size; col++)
+            {
+                int value = board.getValue(row, col);
+
+                if (value != 0)
+                {
+                    valueCounts[value - 1]++;
+                    rowCounts[row]++;
+                    colCounts[col]++;
+                }
+            }
+        }
+        Arrays.sort(valueCounts);
+
+        long rows = getLineShape(rowCounts, width);
+        long cols = getLineShape(colCounts, width);
+
+        // transposing swaps the rows and the columns
+        long shape = mix(Math.min(rows, cols)) ^ Math.max(rows, cols);
+
+        for (int count : valueCounts)
+        {
+            shape = mix(shape ^ count);
+        }
+        return shape;
+    }
+
+
+    /**
+     * Method to find a hash of the counts of the rows or the columns of a
+     * board that does not change when lines are swapped inside a band or
+     * stack, or when bands or stacks are swapped.
+     *
+     * @param counts
+     *               the number of given values in each line
+     * @param width
+     *              the number of lines in each band or stack
+     *
+     * @return the hash of the counts is returned
+     */
+    private static long getLineShape(int[] counts, int width)
+    {
+        long[] bands = new long[width];
+
+        for (int band = 0; band < width; band++)
+        {
+            int[] lines = Arrays.copyOfRange(counts, band * width,
+                    band * width + width);
+
+            Arrays.sort(lines);
+
+            for (int count : lines)
+            {
+                bands[band] = bands[band] * (counts.length + 1) + count;
+            }
+        }
+        Arrays.sort(bands);
+
+        long shape = 0;
+
+        for (long band : bands)
+        {
+            shape = mix(shape ^ band);
+        }
+        return shape;
+    }
+
+
+    /**
+     * Method to mix the bits of a hash.
+     *
+     * @param hash
+     *             the hash that needs to be mixed
+     *
+     * @return the mixed hash is returned
+     */
+    private static long mix(long hash)
+    {
+        long mixed = hash * mixMultiplier;
+
+        return mixed ^ (mixed >>> 32);
+    }
+
+
+    /**
+     * Method to return the canonical board. Every board that is the same
+     * puzzle has the same canonical board, if isExact() is true for both.
+     *
+     * @return a copy of the canonical board is returned.
+     */
+    public SudokuBoard getBoard()
+    {
+        return board.clone();
+    }
+
+
+    /**
+     * Method to return the 64 bit Zobrist hash of the canonical board,
+     * which can be used to look up boards that are the same puzzle.
+     *
+     * @return the hash of the canonical board is returned.
+     */
+    public long getFingerprint()
+    {
+        return board.getZobristHash();
+    }
+
+
+    /**
+     * Method to check if the search looked at every choice it needed to,
+     * so the canonical board is the smallest one.
+     *
+     * @return true or false is returned depending on if the canonical
+     *         board is exact
+     */
+    public boolean isExact()
+    {
+        return exact;
+    }
+
+
+    /**
+     * Method to check if the original board is transposed by the moves.
+     *
+     * @return true or false is returned depending on if the board is
+     *         transposed
+     */
+    public boolean isTransposed()
+    {
+        return transposed;
+    }
+
+
+    /**
+     * Method to make the same moves on another board of the original,
+     * such as a partly filled in copy of it.
+     *
+     * @param original
+     *                 a board laid out like the original board
+     *
+     * @return a new board laid out like the canonical board is returned
+     */
+    public SudokuBoard toCanonical(SudokuBoard original)
+    {
+        int size = rowMap.length;
+        SudokuBoard result = new SudokuBoard(size);
+
+        for (int row = 0; row < size; row++)
+        {
+            for (int col = 0; col < size; col++)
+            {
+                int value = transposed
+                        ? original.getValue(colMap[col], rowMap[row])
+                        : original.getValue(rowMap[row], colMap[col]);
+
+                result.setValue(row, col, relabel[value]);
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Method to undo the moves on a board laid out like the canonical
+     * board. The solution of the canonical board is mapped back to the
+     * solution of the original board this way.
+     *
+     * @param canonical
+     *                  a board laid out like the canonical board
+     *
+     * @return a new board laid out like the original board is returned
+     */
+    public SudokuBoard toOriginal(SudokuBoard canonical)
+    {
+        int size = rowMap.length;
+        SudokuBoard result = new SudokuBoard(size);
+
+        for (int row = 0; row < size; row++)
+        {
+            for (int col = 0; col < size; col++)
+            {
+                int value = unlabel[canonical.getValue(row, col)];
+
+                if (transposed)
+                {
+                    result.setValue(colMap[col], rowMap[row], value);
+                }
+                else
+                {
+                    result.setValue(rowMap[row], colMap[col], value);
+                }
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * The depth first search that finds the canonical board. The first
+     * row of the output picks a row of the board and the order of every
+     * column, one location at a time. After that the columns are fixed,
+     * so each later row of the output only picks a row of the board.
+     *
+     */
+    private static class Search
+    {
+        // fields for the Search class...
+        private int size;
+        private int width;
+
+        // the values of the board and of the board transposed, by cell
+        private int[][] grids;
+        private int[] grid;
+        private boolean transposed;
+
+        // the moves of the current path of the search
+        private int[] rowMap;
+        private int[] colMap;
+        private boolean[] rowUsed;
+        private boolean[] colUsed;
+        private boolean[] bandUsed;
+        private boolean[] stackUsed;
+        private int[] relabel;
+        private int nextLabel;
+
+        // the output of the current path, by cell
+        private int[] out;
+
+        // the smallest output found so far and its moves, changed each
+        // time a smaller output is found
+        private int[] best;
+        private boolean bestTransposed;
+        private int[] bestRowMap;
+        private int[] bestColMap;
+        private int[] bestRelabel;
+        private int bestVersion;
+
+        // steps taken, and if the search gave up
+        private long steps;
+        private boolean cutOff;
+
+
+        /**
+         * Constructor for the Search class.
+         *
+         * @param board
+         *              the board the canonical form is found for
+         */
+        public Search(SudokuBoard board)
+        {
+            size = board.getBoardSize();
+            width = board.getGeometry().getSquareWidth();
+            grids = new int[2][size * size];
+
+            for (int row = 0; row < size; row++)
+            {
+                for (int col = 0; col < size; col++)
+                {
+                    int value = board.getValue(row, col);
+
+                    grids[0][row * size + col] = value;
+                    grids[1][col * size + row] = value;
+                }
+            }
+
+            rowMap = new int[size];
+            colMap = new int[size];
+            rowUsed = new boolean[size];
+            colUsed = new boolean[size];
+            bandUsed = new boolean[width];
+            stackUsed = new boolean[width];
+            relabel = new int[size + 1];
+            nextLabel = 1;
+            out = new int[size * size];
+        }
+
+
+        /**
+         * Method to run the search. Each row of the board and of the
+         * board transposed is tried as the first row of the output.
+         *
+         * @return the canonical form that was found is returned
+         */
+        public CanonicalForm run()
+        {
+            int[][] keys = new int[2 * size][];
+            int[] most = null;
+
+            for (int line = 0; line < 2 * size; line++)
+            {
+                keys[line] = emptyKey(grids[line / size], line % size);
+
+                if (most == null || compare(keys[line], most) > 0)
+                {
+                    most = keys[line];
+                }
+            }
+
+            for (int t = 0; t < 2 && !cutOff; t++)
+            {
+                grid = grids[t];
+                transposed = t == 1;
+
+                for (int row = 0; row < size && !cutOff; row++)
+                {
+                    // only the rows with the most empty locations up
+                    // front can make the smallest first row
+                    if (compare(keys[t * size + row], most) != 0)
+                    {
+                        continue;
+                    }
+                    rowMap[0] = row;
+                    rowUsed[row] = true;
+                    bandUsed[row / width] = true;
+
+                    placeColumn(0, best == null);
+
+                    rowUsed[row] = false;
+                    bandUsed[row / width] = false;
+                }
+            }
+
+            SudokuBoard board = new SudokuBoard(size);
+
+            for (int cell = 0; cell < size * size; cell++)
+            {
+                board.setValue(cell / size, cell % size, best[cell]);
+            }
+            return new CanonicalForm(board, !cutOff, bestTransposed,
+                    bestRowMap, bestColMap, bestRelabel);
+        }
+
+
+        /**
+         * Method to work out how many empty locations a row can put at
+         * the front of the first output row. The best columns order puts
+         * the stacks with the most empty locations first, and the empty
+         * locations first in each stack, so a row can make a smaller
+         * first row than another exactly when its key is larger.
+         *
+         * @param values
+         *               the values of the board, by cell
+         * @param row
+         *            the row of the board
+         *
+         * @return the empty locations in each stack of the row, from the
+         *         most to the fewest, is returned
+         */
+        private int[] emptyKey(int[] values, int row)
+        {
+            int[] key = new int[width];
+
+            for (int col = 0; col < size; col++)
+            {
+                if (values[row * size + col] == 0)
+                {
+                    key[col / width]++;
+                }
+            }
+            Arrays.sort(key);
+
+            // reverse, so the largest count comes first
+            for (int i = 0; i < width / 2; i++)
+            {
+                int temp = key[i];
+                key[i] = key[width - 1 - i];
+                key[width - 1 - i] = temp;
+            }
+            return key;
+        }
+
+
+        /**
+         * Method to pick the column of the board for a column of the
+         * output, which sets the location of the first output row in
+         * that column.
+         *
+         * @param col
+         *            the column of the output
+         * @param smaller
+         *                if the output so far is already smaller than
+         *                the smallest output found
+         */
+        private void placeColumn(int col, boolean smaller)
+        {
+            if (col == size)
+            {
+                placeRow(1, smaller);
+                return;
+            }
+            if (++steps > stepLimit)
+            {
+                cutOff = true;
+                return;
+            }
+
+            int first = 0;
+            int last = size;
+
+            // a new stack may be any stack not used yet, otherwise the
+            // column stays in the stack of the columns before it
+            if (col % width != 0)
+            {
+                first = colMap[col - col % width] / width * width;
+                last = first + width;
+            }
+
+            int min = Integer.MAX_VALUE;
+
+            for (int c = first; c < last; c++)
+            {
+                if (isFree(c, colUsed, stackUsed, col % width == 0))
+                {
+                    min = Math.min(min, label(grid[rowMap[0] * size + c]));
+                }
+            }
+
+            if (!smaller)
+            {
+                if (min > best[col])
+                {
+                    return;
+                }
+                smaller = min < best[col];
+            }
+
+            int version = bestVersion;
+
+            for (int c = first; c < last && !cutOff; c++)
+            {
+                int value = grid[rowMap[0] * size + c];
+
+                if (!isFree(c, colUsed, stackUsed, col % width == 0)
+                        || label(value) != min)
+                {
+                    continue;
+                }
+
+                boolean newLabel = value != 0 && relabel[value] == 0;
+
+                if (newLabel)
+                {
+                    relabel[value] = nextLabel++;
+                }
+                colMap[col] = c;
+                colUsed[c] = true;
+                stackUsed[c / width] = true;
+                out[col] = min;
+
+                placeColumn(col + 1, smaller && version == bestVersion);
+
+                colUsed[c] = false;
+                if (col % width == 0)
+                {
+                    stackUsed[c / width] = false;
+                }
+                if (newLabel)
+                {
+                    relabel[value] = 0;
+                    nextLabel--;
+                }
+            }
+        }
+
+
+        /**
+         * Method to pick the row of the board for a row of the output,
+         * once every column has been picked. Only the rows that make the
+         * smallest output row are followed.
+         *
+         * @param row
+         *            the row of the output
+         * @param smaller
+         *                if the output so far is already smaller than
+         *                the smallest output found
+         */
+        private void placeRow(int row, boolean smaller)
+        {
+            if (row == size)
+            {
+                if (smaller)
+                {
+                    keepBest();
+                }
+                return;
+            }
+            if (++steps > stepLimit)
+            {
+                cutOff = true;
+                return;
+            }
+
+            int first = 0;
+            int last = size;
+
+            if (row % width != 0)
+            {
+                first = rowMap[row - row % width] / width * width;
+                last = first + width;
+            }
+
+            // find the smallest output row any of the rows can make
+            int[] min = null;
+            int[] line = new int[size];
+
+            for (int r = first; r < last; r++)
+            {
+                if (isFree(r, rowUsed, bandUsed, row % width == 0))
+                {
+                    makeLine(r, line);
+
+                    if (min == null || compare(line, 0, min, 0) < 0)
+                    {
+                        min = line.clone();
+                    }
+                }
+            }
+
+            if (!smaller)
+            {
+                int order = compare(min, 0, best, row * size);
+
+                if (order > 0)
+                {
+                    return;
+                }
+                smaller = order < 0;
+            }
+
+            int version = bestVersion;
+            int labels = nextLabel;
+
+            for (int r = first; r < last && !cutOff; r++)
+            {
+                if (!isFree(r, rowUsed, bandUsed, row % width == 0))
+                {
+                    continue;
+                }
+                makeLine(r, line);
+
+                if (compare(line, 0, min, 0) != 0)
+                {
+                    continue;
+                }
+
+                // give the values seen for the first time their labels
+                for (int col = 0; col < size; col++)
+                {
+                    int value = grid[r * size + colMap[col]];
+
+                    if (value != 0 && relabel[value] == 0)
+                    {
+                        relabel[value] = nextLabel++;
+                    }
+                }
+                System.arraycopy(line, 0, out, row * size, size);
+                rowMap[row] = r;
+                rowUsed[r] = true;
+                bandUsed[r / width] = true;
+
+                placeRow(row + 1, smaller && version == bestVersion);
+
+                rowUsed[r] = false;
+                if (row % width == 0)
+                {
+                    bandUsed[r / width] = false;
+                }
+                for (int value = 1; value <= size; value++)
+                {
+                    if (relabel[value] >= labels)
+                    {
+                        relabel[value] = 0;
+                    }
+                }
+                nextLabel = labels;
+            }
+        }
+
+
+        /**
+         * Method to make the output row a row of the board would give,
+         * labeling the values not seen yet in the order they come up
+         * without keeping those labels.
+         *
+         * @param r
+         *          the row of the board
+         * @param line
+         *             the array the output row is put in
+         */
+        private void makeLine(int r, int[] line)
+        {
+            int labels = nextLabel;
+
+            for (int col = 0; col < size; col++)
+            {
+                int value = grid[r * size + colMap[col]];
+
+                if (value != 0 && relabel[value] == 0)
+                {
+                    relabel[value] = labels++;
+                }
+                line[col] = label(value);
+            }
+            for (int value = 1; value <= size; value++)
+            {
+                if (relabel[value] >= nextLabel)
+                {
+                    relabel[value] = 0;
+                }
+            }
+        }
+
+
+        /**
+         * Method to return the label a value has on the current path,
+         * which is the next label if the value has not been seen yet.
+         *
+         * @param value
+         *              the value of the board
+         *
+         * @return the label of the value is returned, 0 for an empty
+         *         location
+         */
+        private int label(int value)
+        {
+            if (value == 0)
+            {
+                return 0;
+            }
+            if (relabel[value] == 0)
+            {
+                return nextLabel;
+            }
+            return relabel[value];
+        }
+
+
+        /**
+         * Method to check if a row or column of the board can be used
+         * next. When a new band or stack is started, a line of any band
+         * or stack not used yet can be picked.
+         *
+         * @param line
+         *             the row or column of the board
+         * @param used
+         *             which rows or columns are used
+         * @param groupUsed
+         *                  which bands or stacks are used
+         * @param newGroup
+         *                 if a new band or stack is started
+         *
+         * @return true or false is returned depending on if the line can
+         *         be used
+         */
+        private boolean isFree(int line, boolean[] used,
+                boolean[] groupUsed, boolean newGroup)
+        {
+            if (newGroup)
+            {
+                return !groupUsed[line / width];
+            }
+            return !used[line];
+        }
+
+
+        /**
+         * Method to compare two arrays of the same length, in order.
+         *
+         * @param a
+         *          the first array
+         * @param b
+         *          the second array
+         *
+         * @return a negative number, zero, or a positive number is returned
+         *         as the first array is smaller, equal, or larger
+         */
+        private int compare(int[] a, int[] b)
+        {
+            for (int i = 0; i < a.length; i++)
+            {
+                if (a[i] != b[i])
+                {
+                    return a[i] - b[i];
+                }
+            }
+            return 0;
+        }
+
+
+        /**
+         * Method to compare a row of one array with a row of another.
+         *
+         * @param a
+         *          the first array
+         * @param aStart
+         *               where the row starts in the first array
+         * @param b
+         *          the second array
+         * @param bStart
+         *               where the row starts in the second array
+         *
+         * @return a negative number, zero, or a positive number is returned
+         *         as the first row is smaller, equal, or larger
+         */
+        private int compare(int[] a, int aStart, int[] b, int bStart)
+        {
+            for (int i = 0; i < size; i++)
+            {
+                if (a[aStart + i] != b[bStart + i])
+                {
+                    return a[aStart + i] - b[bStart + i];
+                }
+            }
+            return 0;
+        }
+
+
+        /**
+         * Method to keep the output of the current path as the smallest
+         * found so far. Values that never came up are labeled last, in
+         * order, so every value has a label.
+         *
+         */
+        private void keepBest()
+        {
+            best = out.clone();
+            bestTransposed = transposed;
+            bestRowMap = rowMap.clone();
+            bestColMap = colMap.clone();
+            bestRelabel = relabel.clone();
+
+            int labels = nextLabel;
+
+            for (int value = 1; value <= size; value++)
+            {
+                if (bestRelabel[value] == 0)
+                {
+                    bestRelabel[value] = labels++;
+                }
+            }
+            bestVersion++;
+        }
+    }
+}
+
+//end of CanonicalForm class
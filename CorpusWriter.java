@@ -0,0 +1,263 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Program: CorpusWriter.java
+ *
+ * This class is used to write a corpus, the binary file of puzzles read by
+ * a PuzzleCorpus. The puzzles are added one at a time and written in large
+ * blocks, so a corpus of any size can be written without holding it in
+ * memory. The header is written last, when the writer is closed, since
+ * only then is the number of puzzles known. A corpus whose writer was
+ * never closed has no puzzles in its header.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class CorpusWriter implements Closeable
+{
+    // fields for the CorpusWriter class...
+    private FileChannel channel;
+    private ByteBuffer block;
+    private int size;
+    private boolean solutions;
+    private long count;
+
+    // field to get rid of the magic number problem
+    private static final int blockBytes = 1 << 16;
+
+
+    /**
+     * Constructor for the CorpusWriter class. The constructor makes the
+     * file of the corpus, replacing any file of the same name.
+     *
+     * @param fileName
+     *                 the name of the file the corpus is written to
+     * @param boardSize
+     *                  the size of every board in the corpus
+     * @param solutions
+     *                  true if each puzzle is added with its solution
+     *
+     * @throws IOException
+     *                     if the file could not be made
+     */
+    public CorpusWriter(String fileName, int boardSize, boolean solutions)
+            throws IOException
+    {
+        channel = FileChannel.open(Paths.get(fileName),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        block = ByteBuffer.allocateDirect(blockBytes);
+        block.order(ByteOrder.LITTLE_ENDIAN);
+        size = boardSize;
+        this.solutions = solutions;
+        count = 0;
+
+        // the header is filled in by close()
+        channel.write(ByteBuffer.allocate(PuzzleCorpus.headerBytes));
+    }
+
+
+    /**
+     * Method to add a puzzle to a corpus that does not hold solutions.
+     *
+     * @param puzzle
+     *               the puzzle that needs to be added
+     *
+     * @throws IOException
+     *                     if the file could not be written
+     */
+    public void add(SudokuBoard puzzle) throws IOException
+    {
+        add(new PackedBoard(puzzle), null);
+    }
+
+
+    /**
+     * Method to add a puzzle and its solution to a corpus that holds
+     * solutions.
+     *
+     * @param puzzle
+     *               the puzzle that needs to be added
+     * @param solution
+     *                 the solution of the puzzle
+     *
+     * @throws IOException
+     *                     if the file could not be written
+     */
+    public void add(SudokuBoard puzzle, SudokuBoard solution)
+            throws IOException
+    {
+        add(new PackedBoard(puzzle), new PackedBoard(solution));
+    }
+
+
+    /**
+     * Method to add a packed puzzle, and its solution if the corpus holds
+     * solutions.
+     *
+     * @param puzzle
+     *               the puzzle that needs to be added
+     * @param solution
+     *                 the solution of the puzzle, or null if the corpus
+     *                 does not hold solutions
+     *
+     * @throws IOException
+     *                     if the file could not be written
+     */
+    public void add(PackedBoard puzzle, PackedBoard solution)
+            throws IOException
+    {
+        if ((solution != null) != solutions)
+        {
+            throw new IllegalStateException(solutions
+                    ? "This corpus needs the solution of each puzzle"
+                    : "This corpus does not hold solutions");
+        }
+
+        checkSize(puzzle);
+
+        if (solution != null)
+        {
+            checkSize(solution);
+        }
+        writeWords(puzzle);
+
+        if (solution != null)
+        {
+            writeWords(solution);
+        }
+        count++;
+    }
+
+
+    /**
+     * Method to check that a board has the size of the corpus.
+     *
+     * @param board
+     *              the board that needs to be checked
+     */
+    private void checkSize(PackedBoard board)
+    {
+        if (board.getBoardSize() != size)
+        {
+            throw new IllegalArgumentException("A board of size "
+                    + board.getBoardSize() + " can not be added to a "
+                    + "corpus of size " + size);
+        }
+    }
+
+
+    /**
+     * Method to copy the packed words of a board into the block, writing
+     * the block out first if the words do not fit.
+     *
+     * @param board
+     *              the board that needs to be written
+     *
+     * @throws IOException
+     *                     if the file could not be written
+     */
+    private void writeWords(PackedBoard board) throws IOException
+    {
+        long[] words = board.getWords();
+
+        if (block.remaining() < words.length * PuzzleCorpus.bytesPerLong)
+        {
+            writeBlock();
+        }
+        for (long word : words)
+        {
+            block.putLong(word);
+        }
+    }
+
+
+    /**
+     * Method to write the block to the file and empty it.
+     *
+     * @throws IOException
+     *                     if the file could not be written
+     */
+    private void writeBlock() throws IOException
+    {
+        block.flip();
+
+        while (block.hasRemaining())
+        {
+            channel.write(block);
+        }
+        block.clear();
+    }
+
+
+    /**
+     * Method to return the size of the boards in the corpus.
+     *
+     * @return the size of the boards is returned.
+     */
+    public int getBoardSize()
+    {
+        return size;
+    }
+
+
+    /**
+     * Method to return the number of puzzles added so far.
+     *
+     * @return the number of puzzles is returned.
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+
+    /**
+     * Method to write the rest of the puzzles and the header, and close
+     * the file.
+     *
+     * @throws IOException
+     *                     if the file could not be written
+     */
+    public void close() throws IOException
+    {
+        if (!channel.isOpen())
+        {
+            return;
+        }
+
+        try
+        {
+            writeBlock();
+
+            ByteBuffer header = ByteBuffer.allocate(PuzzleCorpus.headerBytes);
+
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(PuzzleCorpus.magicOffset, PuzzleCorpus.magic);
+            header.putInt(PuzzleCorpus.versionOffset, PuzzleCorpus.version);
+            header.putInt(PuzzleCorpus.sizeOffset, size);
+            header.putLong(PuzzleCorpus.countOffset, count);
+            header.putInt(PuzzleCorpus.flagsOffset,
+                    solutions ? PuzzleCorpus.solutionsFlag : 0);
+
+            while (header.hasRemaining())
+            {
+                channel.write(header, header.position());
+            }
+        }
+        finally
+        {
+            channel.close();
+        }
+    }
+}
+
+//end of CorpusWriter class
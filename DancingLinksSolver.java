@@ -0,0 +1,429 @@
+/**
+ * Program: DancingLinksSolver.java
+ *
+ * This class is used to solve a SudokuBoard with Knuth's Algorithm X
+ * using Dancing Links. The board is written as an exact cover problem,
+ * where every possible move (row, column, value) is a row of a matrix and
+ * every rule of the game is a column. There is a column for each location
+ * that needs a value, and a column for each value that a row, column, or
+ * square still needs. A move covers one of each. A solution is a set of
+ * moves that covers every column exactly once.
+ *
+ * The matrix is kept in primitive arrays instead of node objects. Node 0
+ * is the root, nodes 1 through the number of columns are the column
+ * headers, and the remaining nodes are the four entries of each move.
+ * Only the moves that are legal on the start state are added, and the
+ * columns already satisfied by the start state are left out.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class DancingLinksSolver implements Solver
+{
+    // fields for the DancingLinksSolver class...
+    private SudokuBoard startState;
+    private int size;
+    private int cellCount;
+
+    // links of each node to its neighbors
+    private int[] left;
+    private int[] right;
+    private int[] up;
+    private int[] down;
+
+    // column header of each node, and the move each node belongs to
+    private int[] column;
+    private int[] move;
+
+    // number of nodes left in each column
+    private int[] count;
+
+    // moves chosen on the current path of the search
+    private int[] chosen;
+    private int depth;
+
+    // solutions found so far, the most the search should look for, and
+    // the listener that is passed each solution
+    private long solutions;
+    private long limit;
+    private boolean stopped;
+    private SolutionListener listener;
+    private SudokuBoard solution;
+    private SolveResult result;
+
+
+    /**
+     * Constructor for the DancingLinksSolver class. The constructor makes
+     * a copy of the start state and builds the exact cover matrix for it.
+     *
+     * @param startState
+     *                   the state the search needs to start at
+     */
+    public DancingLinksSolver(SudokuBoard startState)
+    {
+        this.startState = startState.clone();
+        size = startState.getBoardSize();
+        cellCount = size * size;
+        chosen = new int[cellCount];
+        result = new SolveResult(AIPlayer.Engine.DANCING_LINKS.name());
+
+        buildMatrix();
+    }
+
+
+    /**
+     * Method to solve the board. The search stops at the first solution
+     * that is found, which can then be retrieved with getSolution().
+     *
+     * @return true or false is returned depending on if a solution is found
+     */
+    public boolean solve()
+    {
+        return findSolutions(1, null) > 0;
+    }
+
+
+    /**
+     * Method to look for solutions of the board, up to a limit. The 
+     * search stops as soon as the limit is reached or the listener asks
+     * it to. The first solution can be retrieved with getSolution(), and
+     * the matrix is restored, so the method can be called again.
+     *
+     * @param limit
+     *              the most solutions the search looks for
+     * @param listener
+     *                 the listener that is passed each solution, or null
+     *
+     * @return the number of solutions found is returned
+     */
+    public long findSolutions(long limit, SolutionListener listener)
+    {
+        solutions = 0;
+        this.limit = limit;
+        this.listener = listener;
+        stopped = false;
+        solution = null;
+        depth = 0;
+        result = new SolveResult(AIPlayer.Engine.DANCING_LINKS.name());
+
+        result.startTimer();
+        result.updateBoards(1);
+        search();
+        result.setSolution(solution);
+        result.stopTimer();
+        return solutions;
+    }
+
+
+    /**
+     * Method to return the first solution found by solve() or
+     * findSolutions().
+     *
+     * @return the solved board is returned, or null if no solution 
+     *         has been found.
+     */
+    public SudokuBoard getSolution()
+    {
+        return solution;
+    }
+
+
+    /**
+     * Method to return the timing and counters of the last solve. The 
+     * frontier of this engine is the list of moves chosen on the current 
+     * path, so the largest frontier is the deepest the search went.
+     *
+     * @return the result of the last solve is returned.
+     */
+    public SolveResult getResult()
+    {
+        return result;
+    }
+
+
+    /**
+     * Method to build the exact cover matrix for the start state. The
+     * columns that the start state already satisfies are not linked into
+     * the header list, and only legal moves on empty locations are added
+     * as rows, so those rows never touch a satisfied column.
+     *
+     */
+    private void buildMatrix()
+    {
+        BoardGeometry geometry = startState.getGeometry();
+        int columns = 4 * cellCount;
+        boolean[] satisfied = new boolean[columns + 1];
+        int moves = 0;
+
+        // mark the columns satisfied by the start state and count the moves
+        for (int cell = 0; cell < cellCount; cell++)
+        {
+            int row = geometry.getRow(cell);
+            int col = geometry.getColumn(cell);
+            int value = startState.getValue(row, col);
+
+            if (value == 0)
+            {
+                moves += Integer.bitCount(
+                        startState.getCandidateMask(row, col));
+                continue;
+            }
+
+            int[] headers = getColumns(geometry, cell, value);
+
+            for (int header : headers)
+            {
+                satisfied[header] = true;
+            }
+        }
+
+        int nodes = 1 + columns + 4 * moves;
+        left = new int[nodes];
+        right = new int[nodes];
+        up = new int[nodes];
+        down = new int[nodes];
+        column = new int[nodes];
+        move = new int[nodes];
+        count = new int[columns + 1];
+
+        // link the headers of the columns that still need to be covered
+        int last = 0;
+
+        for (int header = 1; header <= columns; header++)
+        {
+            up[header] = header;
+            down[header] = header;
+            column[header] = header;
+            left[header] = header;
+            right[header] = header;
+
+            if (!satisfied[header])
+            {
+                right[last] = header;
+                left[header] = last;
+                last = header;
+            }
+        }
+        right[last] = 0;
+        left[0] = last;
+
+        // add a row of four nodes for every legal move
+        int node = columns + 1;
+
+        for (int cell = 0; cell < cellCount; cell++)
+        {
+            int candidates = startState.getCandidateMask(geometry.getRow(cell),
+                    geometry.getColumn(cell));
+
+            while (candidates != 0)
+            {
+                int bit = candidates & -candidates;
+                candidates ^= bit;
+                int value = Integer.numberOfTrailingZeros(bit) + 1;
+                int[] headers = getColumns(geometry, cell, value);
+                int first = node;
+
+                for (int header : headers)
+                {
+                    column[node] = header;
+                    move[node] = cell * size + value - 1;
+
+                    // insert the node at the bottom of its column
+                    up[node] = up[header];
+                    down[node] = header;
+                    down[up[header]] = node;
+                    up[header] = node;
+                    count[header]++;
+
+                    // insert the node at the end of its row
+                    left[node] = node == first ? node : node - 1;
+                    right[left[node]] = node;
+                    right[node] = first;
+                    left[first] = node;
+                    node++;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Method to get the four column headers covered by placing a value
+     * in a cell. The columns are numbered from 1, first the locations,
+     * then the row values, the column values, and the square values.
+     *
+     * @param geometry
+     *                 the geometry of the board
+     * @param cell
+     *             the cell number of the location
+     * @param value
+     *              the value placed in the location
+     *
+     * @return the four column headers for the move are returned
+     */
+    private int[] getColumns(BoardGeometry geometry, int cell, int value)
+    {
+        int[] headers = new int[4];
+
+        headers[0] = 1 + cell;
+        headers[1] = 1 + cellCount + geometry.getRow(cell) * size + value - 1;
+        headers[2] = 1 + 2 * cellCount
+                + geometry.getColumn(cell) * size + value - 1;
+        headers[3] = 1 + 3 * cellCount
+                + geometry.getSquare(cell) * size + value - 1;
+        return headers;
+    }
+
+
+    /**
+     * Method that does the actual Algorithm X search. The column with the
+     * fewest nodes left is covered, and each of its rows is tried in turn
+     * by covering every other column the row touches. The links are always
+     * restored before the method returns, so the matrix can be searched
+     * again.
+     *
+     */
+    private void search()
+    {
+        result.addNode();
+        result.updateFrontier(depth);
+
+        // every column is covered, so the chosen moves are a solution
+        if (right[0] == 0)
+        {
+            solutions++;
+            result.addSolutions(1);
+
+            if (solution == null)
+            {
+                solution = buildSolution();
+            }
+            if (listener != null && !listener.solutionFound(buildSolution()))
+            {
+                stopped = true;
+            }
+            if (solutions >= limit)
+            {
+                stopped = true;
+            }
+            return;
+        }
+
+        int best = right[0];
+
+        for (int header = right[best]; header != 0; header = right[header])
+        {
+            if (count[header] < count[best])
+            {
+                best = header;
+            }
+        }
+
+        // a column that can not be covered is a dead end
+        if (count[best] == 0)
+        {
+            return;
+        }
+
+        cover(best);
+
+        for (int row = down[best]; row != best && !stopped;
+                row = down[row])
+        {
+            chosen[depth++] = move[row];
+            result.addCandidates(1);
+
+            for (int node = right[row]; node != row; node = right[node])
+            {
+                cover(column[node]);
+            }
+
+            search();
+
+            for (int node = left[row]; node != row; node = left[node])
+            {
+                uncover(column[node]);
+            }
+            depth--;
+
+            if (!stopped)
+            {
+                result.addBacktrack();
+            }
+        }
+        uncover(best);
+    }
+
+
+    /**
+     * Method to remove a column from the header list, and remove every
+     * row that has a node in the column from the other columns.
+     *
+     * @param header
+     *               the column header that needs to be covered
+     */
+    private void cover(int header)
+    {
+        right[left[header]] = right[header];
+        left[right[header]] = left[header];
+
+        for (int row = down[header]; row != header; row = down[row])
+        {
+            for (int node = right[row]; node != row; node = right[node])
+            {
+                down[up[node]] = down[node];
+                up[down[node]] = up[node];
+                count[column[node]]--;
+            }
+        }
+    }
+
+
+    /**
+     * Method to put a covered column back, in the exact reverse order
+     * of cover().
+     *
+     * @param header
+     *               the column header that needs to be uncovered
+     */
+    private void uncover(int header)
+    {
+        for (int row = up[header]; row != header; row = up[row])
+        {
+            for (int node = left[row]; node != row; node = left[node])
+            {
+                count[column[node]]++;
+                down[up[node]] = node;
+                up[down[node]] = node;
+            }
+        }
+
+        right[left[header]] = header;
+        left[right[header]] = header;
+    }
+
+
+    /**
+     * Method to copy the moves on the current path of the search onto
+     * a copy of the start state.
+     *
+     * @return the solved board is returned
+     */
+    private SudokuBoard buildSolution()
+    {
+        SudokuBoard board = startState.clone();
+
+        for (int i = 0; i < depth; i++)
+        {
+            int cell = chosen[i] / size;
+            int value = chosen[i] % size + 1;
+
+            board.setValue(cell / size, cell % size, value);
+        }
+        return board;
+    }
+}
+
+//end of DancingLinksSolver class
@@ -0,0 +1,140 @@
+/**
+ * Program: Frontier.java
+ *
+ * This class is used to hold the frontier of the depth first search in
+ * the AIPlayer class. Instead of holding every child of every board the
+ * search has expanded, the frontier holds one level for each board on
+ * the path from the start state. A level is the board, the location the
+ * search chose on it, and the values at that location that have not been
+ * tried yet. The next child is only made when the search asks for it, so
+ * a board with many values does not make all of its children up front.
+ * Values are handed out from the largest to the smallest, which is the
+ * order the children used to come off the old stack.
+ *
+ * The boards of the levels are kept as PackedBoards. The board of the top
+ * level is also kept unpacked, since every child comes from it. Nothing
+ * in this class is synchronized, since the search only uses it from one
+ * thread.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class Frontier
+{
+    // fields for the Frontier class...
+    private PackedBoard[] boards;
+    private int[] cells;
+    private int[] remaining;
+    private int top;
+
+    // unpacked board of the top level, or null until it is needed
+    private SudokuBoard topBoard;
+
+
+    /**
+     * Constructor for the Frontier class. The frontier starts out empty
+     * and can hold a level for every location of the board size.
+     *
+     * @param boardSize
+     *                  size of the boards searched
+     */
+    public Frontier(int boardSize)
+    {
+        int levels = boardSize * boardSize + 1;
+
+        boards = new PackedBoard[levels];
+        cells = new int[levels];
+        remaining = new int[levels];
+        top = 0;
+    }
+
+
+    /**
+     * Method to add a level to the top of the frontier. The board must
+     * not be changed after it is added.
+     *
+     * @param board
+     *              the board of the level
+     * @param cell
+     *             the cell number of the location chosen on the board
+     * @param candidates
+     *                   bitmask of the values at the location that need
+     *                   to be tried, where bit (value - 1) is set for
+     *                   each value
+     */
+    public void push(SudokuBoard board, int cell, int candidates)
+    {
+        boards[top] = new PackedBoard(board);
+        cells[top] = cell;
+        remaining[top] = candidates;
+        top++;
+        topBoard = board;
+    }
+
+
+    /**
+     * Method to make the next child of the top level, which is its board
+     * with the largest value not tried yet placed at its location. If
+     * every value of the top level has been tried, the level is removed
+     * instead.
+     *
+     * @return the next child is returned, or null if the top level was
+     *         removed because it had no values left.
+     */
+    public SudokuBoard nextChild()
+    {
+        int level = top - 1;
+
+        if (remaining[level] == 0)
+        {
+            boards[level] = null;
+            top--;
+            topBoard = null;
+            return null;
+        }
+
+        int bit = Integer.highestOneBit(remaining[level]);
+        remaining[level] ^= bit;
+
+        if (topBoard == null)
+        {
+            topBoard = boards[level].unpack();
+        }
+
+        BoardGeometry geometry = topBoard.getGeometry();
+        SudokuBoard child = topBoard.clone();
+
+        child.setValue(geometry.getRow(cells[level]),
+                geometry.getColumn(cells[level]),
+                Integer.numberOfTrailingZeros(bit) + 1);
+        return child;
+    }
+
+
+    /**
+     * Method to check if the frontier is empty.
+     *
+     * @return true or false is returned depending on if the frontier
+     *         is empty
+     */
+    public boolean isEmpty()
+    {
+        return top == 0;
+    }
+
+
+    /**
+     * Method to return the number of levels on the frontier, which is
+     * the depth of the search.
+     *
+     * @return the number of levels on the frontier is returned.
+     */
+    public int size()
+    {
+        return top;
+    }
+}
+
+//end of Frontier class
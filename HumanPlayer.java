@@ -1,4 +1,3 @@
-import java.util.ArrayList;
 import java.util.Scanner;
 
 /**
@@ -90,11 +89,10 @@ public class HumanPlayer
 
 
     /**
-     * Method to check a state to see if it is a goal state. It 
-     * does this by going through each row, column, and square, 
-     * and checking to see if each are filled with the correct values.
-     * This method does not currently work correctly for the HumanPlayer
-     * class. NEEDS WORK!!
+     * Method to check a state to see if it is a goal state, which is 
+     * when every location is filled and no row, column, or square holds
+     * a value twice. The board keeps count of both as values are set, 
+     * so the check does not scan the board.
      * 
      * @param state
      *              the current state of the board
@@ -103,72 +101,7 @@ public class HumanPlayer
      */
     public boolean isGoalState(SudokuBoard state) 
     {
-        int[][] board = state.getBoard();
-
-        // ArrayList to hold the the values that have 
-        // to be in the board for it to be a goal state
-        ArrayList<Integer> check = new ArrayList<Integer>(size);
-
-        // loop to initialize the list above
-        for (int i = 1; i <= size; i++)
-        {
-            check.add(i);
-        }
-
-
-        // goes through each row and checks to see 
-        // if it is filled with the required values
-        for (int row = 0; row < size; row++)
-        {
-            for (int col = 0; col < size; col++)
-            {
-                if (!check.contains(board[row][col]))
-                {
-                    return false;
-                }
-            }
-        }
-
-        // goes through each column and checks to see 
-        // if it is filled with the required values
-        for (int col = 0; col < size; col++)
-        {           
-            for (int row = 0; row < size; row++)
-            {
-                if (!check.contains(board[row][col]))
-                {
-                    return false;
-                }
-            }
-        } 
-
-        // goes through each square and checks to see if 
-        // it is filled with the required values
-        for (int row = 0; row < size; row += Math.sqrt(size))
-        {
-            for (int col = 0; col < size; col += Math.sqrt(size))
-            {                
-                // gets each individual square
-                int squareNumber = state.getSquareNumber(row, col);
-                int[][] square = state.getSquare(squareNumber);
-
-                // loops to traverse the square and 
-                // check for the appropriate values
-                for (int i = 0; i < square.length; i++)
-                {
-                    for (int j = 0; j < square[i].length; j++)
-                    {
-                        if (!check.contains(square[i][j]))
-                        {
-                            return false;
-                        }
-                    }
-                }               
-            }
-        } 
-        // if it makes it through all of the test, 
-        // then state, is in fact a goalState
-        return true;      
+        return state.isSolved();
     }
 
 
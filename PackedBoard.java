@@ -0,0 +1,311 @@
+import java.util.Arrays;
+
+/**
+ * Program: PackedBoard.java
+ *
+ * This class is used to store a Sudoku board in as little memory as
+ * possible. A SudokuBoard keeps every location in an int of a two
+ * dimensional array, plus the masks and counts used to check moves, which
+ * is a lot to keep for every board on the frontier of a search or in a
+ * cache. A PackedBoard keeps each location in 4 bits for 4x4 and 9x9
+ * boards and 5 bits for 16x16 and 25x25 boards, packed into a single
+ * array of longs. A location never spans two longs. The Zobrist hash of
+ * the board is kept as well, so hashing is free and equality only has to
+ * compare the packed words of boards whose hashes match. A PackedBoard
+ * can not be changed once it is made.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public final class PackedBoard
+{
+    // fields for the PackedBoard class...
+    private final int size;
+    private final int bitsPerCell;
+    private final int cellsPerWord;
+    private final long[] words;
+    private final long zobrist;
+
+    // bits used for each location of the small and large boards
+    private static final int smallBits = 4;
+    private static final int largeBits = 5;
+
+    // largest board size whose values fit in smallBits
+    private static final int smallMaxSize = 15;
+
+    // field to get rid of the magic number problem
+    private static final int bitsPerWord = 64;
+
+
+    /**
+     * Constructor for the PackedBoard class. The constructor packs the
+     * values of a SudokuBoard.
+     *
+     * @param board
+     *              the board that needs to be packed
+     */
+    public PackedBoard(SudokuBoard board)
+    {
+        size = board.getBoardSize();
+        bitsPerCell = getBitsPerCell(size);
+        cellsPerWord = bitsPerWord / bitsPerCell;
+        words = new long[getWordCount(size)];
+        zobrist = board.getZobristHash();
+
+        for (int i = 0; i < words.length; i++)
+        {
+            words[i] = packWord(board, i);
+        }
+    }
+
+
+    /**
+     * Constructor for the PackedBoard class. The constructor uses words
+     * that were packed earlier, for example ones read back from a file.
+     * The Zobrist hash is worked out again from the values.
+     *
+     * @param boardSize
+     *                  the size of the board the words hold
+     * @param packed
+     *               the packed words, which are copied
+     */
+    public PackedBoard(int boardSize, long[] packed)
+    {
+        size = boardSize;
+        bitsPerCell = getBitsPerCell(size);
+        cellsPerWord = bitsPerWord / bitsPerCell;
+
+        if (packed.length != getWordCount(size))
+        {
+            throw new IllegalArgumentException("A board of size " + size
+                    + " needs " + getWordCount(size) + " words, not "
+                    + packed.length);
+        }
+        words = packed.clone();
+
+        BoardGeometry geometry = BoardGeometry.forSize(size);
+        long hash = 0;
+
+        for (int cell = 0; cell < size * size; cell++)
+        {
+            int value = getValue(cell);
+
+            if (value > 0 && value <= size)
+            {
+                hash ^= geometry.getZobristKey(cell, value);
+            }
+        }
+        zobrist = hash;
+    }
+
+
+    /**
+     * Method to return the number of bits used for each location of a
+     * board size.
+     *
+     * @param boardSize
+     *                  the size of the board
+     *
+     * @return the number of bits for each location is returned
+     */
+    public static int getBitsPerCell(int boardSize)
+    {
+        if (boardSize <= smallMaxSize)
+        {
+            return smallBits;
+        }
+        return largeBits;
+    }
+
+
+    /**
+     * Method to return the number of longs needed to pack a board size.
+     *
+     * @param boardSize
+     *                  the size of the board
+     *
+     * @return the number of longs needed is returned
+     */
+    public static int getWordCount(int boardSize)
+    {
+        int cellsPerWord = bitsPerWord / getBitsPerCell(boardSize);
+
+        return (boardSize * boardSize + cellsPerWord - 1) / cellsPerWord;
+    }
+
+
+    /**
+     * Method to pack one word of a board, without making a PackedBoard.
+     * It is the same as the word at that index of a PackedBoard of the
+     * board, so packed words can be compared with a board in place.
+     *
+     * @param board
+     *              the board that is packed
+     * @param index
+     *              the index of the word
+     *
+     * @return the packed word is returned
+     */
+    public static long packWord(SudokuBoard board, int index)
+    {
+        int size = board.getBoardSize();
+        int bits = getBitsPerCell(size);
+        int cellsPerWord = bitsPerWord / bits;
+        int first = index * cellsPerWord;
+        int last = Math.min(first + cellsPerWord, size * size);
+        long maxValue = (1L << bits) - 1;
+        long word = 0;
+
+        for (int cell = first; cell < last; cell++)
+        {
+            int value = board.getValue(cell / size, cell % size);
+
+            if (value < 0 || value > maxValue)
+            {
+                throw new IllegalArgumentException("Value " + value
+                        + " can not be packed");
+            }
+            word |= (long) value << ((cell - first) * bits);
+        }
+        return word;
+    }
+
+
+    /**
+     * Method to set the values of a board held in one packed word, 
+     * without making a PackedBoard.
+     *
+     * @param word
+     *             the packed word
+     * @param index
+     *              the index of the word
+     * @param board
+     *              the board the values are set on
+     */
+    public static void unpackWord(long word, int index, SudokuBoard board)
+    {
+        int size = board.getBoardSize();
+        int bits = getBitsPerCell(size);
+        int cellsPerWord = bitsPerWord / bits;
+        int first = index * cellsPerWord;
+        int last = Math.min(first + cellsPerWord, size * size);
+        long mask = (1L << bits) - 1;
+
+        for (int cell = first; cell < last; cell++)
+        {
+            board.setValue(cell / size, cell % size,
+                    (int) (word >>> ((cell - first) * bits) & mask));
+        }
+    }
+
+
+    /**
+     * Method to return the value at a cell of the packed board.
+     *
+     * @param cell
+     *             the cell number, (row * size + col)
+     *
+     * @return the value at the cell is returned, 0 if it is empty
+     */
+    public int getValue(int cell)
+    {
+        long word = words[cell / cellsPerWord];
+        int shift = cell % cellsPerWord * bitsPerCell;
+
+        return (int) (word >>> shift) & ((1 << bitsPerCell) - 1);
+    }
+
+
+    /**
+     * Method to turn the packed board back into a SudokuBoard.
+     *
+     * @return a new SudokuBoard with the same values is returned
+     */
+    public SudokuBoard unpack()
+    {
+        SudokuBoard board = new SudokuBoard(size);
+        int cell = 0;
+
+        for (int row = 0; row < size; row++)
+        {
+            for (int col = 0; col < size; col++)
+            {
+                board.setValue(row, col, getValue(cell++));
+            }
+        }
+        return board;
+    }
+
+
+    /**
+     * Method to return the size of the packed board.
+     *
+     * @return the size of the board is returned.
+     */
+    public int getBoardSize()
+    {
+        return size;
+    }
+
+
+    /**
+     * Method to return a copy of the packed words.
+     *
+     * @return a copy of the packed words is returned.
+     */
+    public long[] getWords()
+    {
+        return words.clone();
+    }
+
+
+    /**
+     * Method to return the 64 bit Zobrist hash of the board. It is the
+     * same as the hash of the SudokuBoard that was packed.
+     *
+     * @return the Zobrist hash of the board is returned.
+     */
+    public long getZobristHash()
+    {
+        return zobrist;
+    }
+
+
+    /**
+     * HashCode method used to produce a hash value. The value is the
+     * Zobrist hash of the board folded into an int, the same as the
+     * hashCode() of the SudokuBoard that was packed.
+     *
+     * @return the hash value for a board is returned.
+     */
+    public int hashCode()
+    {
+        return (int) (zobrist ^ (zobrist >>> 32));
+    }
+
+
+    /**
+     * Method to check if another packed board holds the same values.
+     * Only the packed words are compared, and only when the hashes match.
+     *
+     * @param obj
+     *            object to be tested for equality
+     *
+     * @return true or false depending on if the objects are equal.
+     */
+    public boolean equals(Object obj)
+    {
+        if (obj instanceof PackedBoard)
+        {
+            PackedBoard data = (PackedBoard) obj;
+
+            return zobrist == data.zobrist && size == data.size
+                    && Arrays.equals(words, data.words);
+        }
+        return false;
+    }
+}
+
+//end of PackedBoard class
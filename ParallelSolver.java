@@ -0,0 +1,354 @@
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Program: ParallelSolver.java
+ *
+ * This class is used to solve a SudokuBoard on several cores at once.
+ * The top levels of the search tree are split into ForkJoinPool tasks.
+ * Each task picks the empty location with the fewest possible values and
+ * forks one task per value, until the split depth is reached. From there
+ * each task runs a BacktrackingSolver on its own copy of the board. Idle
+ * threads in the pool steal tasks from busy ones. The solutions found by
+ * every task are counted together, and once the limit is reached every
+ * other task gives up. A first solution search has a limit of one.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class ParallelSolver implements Solver
+{
+    // fields for the ParallelSolver class...
+    private SudokuBoard startState;
+    private ForkJoinPool pool;
+    private int splitDepth;
+
+    // shared by every task of a search
+    private AtomicBoolean stop;
+    private AtomicReference<SudokuBoard> solution;
+    private AtomicLong solutions;
+    private long limit;
+    private SolutionListener listener;
+    private SolveResult result;
+
+    // number of tasks alive right now, and the most alive at once
+    private AtomicInteger liveTasks;
+    private AtomicInteger peakTasks;
+
+    // number of levels split into tasks when no depth is given
+    private static final int defaultSplitDepth = 6;
+
+
+    /**
+     * Constructor for the ParallelSolver class. The search runs on the
+     * common ForkJoinPool and splits the default number of levels.
+     *
+     * @param startState
+     *                   the state the search needs to start at
+     */
+    public ParallelSolver(SudokuBoard startState)
+    {
+        this(startState, ForkJoinPool.commonPool(), defaultSplitDepth);
+    }
+
+
+    /**
+     * Constructor for the ParallelSolver class.
+     *
+     * @param startState
+     *                   the state the search needs to start at
+     * @param pool
+     *             the pool the tasks of the search run on
+     * @param splitDepth
+     *                   the number of levels of the search tree that are
+     *                   split into separate tasks
+     */
+    public ParallelSolver(SudokuBoard startState, ForkJoinPool pool,
+            int splitDepth)
+    {
+        this.startState = startState.clone();
+        this.pool = pool;
+        this.splitDepth = splitDepth;
+        stop = new AtomicBoolean(false);
+        solution = new AtomicReference<SudokuBoard>();
+        solutions = new AtomicLong();
+        result = new SolveResult(AIPlayer.Engine.PARALLEL.name());
+        liveTasks = new AtomicInteger();
+        peakTasks = new AtomicInteger();
+    }
+
+
+    /**
+     * Method to solve the board. The search stops at the first solution
+     * that is found by any task, which can then be retrieved with
+     * getSolution().
+     *
+     * @return true or false is returned depending on if a solution is found
+     */
+    public boolean solve()
+    {
+        return findSolutions(1, null) > 0;
+    }
+
+
+    /**
+     * Method to look for solutions of the board on every core, up to a
+     * limit. Every task stops as soon as the limit is reached or the
+     * listener asks the search to stop. The listener is only called by
+     * one task at a time, but the solutions reach it in no set order.
+     *
+     * @param limit
+     *              the most solutions the search looks for
+     * @param listener
+     *                 the listener that is passed each solution, or null
+     *
+     * @return the number of solutions found is returned
+     */
+    public long findSolutions(long limit, SolutionListener listener)
+    {
+        this.limit = limit;
+        this.listener = listener;
+        stop.set(false);
+        solution.set(null);
+        solutions.set(0);
+        liveTasks.set(0);
+        peakTasks.set(0);
+        result = new SolveResult(AIPlayer.Engine.PARALLEL.name());
+        result.startTimer();
+
+        SudokuBoard board = startState.clone();
+        int resolved = board.simplify();
+
+        if (resolved != Propagator.CONTRADICTION)
+        {
+            result.addPropagated(resolved);
+            pool.invoke(new SearchTask(board, 0));
+        }
+
+        long found = Math.min(solutions.get(), limit);
+
+        result.addSolutions(found);
+        result.updateFrontier(peakTasks.get());
+        result.updateBoards(peakTasks.get());
+        result.setSolution(solution.get());
+        result.stopTimer();
+        return found;
+    }
+
+
+    /**
+     * Method to return the first solution found by solve() or
+     * findSolutions().
+     *
+     * @return the solved board is returned, or null if no solution 
+     *         has been found.
+     */
+    public SudokuBoard getSolution()
+    {
+        return solution.get();
+    }
+
+
+    /**
+     * Method to return the timing and counters of the last solve. The
+     * counters of every task are added up. Each task holds its own board,
+     * so the largest frontier and the most boards held are the most tasks
+     * alive at once, unless a single task searched deeper than that.
+     *
+     * @return the result of the last solve is returned.
+     */
+    public SolveResult getResult()
+    {
+        return result;
+    }
+
+
+    /**
+     * Method to count a solution found by a task and pass it to the
+     * listener. Once the limit is reached, or the listener asks the search
+     * to stop, every other task is told to give up. Solutions found by
+     * tasks after the limit was reached are dropped.
+     *
+     * @param board
+     *              the solved board
+     *
+     * @return true or false is returned depending on if the search
+     *         should keep looking for solutions
+     */
+    private boolean recordSolution(SudokuBoard board)
+    {
+        long number = solutions.incrementAndGet();
+
+        if (number > limit)
+        {
+            stop.set(true);
+            return false;
+        }
+        solution.compareAndSet(null, board);
+
+        boolean keepGoing = true;
+
+        if (listener != null)
+        {
+            synchronized (listener)
+            {
+                keepGoing = listener.solutionFound(board);
+            }
+        }
+
+        if (!keepGoing || number >= limit)
+        {
+            stop.set(true);
+            return false;
+        }
+        return true;
+    }
+
+
+    /**
+     * Task that searches the part of the tree below a single board. The
+     * board belongs to the task, so no locking is needed while it works.
+     *
+     */
+    private class SearchTask extends RecursiveAction
+            implements SolutionListener
+    {
+        private static final long serialVersionUID = 1L;
+
+        // fields for the SearchTask class...
+        private SudokuBoard board;
+        private int depth;
+
+
+        /**
+         * Constructor for the SearchTask class.
+         *
+         * @param board
+         *              the board the task searches below
+         * @param depth
+         *              the level of the search tree the board is at
+         */
+        SearchTask(SudokuBoard board, int depth)
+        {
+            this.board = board;
+            this.depth = depth;
+
+            int live = liveTasks.incrementAndGet();
+            int peak = peakTasks.get();
+
+            while (live > peak && !peakTasks.compareAndSet(peak, live))
+            {
+                peak = peakTasks.get();
+            }
+        }
+
+
+        /**
+         * Method that does the work of the task. Below the split depth
+         * the board is handed to a BacktrackingSolver, above it one child
+         * task is forked for each value of the chosen location. Tasks that
+         * start after the search was told to stop return right away.
+         *
+         */
+        protected void compute()
+        {
+            try
+            {
+                if (!stop.get())
+                {
+                    expand();
+                }
+            }
+            finally
+            {
+                liveTasks.decrementAndGet();
+            }
+        }
+
+
+        /**
+         * Method to search below the board of the task.
+         *
+         */
+        private void expand()
+        {
+            if (depth >= splitDepth)
+            {
+                BacktrackingSolver solver =
+                        new BacktrackingSolver(board, stop);
+
+                solver.findSolutions(limit, this);
+                result.add(solver.getResult());
+                return;
+            }
+
+            SolveResult counters = new SolveResult(result.getEngine());
+            counters.addNode();
+
+            int cell = BacktrackingSolver.chooseCell(board);
+
+            // no empty locations are left, so the board is solved
+            if (cell == -1)
+            {
+                recordSolution(board);
+                result.add(counters);
+                return;
+            }
+
+            BoardGeometry geometry = board.getGeometry();
+            int row = geometry.getRow(cell);
+            int col = geometry.getColumn(cell);
+            int candidates = board.getCandidateMask(row, col);
+            ArrayList<SearchTask> children = new ArrayList<SearchTask>();
+
+            while (candidates != 0)
+            {
+                int bit = candidates & -candidates;
+                candidates ^= bit;
+                int value = Integer.numberOfTrailingZeros(bit) + 1;
+
+                SudokuBoard child = board.clone();
+                child.setValue(row, col, value);
+                counters.addCandidates(1);
+
+                int resolved = child.simplify();
+
+                // children that lead to a contradiction are dropped here
+                if (resolved == Propagator.CONTRADICTION)
+                {
+                    counters.addBacktrack();
+                    continue;
+                }
+                counters.addPropagated(resolved);
+                children.add(new SearchTask(child, depth + 1));
+            }
+            result.add(counters);
+            invokeAll(children);
+        }
+
+
+        /**
+         * Method that is called for each solution the BacktrackingSolver
+         * of the task finds.
+         *
+         * @param board
+         *              the solved board
+         *
+         * @return true or false is returned depending on if the search
+         *         should keep looking for solutions
+         */
+        public boolean solutionFound(SudokuBoard board)
+        {
+            return recordSolution(board);
+        }
+    }
+}
+
+//end of ParallelSolver class
@@ -0,0 +1,211 @@
+/**
+ * Program: Propagator.java
+ *
+ * This class is used to fill in the values on a SudokuBoard that are
+ * forced by the values already on the board. Two rules are applied over
+ * and over until neither of them fills in anything new. A naked single is
+ * an empty location with only one possible value. A hidden single is a
+ * value that only fits in one location of a row, column, or square. While
+ * applying the rules the propagator also looks for contradictions, which
+ * are empty locations with no possible values and values that no longer
+ * fit anywhere in a row, column, or square. The BacktrackingSolver uses
+ * this class after every move, and SudokuBoard.simplify() uses it on its
+ * own.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class Propagator
+{
+    // value returned by propagate() when the board has no solution
+    public static final int CONTRADICTION = -1;
+
+
+    /**
+     * Method to fill in every naked and hidden single on a board. Each
+     * value that is filled in is recorded on the trail, so the caller can
+     * clear them again with UndoTrail.undo(). When a contradiction is
+     * found the method stops right away and leaves the values it already
+     * filled in on the trail.
+     *
+     * @param board
+     *              the board that values are filled in on
+     * @param trail
+     *              the trail that records each value filled in
+     *
+     * @return the number of locations that were filled in is returned, or
+     *         CONTRADICTION if the board can not be solved.
+     */
+    public int propagate(SudokuBoard board, UndoTrail trail)
+    {
+        BoardGeometry geometry = board.getGeometry();
+        int size = geometry.getSize();
+        int start = trail.mark();
+        boolean changed = true;
+
+        // repeat while the last pass filled in a value
+        while (changed)
+        {
+            int before = trail.mark();
+
+            if (!fillNakedSingles(board, geometry, trail))
+            {
+                return CONTRADICTION;
+            }
+
+            for (int unit = 0; unit < size; unit++)
+            {
+                if (!fillHiddenSingles(board, geometry,
+                        geometry.getRowCells(unit), trail)
+                        || !fillHiddenSingles(board, geometry,
+                        geometry.getColumnCells(unit), trail)
+                        || !fillHiddenSingles(board, geometry,
+                        geometry.getSquareCells(unit), trail))
+                {
+                    return CONTRADICTION;
+                }
+            }
+            changed = trail.mark() != before;
+        }
+        return trail.mark() - start;
+    }
+
+
+    /**
+     * Method to fill in every empty location that has exactly one
+     * possible value.
+     *
+     * @param board
+     *              the board that values are filled in on
+     * @param geometry
+     *                 the geometry of the board
+     * @param trail
+     *              the trail that records each value filled in
+     *
+     * @return false is returned if an empty location with no possible
+     *         values is found, true otherwise.
+     */
+    private boolean fillNakedSingles(SudokuBoard board,
+            BoardGeometry geometry, UndoTrail trail)
+    {
+        int cellCount = geometry.getCellCount();
+
+        for (int cell = 0; cell < cellCount; cell++)
+        {
+            int row = geometry.getRow(cell);
+            int col = geometry.getColumn(cell);
+
+            if (board.checkForValue(row, col))
+            {
+                continue;
+            }
+
+            int candidates = board.getCandidateMask(row, col);
+
+            if (candidates == 0)
+            {
+                return false;
+            }
+
+            // only one bit is set, so the value is forced
+            if ((candidates & (candidates - 1)) == 0)
+            {
+                trail.assign(board, cell,
+                        Integer.numberOfTrailingZeros(candidates) + 1);
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Method to fill in every value that only fits in one location of a
+     * row, column, or square.
+     *
+     * @param board
+     *              the board that values are filled in on
+     * @param geometry
+     *                 the geometry of the board
+     * @param unit
+     *             the cells of the row, column, or square being checked
+     * @param trail
+     *              the trail that records each value filled in
+     *
+     * @return false is returned if a value that is missing from the unit
+     *         does not fit anywhere in it, true otherwise.
+     */
+    private boolean fillHiddenSingles(SudokuBoard board,
+            BoardGeometry geometry, int[] unit, UndoTrail trail)
+    {
+        int fullMask = (1 << geometry.getSize()) - 1;
+
+        // values already placed, values that fit at least once, and
+        // values that fit more than once in the unit
+        int placed = 0;
+        int once = 0;
+        int twice = 0;
+
+        for (int cell : unit)
+        {
+            int value = board.getValue(geometry.getRow(cell),
+                    geometry.getColumn(cell));
+
+            if (value != 0)
+            {
+                placed |= 1 << (value - 1);
+                continue;
+            }
+
+            int candidates = board.getCandidateMask(geometry.getRow(cell),
+                    geometry.getColumn(cell));
+            twice |= once & candidates;
+            once |= candidates;
+        }
+
+        // a missing value with nowhere to go
+        if ((placed | once) != fullMask)
+        {
+            return false;
+        }
+
+        int singles = once & ~twice;
+
+        while (singles != 0)
+        {
+            int bit = singles & -singles;
+            singles ^= bit;
+            int value = Integer.numberOfTrailingZeros(bit) + 1;
+            boolean found = false;
+
+            for (int cell : unit)
+            {
+                int row = geometry.getRow(cell);
+                int col = geometry.getColumn(cell);
+
+                // already filled in by another rule
+                if (board.getValue(row, col) == value)
+                {
+                    found = true;
+                    break;
+                }
+                if ((board.getCandidateMask(row, col) & bit) != 0)
+                {
+                    trail.assign(board, cell, value);
+                    found = true;
+                    break;
+                }
+            }
+
+            // the only location for the value was taken by another value
+            if (!found)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
+
+//end of Propagator class
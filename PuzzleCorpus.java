@@ -0,0 +1,417 @@
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Program: PuzzleCorpus.java
+ *
+ * This class is used to read a corpus, a binary file of puzzles written
+ * by a CorpusWriter. Every puzzle of a corpus has the same board size and
+ * is kept as a fixed number of packed words, laid out the same way as in a
+ * PackedBoard, so a 9x9 puzzle takes 48 bytes instead of the 82 of a text
+ * line. A corpus can also hold the solution of each puzzle right after
+ * the puzzle. The file starts with a header that holds the board size,
+ * the number of puzzles, and whether solutions are kept.
+ *
+ * The file is memory mapped, so opening a corpus reads nothing but the
+ * header, and puzzle N is found straight from its index. This lets a large
+ * corpus be split into shards, each read by its own worker, without any
+ * worker reading the puzzles of another. A corpus is never changed once
+ * written, so any number of threads can read it at the same time.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class PuzzleCorpus implements Closeable, Iterable<SudokuBoard>
+{
+    // fields for the PuzzleCorpus class...
+    private String fileName;
+    private RandomAccessFile file;
+    private int size;
+    private int words;
+    private long count;
+    private boolean solutions;
+    private int recordBytes;
+    private MappedByteBuffer[] chunks;
+    private int recordsPerChunk;
+
+    // where each field of the header is kept
+    static final int magicOffset = 0;
+    static final int versionOffset = 8;
+    static final int sizeOffset = 12;
+    static final int countOffset = 16;
+    static final int flagsOffset = 24;
+    static final int headerBytes = 64;
+
+    // marks a file as a corpus, and its layout
+    static final long magic = 0x535544434F5250L;
+    static final int version = 1;
+
+    // flag set in the header when each puzzle is followed by its solution
+    static final int solutionsFlag = 1;
+
+    // fields to get rid of the magic number problem
+    static final int bytesPerLong = 8;
+    private static final int maxBoardSize = 25;
+    private static final int chunkBytes = 1 << 30;
+
+
+    /**
+     * Constructor for the PuzzleCorpus class. The constructor opens and
+     * maps the file of the corpus.
+     *
+     * @param fileName
+     *                 the name of the file that holds the corpus
+     *
+     * @throws IOException
+     *                     if the file could not be opened or is not a
+     *                     corpus
+     */
+    public PuzzleCorpus(String fileName) throws IOException
+    {
+        this.fileName = fileName;
+        file = new RandomAccessFile(fileName, "r");
+
+        try
+        {
+            FileChannel channel = file.getChannel();
+
+            readHeader(channel);
+            words = PackedBoard.getWordCount(size);
+            recordBytes = bytesPerLong * words * (solutions ? 2 : 1);
+
+            if (file.length() < headerBytes + count * recordBytes)
+            {
+                throw new IOException(fileName + " is cut short");
+            }
+            mapRecords(channel);
+        }
+        catch (IOException e)
+        {
+            file.close();
+            throw e;
+        }
+    }
+
+
+    /**
+     * Method to read the header of the file and check that it is a
+     * corpus.
+     *
+     * @param channel
+     *                the channel of the file
+     *
+     * @throws IOException
+     *                     if the file is not a corpus
+     */
+    private void readHeader(FileChannel channel) throws IOException
+    {
+        ByteBuffer header = ByteBuffer.allocate(headerBytes);
+
+        header.order(ByteOrder.LITTLE_ENDIAN);
+
+        while (header.hasRemaining() && channel.read(header) >= 0)
+        {
+            // keep reading until the header is full or the file ends
+        }
+        if (header.hasRemaining() || header.getLong(magicOffset) != magic
+                || header.getInt(versionOffset) != version)
+        {
+            throw new IOException(fileName + " is not a puzzle corpus");
+        }
+
+        size = header.getInt(sizeOffset);
+        count = header.getLong(countOffset);
+        solutions = (header.getInt(flagsOffset) & solutionsFlag) != 0;
+
+        if (size < 1 || size > maxBoardSize || count < 0)
+        {
+            throw new IOException(fileName + " has a damaged header");
+        }
+    }
+
+
+    /**
+     * Method to map the records of the file in chunks of whole records,
+     * since a single mapping can not be larger than 2 gigabytes.
+     *
+     * @param channel
+     *                the channel of the file
+     *
+     * @throws IOException
+     *                     if the file could not be mapped
+     */
+    private void mapRecords(FileChannel channel) throws IOException
+    {
+        recordsPerChunk = chunkBytes / recordBytes;
+
+        int chunkCount = (int) ((count + recordsPerChunk - 1)
+                / recordsPerChunk);
+
+        chunks = new MappedByteBuffer[chunkCount];
+
+        for (int i = 0; i < chunkCount; i++)
+        {
+            long first = (long) i * recordsPerChunk;
+            long records = Math.min(recordsPerChunk, count - first);
+
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                    headerBytes + first * recordBytes,
+                    records * recordBytes);
+            chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+
+    /**
+     * Method to check if a file is a corpus, by looking at the start of
+     * its header.
+     *
+     * @param fileName
+     *                 the name of the file that needs to be checked
+     *
+     * @return true or false is returned depending on if the file is a
+     *         corpus
+     */
+    public static boolean isCorpus(String fileName)
+    {
+        try (DataInputStream in = new DataInputStream(
+                new FileInputStream(fileName)))
+        {
+            return Long.reverseBytes(in.readLong()) == magic;
+        }
+        catch (IOException e)
+        {
+            return false;
+        }
+    }
+
+
+    /**
+     * Method to return the puzzle at an index of the corpus.
+     *
+     * @param index
+     *              the index of the puzzle, from 0 to getCount() - 1
+     *
+     * @return the puzzle is returned
+     */
+    public PackedBoard getPuzzle(long index)
+    {
+        return readWords(index, 0);
+    }
+
+
+    /**
+     * Method to return the solution of the puzzle at an index of the
+     * corpus.
+     *
+     * @param index
+     *              the index of the puzzle, from 0 to getCount() - 1
+     *
+     * @return the solution of the puzzle is returned
+     */
+    public PackedBoard getSolution(long index)
+    {
+        if (!solutions)
+        {
+            throw new IllegalStateException(fileName
+                    + " does not hold solutions");
+        }
+        return readWords(index, words);
+    }
+
+
+    /**
+     * Method to return the puzzle at an index of the corpus as a
+     * SudokuBoard.
+     *
+     * @param index
+     *              the index of the puzzle, from 0 to getCount() - 1
+     *
+     * @return the puzzle is returned
+     */
+    public SudokuBoard getBoard(long index)
+    {
+        return getPuzzle(index).unpack();
+    }
+
+
+    /**
+     * Method to read the packed words of a board out of a record.
+     *
+     * @param index
+     *              the index of the record
+     * @param firstWord
+     *                  the word of the record the board starts at
+     *
+     * @return the board is returned
+     */
+    private PackedBoard readWords(long index, int firstWord)
+    {
+        if (index < 0 || index >= count)
+        {
+            throw new IndexOutOfBoundsException("Puzzle " + index
+                    + " is not in a corpus of " + count);
+        }
+
+        MappedByteBuffer chunk = chunks[(int) (index / recordsPerChunk)];
+        int offset = (int) (index % recordsPerChunk) * recordBytes
+                + firstWord * bytesPerLong;
+        long[] packed = new long[words];
+
+        for (int i = 0; i < words; i++)
+        {
+            packed[i] = chunk.getLong(offset + i * bytesPerLong);
+        }
+        return new PackedBoard(size, packed);
+    }
+
+
+    /**
+     * Method to return the index of the first puzzle of a shard, when the
+     * corpus is split into a number of shards of nearly the same size.
+     * Shard i holds the puzzles from getShardStart(i, shards) up to, but
+     * not including, getShardStart(i + 1, shards).
+     *
+     * @param shard
+     *              the shard, from 0 to shards
+     * @param shards
+     *               the number of shards
+     *
+     * @return the index of the first puzzle of the shard is returned
+     */
+    public long getShardStart(int shard, int shards)
+    {
+        if (shards < 1 || shard < 0 || shard > shards)
+        {
+            throw new IllegalArgumentException("Shard " + shard
+                    + " of " + shards + " does not exist");
+        }
+        // split the remainder over the first shards without overflow
+        return count / shards * shard + count % shards * shard / shards;
+    }
+
+
+    /**
+     * Method to walk every puzzle of the corpus in order.
+     *
+     * @return an iterator over the puzzles is returned
+     */
+    public Iterator<SudokuBoard> iterator()
+    {
+        return iterator(0, count);
+    }
+
+
+    /**
+     * Method to walk the puzzles of the corpus between two indexes, for
+     * example those of one shard.
+     *
+     * @param first
+     *              the index of the first puzzle
+     * @param last
+     *             the index after the last puzzle
+     *
+     * @return an iterator over the puzzles is returned
+     */
+    public Iterator<SudokuBoard> iterator(final long first, final long last)
+    {
+        if (first < 0 || last > count || first > last)
+        {
+            throw new IndexOutOfBoundsException("Puzzles " + first
+                    + " to " + last + " are not in a corpus of " + count);
+        }
+
+        return new Iterator<SudokuBoard>()
+        {
+            private long index = first;
+
+            public boolean hasNext()
+            {
+                return index < last;
+            }
+
+            public SudokuBoard next()
+            {
+                if (index >= last)
+                {
+                    throw new NoSuchElementException();
+                }
+                return getBoard(index++);
+            }
+        };
+    }
+
+
+    /**
+     * Method to return the size of the boards in the corpus.
+     *
+     * @return the size of the boards is returned.
+     */
+    public int getBoardSize()
+    {
+        return size;
+    }
+
+
+    /**
+     * Method to return the number of puzzles in the corpus.
+     *
+     * @return the number of puzzles is returned.
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+
+    /**
+     * Method to check if the corpus holds the solution of each puzzle.
+     *
+     * @return true or false is returned depending on if the corpus
+     *         holds solutions
+     */
+    public boolean hasSolutions()
+    {
+        return solutions;
+    }
+
+
+    /**
+     * Method to close the file of the corpus. The mapped records are
+     * released once nothing refers to them any more.
+     *
+     * @throws IOException
+     *                     if the file could not be closed
+     */
+    public void close() throws IOException
+    {
+        chunks = new MappedByteBuffer[0];
+        count = 0;
+        file.close();
+    }
+
+
+    /**
+     * Method to return a description of the corpus.
+     *
+     * @return a description of the corpus is returned.
+     */
+    public String toString()
+    {
+        return "corpus " + fileName + ": size=" + size + ", puzzles="
+                + count + ", solutions=" + solutions;
+    }
+}
+
+//end of PuzzleCorpus class
@@ -0,0 +1,421 @@
+import java.util.Random;
+
+/**
+ * Program: PuzzleGenerator.java
+ *
+ * This class is used to make new Sudoku puzzles that have exactly one
+ * solution. A puzzle is made in two steps. First a full random grid is
+ * made by solving an empty board with a backtracking search that tries
+ * the values of each location in a random order. Then values are removed
+ * from the grid one location at a time in a random order, and a removal
+ * is only kept if the puzzle still has a single solution, until the
+ * requested number of given values is left.
+ *
+ * A removal keeps the solution single exactly when the location that was
+ * cleared can not hold any other value in a solution. If no other value
+ * is possible there no search is needed. Otherwise each other value is
+ * tried with a search for any solution, which usually fails right away.
+ * Every removal is first checked with a small search. The removals that
+ * search could not settle are checked again at the end, with a search
+ * that grows with the size of the board, but only if the puzzle still
+ * has more given values than requested. A removal that even the larger
+ * search can not prove safe is undone.
+ *
+ * Removing values greedily stops once no single value can be removed.
+ * On 9x9 boards that happens at 24 to 27 given values, so HARD is set at
+ * 33%, which almost every grid reaches. On the larger boards it happens
+ * at roughly 37% given values, so not every target can be reached.
+ * generate() tries a few grids and throws an IllegalStateException when
+ * none of them reach the target, instead of returning an easier puzzle
+ * than was asked for.
+ *
+ * The same seed always makes the same puzzles.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class PuzzleGenerator
+{
+    /**
+     * The difficulties a puzzle can be made at. Harder puzzles have fewer
+     * given values.
+     *
+     */
+    public enum Difficulty
+    {
+        EASY(0.45),
+        MEDIUM(0.37),
+        HARD(0.33);
+
+        // fraction of the locations that are given
+        private final double clueFraction;
+
+
+        /**
+         * Constructor for the Difficulty enum.
+         *
+         * @param clueFraction
+         *                     fraction of the locations that are given
+         */
+        Difficulty(double clueFraction)
+        {
+            this.clueFraction = clueFraction;
+        }
+
+
+        /**
+         * Method to return the number of given values a puzzle of this
+         * difficulty has on a board of the given size.
+         *
+         * @param boardSize
+         *                  the size of the board
+         *
+         * @return the number of given values is returned
+         */
+        public int getClues(int boardSize)
+        {
+            return (int) Math.round(clueFraction * boardSize * boardSize);
+        }
+    }
+
+    // fields for the PuzzleGenerator class...
+    private int size;
+    private BoardGeometry geometry;
+    private Random random;
+
+    // removals tried, and removals undone to keep the solution single
+    private long removalsTried;
+    private long removalsRejected;
+
+    // most search nodes the second check of a removal may expand
+    private long removalNodeLimit;
+
+    // what a check of a removal can find
+    private static final int forced = 0;
+    private static final int notForced = 1;
+    private static final int unknown = 2;
+
+    // most search nodes the first check of a removal may expand
+    private static final long quickNodeLimit = 100;
+
+    // search nodes per location for the second check of a removal and
+    // for filling a grid before the fill is started again
+    private static final long removalNodesPerCell = 4;
+    private static final long fillNodesPerCell = 4;
+
+    // grids generate() tries before it gives up on the target
+    private static final int maxAttempts = 3;
+
+
+    /**
+     * Constructor for the PuzzleGenerator class. The generator is seeded
+     * randomly.
+     *
+     * @param boardSize
+     *                  the size of the boards that are made
+     */
+    public PuzzleGenerator(int boardSize)
+    {
+        this(boardSize, new Random().nextLong());
+    }
+
+
+    /**
+     * Constructor for the PuzzleGenerator class.
+     *
+     * @param boardSize
+     *                  the size of the boards that are made
+     * @param seed
+     *             the seed of the random numbers used to make puzzles
+     */
+    public PuzzleGenerator(int boardSize, long seed)
+    {
+        size = boardSize;
+        geometry = BoardGeometry.forSize(size);
+        random = new Random(seed);
+        removalNodeLimit = removalNodesPerCell * geometry.getCellCount();
+    }
+
+
+    /**
+     * Method to make a puzzle at a difficulty.
+     *
+     * @param difficulty
+     *                   the difficulty of the puzzle
+     *
+     * @return a puzzle with exactly one solution is returned
+     *
+     * @throws IllegalStateException
+     *                               if no puzzle with few enough given
+     *                               values could be made
+     */
+    public SudokuBoard generate(Difficulty difficulty)
+    {
+        return generate(difficulty.getClues(size));
+    }
+
+
+    /**
+     * Method to make a puzzle with a number of given values. Values are
+     * removed from a new grid until only the target is left. If no more
+     * values can be removed first, the puzzle is made again from another
+     * grid, a few times.
+     *
+     * @param targetClues
+     *                    the number of given values the puzzle should have
+     *
+     * @return a puzzle with exactly one solution and the target number of
+     *         given values is returned
+     *
+     * @throws IllegalStateException
+     *                               if no puzzle with few enough given
+     *                               values could be made
+     */
+    public SudokuBoard generate(int targetClues)
+    {
+        int fewest = Integer.MAX_VALUE;
+
+        for (int attempt = 0; attempt < maxAttempts; attempt++)
+        {
+            SudokuBoard puzzle = removeValues(generateSolution(),
+                    targetClues);
+
+            if (puzzle.getFilledCount() <= targetClues)
+            {
+                return puzzle;
+            }
+            fewest = Math.min(fewest, puzzle.getFilledCount());
+        }
+        throw new IllegalStateException("Could not make a " + size + "x"
+                + size + " puzzle with " + targetClues + " given values, "
+                + "the fewest reached was " + fewest);
+    }
+
+
+    /**
+     * Method to turn a full grid into a puzzle by removing values from it
+     * in a random order. A removal is only kept if the puzzle still has a
+     * single solution, and values are removed until only the target is
+     * left or every location has been tried. The puzzle can be left with
+     * more given values than the target, which the caller needs to check.
+     *
+     * @param puzzle
+     *               the full grid, which is changed into the puzzle
+     * @param targetClues
+     *                    the number of given values the puzzle should have
+     *
+     * @return the puzzle, which is the grid passed in, is returned
+     */
+    public SudokuBoard removeValues(SudokuBoard puzzle, int targetClues)
+    {
+        int[] order = shuffled(geometry.getCellCount());
+        int clues = puzzle.getFilledCount();
+
+        // removals the quick check could not settle, to check again
+        int[] unsettled = new int[order.length];
+        int unsettledCount = 0;
+
+        for (int i = 0; i < order.length && clues > targetClues; i++)
+        {
+            int check = tryRemove(puzzle, order[i], quickNodeLimit);
+
+            if (check == forced)
+            {
+                clues--;
+            }
+            else if (check == unknown)
+            {
+                unsettled[unsettledCount++] = order[i];
+            }
+        }
+
+        for (int i = 0; i < unsettledCount && clues > targetClues; i++)
+        {
+            if (tryRemove(puzzle, unsettled[i], removalNodeLimit) == forced)
+            {
+                clues--;
+            }
+        }
+        return puzzle;
+    }
+
+
+    /**
+     * Method to remove the value at a location, and put it back unless
+     * the puzzle is proven to keep a single solution without it.
+     *
+     * @param puzzle
+     *               the puzzle the value is removed from
+     * @param cell
+     *             the cell number of the location
+     * @param limit
+     *              the most search nodes each search may expand
+     *
+     * @return forced, notForced, or unknown is returned depending on what
+     *         the check found, and the value is only left out if forced
+     */
+    private int tryRemove(SudokuBoard puzzle, int cell, long limit)
+    {
+        int row = geometry.getRow(cell);
+        int col = geometry.getColumn(cell);
+        int value = puzzle.getValue(row, col);
+
+        if (value == 0)
+        {
+            return notForced;
+        }
+        puzzle.setValue(row, col, 0);
+        removalsTried++;
+
+        int check = checkForced(puzzle, row, col, value, limit);
+
+        if (check != forced)
+        {
+            puzzle.setValue(row, col, value);
+            removalsRejected++;
+        }
+        return check;
+    }
+
+
+    /**
+     * Method to return the number of removals this generator has tried
+     * since it was made.
+     *
+     * @return the number of removals tried is returned.
+     */
+    public long getRemovalsTried()
+    {
+        return removalsTried;
+    }
+
+
+    /**
+     * Method to return the number of removals this generator has undone
+     * since it was made, because the puzzle could have had a second
+     * solution without the value.
+     *
+     * @return the number of removals undone is returned.
+     */
+    public long getRemovalsRejected()
+    {
+        return removalsRejected;
+    }
+
+
+    /**
+     * Method to check if the value removed from a location is the only
+     * value the location can hold in any solution of the puzzle. The
+     * puzzle had a single solution before the value was removed, so it
+     * still has a single solution exactly when this is true. Each other
+     * value the location could hold is placed in turn, and a search for
+     * any solution is run, which usually runs into a contradiction right
+     * away. A location with no other values needs no search at all.
+     *
+     * @param puzzle
+     *               the puzzle the value was removed from
+     * @param row
+     *            the row index of the location
+     * @param col
+     *            the column index of the location
+     * @param value
+     *              the value that was removed
+     * @param limit
+     *              the most search nodes each search may expand
+     *
+     * @return forced is returned if the location must hold the value,
+     *         notForced if another value leads to a solution, and unknown
+     *         if a search gave up before it could tell
+     */
+    private int checkForced(SudokuBoard puzzle, int row, int col, int value,
+            long limit)
+    {
+        int others = puzzle.getCandidateMask(row, col) & ~(1 << (value - 1));
+        int check = forced;
+
+        while (others != 0 && check != notForced)
+        {
+            int bit = others & -others;
+            others ^= bit;
+
+            puzzle.setValue(row, col, Integer.numberOfTrailingZeros(bit) + 1);
+
+            BacktrackingSolver solver = new BacktrackingSolver(puzzle);
+            solver.setNodeLimit(limit);
+
+            if (solver.solve())
+            {
+                check = notForced;
+            }
+            else if (solver.hitNodeLimit())
+            {
+                // a search that gives up proves nothing
+                check = unknown;
+            }
+        }
+        puzzle.setValue(row, col, 0);
+        return check;
+    }
+
+
+    /**
+     * Method to make a full random grid that breaks no rules. An empty
+     * board is solved by a backtracking search that tries the values of
+     * each location in a random order, so any valid grid can come out,
+     * not only the shuffles of one pattern. A search that runs too long
+     * is started again with new random numbers, since the large boards
+     * now and then take a wrong turn early that is slow to back out of.
+     *
+     * @return a solved board is returned
+     */
+    public SudokuBoard generateSolution()
+    {
+        SudokuBoard empty = new SudokuBoard(size);
+        long limit = fillNodesPerCell * geometry.getCellCount();
+
+        while (true)
+        {
+            BacktrackingSolver solver = new BacktrackingSolver(empty);
+            solver.setRandom(random);
+            solver.setNodeLimit(limit);
+
+            if (solver.solve())
+            {
+                return solver.getSolution();
+            }
+        }
+    }
+
+
+    /**
+     * Method to make a random order of the numbers 0 to count - 1.
+     *
+     * @param count
+     *              the number of numbers
+     *
+     * @return the numbers in a random order are returned
+     */
+    private int[] shuffled(int count)
+    {
+        int[] values = new int[count];
+
+        for (int i = 0; i < count; i++)
+        {
+            values[i] = i;
+        }
+
+        // Fisher-Yates shuffle
+        for (int i = count - 1; i > 0; i--)
+        {
+            int j = random.nextInt(i + 1);
+            int temp = values[i];
+            values[i] = values[j];
+            values[j] = temp;
+        }
+        return values;
+    }
+}
+
+//end of PuzzleGenerator class
@@ -0,0 +1,939 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Program: PuzzleReader.java
+ *
+ * This class is used to read many puzzles from a single file, one at a
+ * time, so a whole file never has to be held in memory. Two formats are
+ * supported and can be mixed in the same file. The first is the format
+ * used by our library files, a line with the board size followed by one
+ * line per row with the values separated by spaces. The second puts a
+ * whole puzzle on one line with one character per location, where '.'
+ * or '0' is an empty location, '1' to '9' are the values 1 to 9, and
+ * 'A' to 'P' are the values 10 to 25. Blank lines are skipped.
+ *
+ * The file is read in large blocks of bytes from a channel, and each line
+ * is parsed straight from the bytes with a table lookup per symbol, so no
+ * Strings, tokens or boxed numbers are made along the way. The puzzles can
+ * be read as SudokuBoards, or as PackedBoards, which skips setting up the
+ * masks of a SudokuBoard. They can also be walked with an Iterator or a
+ * Stream.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class PuzzleReader implements Closeable, Iterable<SudokuBoard>
+{
+    // fields for the PuzzleReader class...
+    private ReadableByteChannel channel;
+    private ByteBuffer block;
+    private byte[] bytes;
+    private int position;
+    private int limit;
+    private boolean endOfFile;
+    private int lineNumber;
+
+    // the line being parsed, without leading and trailing spaces
+    private byte[] line;
+    private int lineLength;
+
+    // values of the last puzzle parsed, by cell, and its size
+    private int[] cells;
+    private int boardSize;
+
+    // possible board sizes, used to prevent magic numbers
+    private static final int minBoard = 4;
+    private static final int nineBoard = 9;
+    private static final int sixBoard = 16;
+    private static final int maxBoard = 25;
+
+    // symbols used in the single line format
+    private static final char emptySymbol = '.';
+    private static final int firstLetterValue = 10;
+
+    // value of each byte in the single line format, -1 if it is not a
+    // puzzle symbol
+    private static final int[] symbolValues = new int[256];
+
+    // fields to get rid of the magic number problem
+    private static final int blockBytes = 1 << 16;
+    private static final int initialLineBytes = 1024;
+    private static final int radix = 10;
+
+    static
+    {
+        Arrays.fill(symbolValues, -1);
+
+        for (int symbol = 0; symbol < symbolValues.length; symbol++)
+        {
+            try
+            {
+                symbolValues[symbol] = toValue((char) symbol);
+            }
+            catch (IllegalArgumentException e)
+            {
+                // not a puzzle symbol
+            }
+        }
+    }
+
+
+    /**
+     * Constructor for the PuzzleReader class. The constructor opens
+     * the file the puzzles are read from.
+     *
+     * @param fileName
+     *                 the name of the file that contains the puzzles.
+     *
+     * @throws IOException
+     *                     if the file could not be opened
+     */
+    public PuzzleReader(String fileName) throws IOException
+    {
+        this(FileChannel.open(Paths.get(fileName), StandardOpenOption.READ));
+    }
+
+
+    /**
+     * Constructor for the PuzzleReader class. The puzzles are read
+     * from the stream that is passed in.
+     *
+     * @param in
+     *           the stream the puzzles are read from
+     */
+    public PuzzleReader(InputStream in)
+    {
+        this(Channels.newChannel(in));
+    }
+
+
+    /**
+     * Constructor for the PuzzleReader class. The puzzles are read
+     * from the channel that is passed in.
+     *
+     * @param channel
+     *                the channel the puzzles are read from
+     */
+    public PuzzleReader(ReadableByteChannel channel)
+    {
+        this.channel = channel;
+        bytes = new byte[blockBytes];
+        block = ByteBuffer.wrap(bytes);
+        position = 0;
+        limit = 0;
+        endOfFile = false;
+        lineNumber = 0;
+        line = new byte[initialLineBytes];
+        cells = new int[maxBoard * maxBoard];
+    }
+
+
+    /**
+     * Method to read the next puzzle. A malformed puzzle throws an
+     * IllegalArgumentException, and reading can continue with the
+     * puzzle after it.
+     *
+     * @return the next puzzle is returned, or null if there are no
+     *         more puzzles in the file.
+     *
+     * @throws IOException
+     *                     if the file could not be read
+     */
+    public SudokuBoard next() throws IOException
+    {
+        if (!readPuzzle())
+        {
+            return null;
+        }
+
+        SudokuBoard board = new SudokuBoard(boardSize);
+
+        for (int cell = 0; cell < boardSize * boardSize; cell++)
+        {
+            if (cells[cell] != 0)
+            {
+                board.setValue(cell / boardSize, cell % boardSize,
+                        cells[cell]);
+            }
+        }
+        return board;
+    }
+
+
+    /**
+     * Method to read the next puzzle as a PackedBoard. A malformed puzzle
+     * throws an IllegalArgumentException, and reading can continue with
+     * the puzzle after it.
+     *
+     * @return the next puzzle is returned, or null if there are no
+     *         more puzzles in the file.
+     *
+     * @throws IOException
+     *                     if the file could not be read
+     */
+    public PackedBoard nextPacked() throws IOException
+    {
+        if (!readPuzzle())
+        {
+            return null;
+        }
+
+        int bitsPerCell = PackedBoard.getBitsPerCell(boardSize);
+        int cellsPerWord = Long.SIZE / bitsPerCell;
+        long[] words = new long[PackedBoard.getWordCount(boardSize)];
+
+        for (int cell = 0; cell < boardSize * boardSize; cell++)
+        {
+            words[cell / cellsPerWord] |= (long) cells[cell]
+                    << (cell % cellsPerWord * bitsPerCell);
+        }
+        return new PackedBoard(boardSize, words);
+    }
+
+
+    /**
+     * Method to read the values of the next puzzle into an array, by
+     * cell number (row * size + col). Nothing is made for each puzzle,
+     * so this is the fastest way to walk a large file when the caller
+     * has its own use for the values. A malformed puzzle throws an
+     * IllegalArgumentException, and reading can continue with the
+     * puzzle after it.
+     *
+     * @param values
+     *               the array the values are copied into, which must
+     *               hold at least size * size values
+     *
+     * @return the size of the board is returned, or 0 if there are no
+     *         more puzzles in the file.
+     *
+     * @throws IOException
+     *                     if the file could not be read
+     */
+    public int nextValues(int[] values) throws IOException
+    {
+        if (!readPuzzle())
+        {
+            return 0;
+        }
+        System.arraycopy(cells, 0, values, 0, boardSize * boardSize);
+        return boardSize;
+    }
+
+
+    /**
+     * Method to read the next puzzle into cells and boardSize.
+     *
+     * @return true or false is returned depending on if there was
+     *         another puzzle in the file
+     *
+     * @throws IOException
+     *                     if the file could not be read
+     */
+    private boolean readPuzzle() throws IOException
+    {
+        if (!nextLine())
+        {
+            return false;
+        }
+
+        // a short number on its own is the size of the board
+        if (lineLength <= 2 && isNumber())
+        {
+            readRows(parseNumber());
+        }
+        else
+        {
+            parseSymbols();
+        }
+        return true;
+    }
+
+
+    /**
+     * Method to read the rows of a puzzle written in the size header
+     * format, after the size itself has been read. Every row line of the
+     * board is read even after an error is found, so a malformed board
+     * gives one error and the next read starts at the puzzle after it.
+     *
+     * @param size
+     *             the size read from the header line
+     *
+     * @throws IOException
+     *                     if the file could not be read
+     */
+    private void readRows(int size) throws IOException
+    {
+        IllegalArgumentException error = null;
+
+        try
+        {
+            checkSize(size);
+        }
+        catch (IllegalArgumentException e)
+        {
+            // with no sensible number of rows there is nothing to skip
+            if (size > maxBoard)
+            {
+                throw e;
+            }
+            error = e;
+        }
+        boardSize = size;
+
+        for (int row = 0; row < size; row++)
+        {
+            if (!nextLine())
+            {
+                throw new IllegalArgumentException("Line " + lineNumber
+                        + ": the file ended in the middle of a board");
+            }
+            if (error != null)
+            {
+                continue;
+            }
+
+            try
+            {
+                parseRow(row, size);
+            }
+            catch (IllegalArgumentException e)
+            {
+                error = e;
+            }
+        }
+
+        if (error != null)
+        {
+            throw error;
+        }
+    }
+
+
+    /**
+     * Method to parse the current line as a row of a puzzle written in
+     * the size header format.
+     *
+     * @param row
+     *            the index of the row
+     * @param size
+     *             the size of the board
+     */
+    private void parseRow(int row, int size)
+    {
+        int count = 0;
+        int i = 0;
+
+        while (i < lineLength)
+        {
+            byte b = line[i];
+
+            if (b == ' ' || b == '\t')
+            {
+                i++;
+                continue;
+            }
+
+            int value = 0;
+            int start = i;
+
+            while (i < lineLength && line[i] >= '0' && line[i] <= '9')
+            {
+                value = value * radix + (line[i] - '0');
+                i++;
+            }
+            if (i == start || (i < lineLength && line[i] != ' '
+                    && line[i] != '\t') || i - start > 2)
+            {
+                throw new IllegalArgumentException("Line " + lineNumber
+                        + ": '" + token(start) + "' is not a value");
+            }
+            if (count < size)
+            {
+                cells[row * size + count] = checkValue(value, size);
+            }
+            count++;
+        }
+
+        if (count != size)
+        {
+            throw new IllegalArgumentException("Line " + lineNumber
+                    + ": expected " + size + " values but found "
+                    + count);
+        }
+    }
+
+
+    /**
+     * Method to parse the current line in the single line format. The
+     * size of the board comes from the length of the line.
+     *
+     */
+    private void parseSymbols()
+    {
+        int size = (int) Math.sqrt((double) lineLength);
+
+        if (size * size != lineLength)
+        {
+            throw new IllegalArgumentException("Line " + lineNumber
+                    + ": a puzzle line of length " + lineLength
+                    + " is not a square board");
+        }
+        checkSize(size);
+
+        for (int cell = 0; cell < lineLength; cell++)
+        {
+            int value = symbolValues[line[cell] & 0xFF];
+
+            if (value < 0 || value > size)
+            {
+                throw new IllegalArgumentException("Line " + lineNumber
+                        + ": '" + (char) (line[cell] & 0xFF)
+                        + "' does not fit on a board of size " + size);
+            }
+            cells[cell] = value;
+        }
+        boardSize = size;
+    }
+
+
+    /**
+     * Method to read the next line that is not blank into line, without
+     * its leading and trailing spaces.
+     *
+     * @return true or false is returned depending on if there was
+     *         another line that is not blank
+     *
+     * @throws IOException
+     *                     if the file could not be read
+     */
+    private boolean nextLine() throws IOException
+    {
+        while (true)
+        {
+            lineLength = 0;
+
+            boolean found = false;
+
+            while (!found)
+            {
+                if (position == limit && !fill())
+                {
+                    if (lineLength == 0)
+                    {
+                        return false;
+                    }
+                    break;
+                }
+
+                // copy up to the end of the line or of the block
+                int end = position;
+
+                while (end < limit && bytes[end] != '\n')
+                {
+                    end++;
+                }
+                append(position, end - position);
+                found = end < limit;
+                position = found ? end + 1 : end;
+            }
+            lineNumber++;
+
+            if (trim())
+            {
+                return true;
+            }
+        }
+    }
+
+
+    /**
+     * Method to read the next block of the file.
+     *
+     * @return true or false is returned depending on if any bytes were
+     *         read
+     *
+     * @throws IOException
+     *                     if the file could not be read
+     */
+    private boolean fill() throws IOException
+    {
+        if (endOfFile)
+        {
+            return false;
+        }
+        block.clear();
+
+        int read = channel.read(block);
+
+        while (read == 0)
+        {
+            read = channel.read(block);
+        }
+        if (read < 0)
+        {
+            endOfFile = true;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+
+    /**
+     * Method to add bytes of the block to the end of line, growing it if
+     * it is full.
+     *
+     * @param start
+     *              where the bytes start in the block
+     * @param count
+     *              the number of bytes
+     */
+    private void append(int start, int count)
+    {
+        if (lineLength + count > line.length)
+        {
+            line = Arrays.copyOf(line, Math.max(line.length * 2,
+                    lineLength + count));
+        }
+        System.arraycopy(bytes, start, line, lineLength, count);
+        lineLength += count;
+    }
+
+
+    /**
+     * Method to remove the leading and trailing spaces of line.
+     *
+     * @return true or false is returned depending on if anything is left
+     */
+    private boolean trim()
+    {
+        int start = 0;
+
+        while (start < lineLength && line[start] <= ' ')
+        {
+            start++;
+        }
+        while (lineLength > start && line[lineLength - 1] <= ' ')
+        {
+            lineLength--;
+        }
+        if (start > 0)
+        {
+            System.arraycopy(line, start, line, 0, lineLength - start);
+            lineLength -= start;
+        }
+        return lineLength > 0;
+    }
+
+
+    /**
+     * Method to check if line only contains digits.
+     *
+     * @return true or false depending on if the line is a number
+     */
+    private boolean isNumber()
+    {
+        for (int i = 0; i < lineLength; i++)
+        {
+            if (line[i] < '0' || line[i] > '9')
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Method to parse line as a number, once isNumber() has checked it.
+     *
+     * @return the number is returned
+     */
+    private int parseNumber()
+    {
+        int value = 0;
+
+        for (int i = 0; i < lineLength; i++)
+        {
+            value = value * radix + (line[i] - '0');
+        }
+        return value;
+    }
+
+
+    /**
+     * Method to return the token of line starting at an index, for an
+     * error message.
+     *
+     * @param start
+     *              where the token starts
+     *
+     * @return the token is returned
+     */
+    private String token(int start)
+    {
+        int end = start;
+
+        while (end < lineLength && line[end] != ' ' && line[end] != '\t')
+        {
+            end++;
+        }
+        return new String(line, start, end - start);
+    }
+
+
+    /**
+     * Method to walk the rest of the puzzles in the file. A malformed
+     * puzzle makes next() of the iterator throw an
+     * IllegalArgumentException, and the iterator can still be used
+     * after it. A read error is thrown as an UncheckedIOException.
+     *
+     * @return an iterator over the rest of the puzzles is returned
+     */
+    public Iterator<SudokuBoard> iterator()
+    {
+        return new Puzzles<SudokuBoard>()
+        {
+            protected SudokuBoard read() throws IOException
+            {
+                return PuzzleReader.this.next();
+            }
+        };
+    }
+
+
+    /**
+     * Method to walk the rest of the puzzles in the file as PackedBoards,
+     * the same way as iterator().
+     *
+     * @return an iterator over the rest of the puzzles is returned
+     */
+    public Iterator<PackedBoard> packedIterator()
+    {
+        return new Puzzles<PackedBoard>()
+        {
+            protected PackedBoard read() throws IOException
+            {
+                return nextPacked();
+            }
+        };
+    }
+
+
+    /**
+     * Method to return the rest of the puzzles in the file as a Stream.
+     * Closing the stream closes the file.
+     *
+     * @return a stream of the rest of the puzzles is returned
+     */
+    public Stream<SudokuBoard> stream()
+    {
+        return toStream(iterator());
+    }
+
+
+    /**
+     * Method to return the rest of the puzzles in the file as a Stream of
+     * PackedBoards. Closing the stream closes the file.
+     *
+     * @return a stream of the rest of the puzzles is returned
+     */
+    public Stream<PackedBoard> packedStream()
+    {
+        return toStream(packedIterator());
+    }
+
+
+    /**
+     * Method to turn an iterator over the puzzles into a Stream that
+     * closes the file when it is closed.
+     *
+     * @param puzzles
+     *                the iterator over the puzzles
+     *
+     * @return the stream is returned
+     */
+    private <T> Stream<T> toStream(Iterator<T> puzzles)
+    {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                puzzles, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(new Runnable()
+                {
+                    public void run()
+                    {
+                        try
+                        {
+                            close();
+                        }
+                        catch (IOException e)
+                        {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
+    }
+
+
+    /**
+     * Method to turn a puzzle written in the single line format into
+     * a SudokuBoard. The size of the board comes from the length of
+     * the line.
+     *
+     * @param line
+     *             the puzzle, one character per location
+     *
+     * @return the puzzle is returned
+     */
+    public static SudokuBoard parseLine(String line)
+    {
+        int boardSize = (int) Math.sqrt((double) line.length());
+
+        if (boardSize * boardSize != line.length())
+        {
+            throw new IllegalArgumentException("A puzzle line of length "
+                    + line.length() + " is not a square board");
+        }
+        checkSize(boardSize);
+
+        SudokuBoard board = new SudokuBoard(boardSize);
+
+        for (int i = 0; i < line.length(); i++)
+        {
+            int value = checkValue(toValue(line.charAt(i)), boardSize);
+
+            board.setValue(i / boardSize, i % boardSize, value);
+        }
+        return board;
+    }
+
+
+    /**
+     * Method to write a board in the single line format.
+     *
+     * @param board
+     *              the board that needs to be written
+     *
+     * @return the board as a single line is returned
+     */
+    public static String toLine(SudokuBoard board)
+    {
+        int boardSize = board.getBoardSize();
+        StringBuilder line = new StringBuilder(boardSize * boardSize);
+
+        for (int row = 0; row < boardSize; row++)
+        {
+            for (int col = 0; col < boardSize; col++)
+            {
+                line.append(toSymbol(board.getValue(row, col)));
+            }
+        }
+        return line.toString();
+    }
+
+
+    /**
+     * Method to get the value of a symbol in the single line format.
+     *
+     * @param symbol
+     *               the symbol that needs to be converted
+     *
+     * @return the value of the symbol is returned, 0 for an empty location
+     */
+    public static int toValue(char symbol)
+    {
+        if (symbol == emptySymbol || symbol == '0')
+        {
+            return 0;
+        }
+        if (symbol >= '1' && symbol <= '9')
+        {
+            return symbol - '0';
+        }
+        if (symbol >= 'A' && symbol <= 'Z')
+        {
+            return symbol - 'A' + firstLetterValue;
+        }
+        if (symbol >= 'a' && symbol <= 'z')
+        {
+            return symbol - 'a' + firstLetterValue;
+        }
+        throw new IllegalArgumentException("'" + symbol
+                + "' is not a puzzle symbol");
+    }
+
+
+    /**
+     * Method to get the symbol of a value in the single line format.
+     *
+     * @param value
+     *              the value that needs to be converted
+     *
+     * @return the symbol of the value is returned, '.' for an empty
+     *         location
+     */
+    public static char toSymbol(int value)
+    {
+        if (value == 0)
+        {
+            return emptySymbol;
+        }
+        if (value < firstLetterValue)
+        {
+            return (char) ('0' + value);
+        }
+        return (char) ('A' + value - firstLetterValue);
+    }
+
+
+    /**
+     * Method to close the file the puzzles are read from.
+     *
+     * @throws IOException
+     *                     if the file could not be closed
+     */
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+
+
+    /**
+     * Method to check that a board size is one of the sizes the game
+     * supports, which are 4, 9, 16, and 25.
+     *
+     * @param boardSize
+     *                  the size that needs to be checked
+     */
+    private static void checkSize(int boardSize)
+    {
+        if (boardSize != minBoard && boardSize != nineBoard
+                && boardSize != sixBoard && boardSize != maxBoard)
+        {
+            throw new IllegalArgumentException("Board size " + boardSize
+                    + " is not supported");
+        }
+    }
+
+
+    /**
+     * Method to check that a value fits on a board of the given size.
+     *
+     * @param value
+     *              the value that needs to be checked
+     * @param boardSize
+     *                  the size of the board
+     *
+     * @return the value is returned if it fits on the board
+     */
+    private static int checkValue(int value, int boardSize)
+    {
+        if (value < 0 || value > boardSize)
+        {
+            throw new IllegalArgumentException("Value " + value
+                    + " does not fit on a board of size " + boardSize);
+        }
+        return value;
+    }
+
+
+    /**
+     * An iterator over the rest of the puzzles in the file. The next
+     * puzzle is read ahead by hasNext(), along with the error of a
+     * malformed puzzle, which next() then throws.
+     *
+     */
+    private abstract class Puzzles<T> implements Iterator<T>
+    {
+        // fields for the Puzzles class...
+        private T puzzle;
+        private IllegalArgumentException error;
+        private boolean done;
+
+
+        /**
+         * Method to read the next puzzle from the file.
+         *
+         * @return the next puzzle is returned, or null at the end of the
+         *         file
+         *
+         * @throws IOException
+         *                     if the file could not be read
+         */
+        protected abstract T read() throws IOException;
+
+
+        /**
+         * Method to check if there is another puzzle.
+         *
+         * @return true or false is returned depending on if there is
+         *         another puzzle
+         */
+        public boolean hasNext()
+        {
+            if (puzzle == null && error == null && !done)
+            {
+                try
+                {
+                    puzzle = read();
+                    done = puzzle == null;
+                }
+                catch (IllegalArgumentException e)
+                {
+                    error = e;
+                }
+                catch (IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return !done;
+        }
+
+
+        /**
+         * Method to return the next puzzle.
+         *
+         * @return the next puzzle is returned
+         */
+        public T next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            if (error != null)
+            {
+                IllegalArgumentException thrown = error;
+
+                error = null;
+                throw thrown;
+            }
+
+            T next = puzzle;
+
+            puzzle = null;
+            return next;
+        }
+    }
+}
+
+//end of PuzzleReader class
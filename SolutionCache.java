@@ -0,0 +1,642 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Program: SolutionCache.java
+ *
+ * This class is used to remember the solutions of puzzles that were
+ * already solved, so a puzzle that comes up again is answered without
+ * running a search. A puzzle is first looked up as it is given, which
+ * only needs the Zobrist hash the board already keeps, so repeats are
+ * answered in microseconds.
+ *
+ * A puzzle that was seen relabeled, transposed, or with lines swapped is
+ * found as well. The cache keeps the shape of each puzzle, a hash from
+ * CanonicalForm that is the same for every board that is the same puzzle
+ * and takes no search to find. Only when a new puzzle has the shape of a
+ * puzzle in the cache are the canonical forms of the two found and
+ * compared, and if they are the same the solution is mapped over. New
+ * puzzles, which rarely share a shape with another, never pay for a
+ * canonical form.
+ *
+ * Puzzles and solutions are kept as PackedBoards. The cache holds a fixed
+ * number of entries, spread over segments that each have their own lock,
+ * so threads looking up different puzzles rarely wait for each other.
+ * When a segment is full one of its entries is evicted, picked by the
+ * policy of the cache. The hits, misses and evictions are counted.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class SolutionCache
+{
+    /**
+     * The policies the cache can use to pick the entry that is evicted.
+     * The policy can be picked at runtime with the sudoku.cache system
+     * property, for example -Dsudoku.cache=lfu.
+     *
+     */
+    public enum Policy
+    {
+        // nothing is cached
+        OFF,
+
+        // the entry used least recently is evicted
+        LRU,
+
+        // the entry used least often out of the few used least recently
+        // is evicted
+        LFU
+    }
+
+    // fields for the SolutionCache class...
+    private Policy policy;
+    private long capacity;
+    private Segment[] segments;
+    private int segmentMask;
+
+    // counters, which every thread adds to
+    private LongAdder hits;
+    private LongAdder canonicalHits;
+    private LongAdder misses;
+    private LongAdder evictions;
+
+    // entries the LFU policy looks at to pick the one it evicts
+    private static final int lfuSample = 8;
+
+    // segments for each core, so threads rarely share a lock
+    private static final int segmentsPerCore = 4;
+
+    // fields to get rid of the magic number problem
+    private static final int initialSegmentSize = 16;
+    private static final float loadFactor = 0.75f;
+    private static final int segmentShift = 40;
+
+
+    /**
+     * Constructor for the SolutionCache class.
+     *
+     * @param policy
+     *               the policy the cache uses to evict entries
+     * @param capacity
+     *                 the most puzzles the cache holds, at least 1 unless
+     *                 the policy is OFF
+     *
+     * @throws IllegalArgumentException
+     *                                  if the cache has no room for a
+     *                                  puzzle
+     */
+    public SolutionCache(Policy policy, long capacity)
+    {
+        this.policy = policy;
+        this.capacity = capacity;
+
+        if (capacity < 1 && policy != Policy.OFF)
+        {
+            throw new IllegalArgumentException("A cache needs room for at "
+                    + "least one puzzle, not " + capacity);
+        }
+
+        // never more segments than entries, so none is left empty
+        int count = (int) Math.min(Integer.highestOneBit(Math.max(1,
+                Runtime.getRuntime().availableProcessors()
+                * segmentsPerCore)), Long.highestOneBit(Math.max(1,
+                capacity)));
+
+        segments = new Segment[count];
+        segmentMask = count - 1;
+
+        // the entries left over are spread over the first segments, so
+        // the segments hold exactly the capacity between them
+        for (int i = 0; i < count; i++)
+        {
+            long entries = capacity / count + (i < capacity % count ? 1 : 0);
+
+            segments[i] = new Segment((int) Math.max(1,
+                    Math.min(Integer.MAX_VALUE, entries)));
+        }
+
+        hits = new LongAdder();
+        canonicalHits = new LongAdder();
+        misses = new LongAdder();
+        evictions = new LongAdder();
+    }
+
+
+    /**
+     * Method to look up the solution of a puzzle. If it is not found,
+     * the solution can be stored with the lookup once it is worked out.
+     *
+     * @param puzzle
+     *               the puzzle, which is not changed
+     *
+     * @return the lookup of the puzzle is returned
+     */
+    public Lookup lookup(SudokuBoard puzzle)
+    {
+        Lookup lookup = new Lookup(puzzle);
+
+        if (policy == Policy.OFF)
+        {
+            misses.increment();
+            return lookup;
+        }
+
+        Entry entry = segmentFor(lookup.key).get(lookup.key);
+
+        if (entry != null)
+        {
+            hits.increment();
+            lookup.solution = entry.solution.unpack();
+            return lookup;
+        }
+
+        lookup.shape = CanonicalForm.getShape(puzzle);
+
+        PackedBoard other = segmentFor(lookup.shape).getPuzzle(lookup.shape);
+        entry = other == null ? null : segmentFor(other).get(other);
+
+        if (entry != null)
+        {
+            CanonicalForm form = puzzle.canonicalize();
+            CanonicalForm otherForm = entry.getForm(other);
+
+            if (form.getBoard().equals(otherForm.getBoard()))
+            {
+                canonicalHits.increment();
+                lookup.solution = form.toOriginal(
+                        otherForm.toCanonical(entry.solution.unpack()));
+
+                // the next time this puzzle is given it is found right away
+                segmentFor(lookup.key).put(lookup.key,
+                        new PackedBoard(lookup.solution));
+                return lookup;
+            }
+        }
+
+        misses.increment();
+        return lookup;
+    }
+
+
+    /**
+     * Method to look up the solution of a puzzle.
+     *
+     * @param puzzle
+     *               the puzzle, which is not changed
+     *
+     * @return the solution of the puzzle is returned, or null if it is
+     *         not in the cache
+     */
+    public SudokuBoard get(SudokuBoard puzzle)
+    {
+        return lookup(puzzle).getSolution();
+    }
+
+
+    /**
+     * Method to remember the solution of a puzzle.
+     *
+     * @param puzzle
+     *               the puzzle
+     * @param solution
+     *                 the solution of the puzzle
+     */
+    public void put(SudokuBoard puzzle, SudokuBoard solution)
+    {
+        new Lookup(puzzle).store(solution);
+    }
+
+
+    /**
+     * Method to pick the segment of a puzzle from the high bits of its
+     * Zobrist hash.
+     *
+     * @param key
+     *            the puzzle
+     *
+     * @return the segment of the puzzle is returned
+     */
+    private Segment segmentFor(PackedBoard key)
+    {
+        return segmentFor(key.getZobristHash());
+    }
+
+
+    /**
+     * Method to pick the segment of a hash from its high bits.
+     *
+     * @param hash
+     *             the Zobrist hash or the shape of a puzzle
+     *
+     * @return the segment of the hash is returned
+     */
+    private Segment segmentFor(long hash)
+    {
+        return segments[(int) (hash >>> segmentShift) & segmentMask];
+    }
+
+
+    /**
+     * Method to return the policy of the cache.
+     *
+     * @return the policy of the cache is returned.
+     */
+    public Policy getPolicy()
+    {
+        return policy;
+    }
+
+
+    /**
+     * Method to return the most puzzles the cache holds.
+     *
+     * @return the capacity of the cache is returned.
+     */
+    public long getCapacity()
+    {
+        return capacity;
+    }
+
+
+    /**
+     * Method to return the number of puzzles in the cache.
+     *
+     * @return the number of puzzles is returned.
+     */
+    public long getSize()
+    {
+        long size = 0;
+
+        for (Segment segment : segments)
+        {
+            size += segment.size();
+        }
+        return size;
+    }
+
+
+    /**
+     * Method to return the number of lookups that found the puzzle as it
+     * was given.
+     *
+     * @return the number of hits is returned.
+     */
+    public long getHits()
+    {
+        return hits.sum();
+    }
+
+
+    /**
+     * Method to return the number of lookups that only found the puzzle
+     * by its canonical form.
+     *
+     * @return the number of canonical hits is returned.
+     */
+    public long getCanonicalHits()
+    {
+        return canonicalHits.sum();
+    }
+
+
+    /**
+     * Method to return the number of lookups that did not find the
+     * puzzle.
+     *
+     * @return the number of misses is returned.
+     */
+    public long getMisses()
+    {
+        return misses.sum();
+    }
+
+
+    /**
+     * Method to return the number of puzzles that were evicted.
+     *
+     * @return the number of evictions is returned.
+     */
+    public long getEvictions()
+    {
+        return evictions.sum();
+    }
+
+
+    /**
+     * Method to return the fraction of lookups that found the puzzle in
+     * either way.
+     *
+     * @return the hit rate between 0 and 1 is returned.
+     */
+    public double getHitRate()
+    {
+        long found = getHits() + getCanonicalHits();
+        long lookups = found + getMisses();
+
+        if (lookups == 0)
+        {
+            return 0;
+        }
+        return (double) found / lookups;
+    }
+
+
+    /**
+     * Method to return a description of the cache and its counters.
+     *
+     * @return a description of the cache is returned.
+     */
+    public String toString()
+    {
+        return "cache " + policy + ": size=" + getSize() + "/" + capacity
+                + ", hits=" + getHits()
+                + ", canonicalHits=" + getCanonicalHits()
+                + ", misses=" + getMisses()
+                + ", evictions=" + getEvictions();
+    }
+
+
+    /**
+     * The result of looking up a puzzle. It holds the solution if one was
+     * found, and otherwise what is needed to store the solution once it
+     * is worked out.
+     *
+     */
+    public class Lookup
+    {
+        // fields for the Lookup class...
+        private PackedBoard key;
+        private SudokuBoard solution;
+
+        // shape of the puzzle, found if the puzzle was not found as it
+        // was given, or null
+        private Long shape;
+
+
+        /**
+         * Constructor for the Lookup class.
+         *
+         * @param puzzle
+         *               the puzzle that is looked up
+         */
+        private Lookup(SudokuBoard puzzle)
+        {
+            key = new PackedBoard(puzzle);
+        }
+
+
+        /**
+         * Method to check if the solution was found.
+         *
+         * @return true or false is returned depending on if the solution
+         *         was found
+         */
+        public boolean isHit()
+        {
+            return solution != null;
+        }
+
+
+        /**
+         * Method to return the solution that was found.
+         *
+         * @return the solution is returned, or null if it was not found
+         */
+        public SudokuBoard getSolution()
+        {
+            return solution;
+        }
+
+
+        /**
+         * Method to store the solution of the puzzle, and remember the
+         * puzzle as the one to compare against for its shape.
+         *
+         * @param solved
+         *               the solution of the puzzle
+         */
+        public void store(SudokuBoard solved)
+        {
+            if (policy == Policy.OFF)
+            {
+                return;
+            }
+            if (shape == null)
+            {
+                shape = CanonicalForm.getShape(key.unpack());
+            }
+            solution = solved;
+            segmentFor(key).put(key, new PackedBoard(solved));
+            segmentFor(shape).putPuzzle(shape, key);
+        }
+    }
+
+
+    /**
+     * The part of the cache guarded by one lock. It holds the puzzles
+     * whose Zobrist hash picks the segment, from least to most recently
+     * used, and the last puzzle stored for each shape that picks the
+     * segment.
+     *
+     */
+    private class Segment
+    {
+        // fields for the Segment class...
+        private int limit;
+        private LinkedHashMap<PackedBoard, Entry> entries;
+        private LinkedHashMap<Long, PackedBoard> shapes;
+
+
+        /**
+         * Constructor for the Segment class.
+         *
+         * @param limit
+         *              the most puzzles and shapes the segment holds
+         */
+        public Segment(final int limit)
+        {
+            this.limit = limit;
+            entries = new LinkedHashMap<PackedBoard, Entry>(
+                    initialSegmentSize, loadFactor, true);
+            shapes = new LinkedHashMap<Long, PackedBoard>(
+                    initialSegmentSize, loadFactor, true)
+            {
+                protected boolean removeEldestEntry(
+                        Map.Entry<Long, PackedBoard> eldest)
+                {
+                    return size() > limit;
+                }
+            };
+        }
+
+
+        /**
+         * Method to look up a puzzle, which makes it the most recently
+         * used.
+         *
+         * @param key
+         *            the puzzle that is looked up
+         *
+         * @return the entry of the puzzle is returned, or null if it is
+         *         not found
+         */
+        public synchronized Entry get(PackedBoard key)
+        {
+            Entry entry = entries.get(key);
+
+            if (entry != null)
+            {
+                entry.uses++;
+            }
+            return entry;
+        }
+
+
+        /**
+         * Method to add a puzzle and its solution, evicting a puzzle if
+         * the segment is full.
+         *
+         * @param key
+         *            the puzzle
+         * @param solution
+         *                 the solution of the puzzle
+         */
+        public synchronized void put(PackedBoard key, PackedBoard solution)
+        {
+            if (entries.containsKey(key))
+            {
+                return;
+            }
+            if (entries.size() >= limit)
+            {
+                evict();
+            }
+            entries.put(key, new Entry(solution));
+        }
+
+
+        /**
+         * Method to look up the last puzzle stored with a shape.
+         *
+         * @param shape
+         *              the shape that is looked up
+         *
+         * @return the puzzle is returned, or null if there is none
+         */
+        public synchronized PackedBoard getPuzzle(long shape)
+        {
+            return shapes.get(shape);
+        }
+
+
+        /**
+         * Method to remember a puzzle as the last one stored with a shape.
+         *
+         * @param shape
+         *              the shape of the puzzle
+         * @param key
+         *            the puzzle
+         */
+        public synchronized void putPuzzle(long shape, PackedBoard key)
+        {
+            shapes.put(shape, key);
+        }
+
+
+        /**
+         * Method to evict one puzzle. LRU evicts the least recently used
+         * puzzle. LFU evicts the least used puzzle out of the few least
+         * recently used ones, so a puzzle that is used often survives a
+         * burst of puzzles that are only seen once.
+         *
+         */
+        private void evict()
+        {
+            Iterator<Map.Entry<PackedBoard, Entry>> it =
+                    entries.entrySet().iterator();
+            PackedBoard victim = null;
+            int fewest = Integer.MAX_VALUE;
+
+            for (int i = 0; i < lfuSample && it.hasNext(); i++)
+            {
+                Map.Entry<PackedBoard, Entry> next = it.next();
+
+                if (next.getValue().uses < fewest)
+                {
+                    victim = next.getKey();
+                    fewest = next.getValue().uses;
+                }
+                if (policy == Policy.LRU)
+                {
+                    break;
+                }
+            }
+            entries.remove(victim);
+            evictions.increment();
+        }
+
+
+        /**
+         * Method to return the number of puzzles in the segment.
+         *
+         * @return the number of puzzles is returned.
+         */
+        public synchronized int size()
+        {
+            return entries.size();
+        }
+    }
+
+
+    /**
+     * A solution in the cache, the number of times it was used, and the
+     * canonical form of its puzzle once it has been needed.
+     *
+     */
+    private static class Entry
+    {
+        // fields for the Entry class...
+        private PackedBoard solution;
+        private int uses;
+        private volatile CanonicalForm form;
+
+
+        /**
+         * Constructor for the Entry class.
+         *
+         * @param solution
+         *                 the solution of the puzzle
+         */
+        public Entry(PackedBoard solution)
+        {
+            this.solution = solution;
+        }
+
+
+        /**
+         * Method to return the canonical form of the puzzle, which is
+         * found the first time it is needed. Two threads may both find
+         * it, which does no harm.
+         *
+         * @param key
+         *            the puzzle of the entry
+         *
+         * @return the canonical form of the puzzle is returned
+         */
+        public CanonicalForm getForm(PackedBoard key)
+        {
+            if (form == null)
+            {
+                form = key.unpack().canonicalize();
+            }
+            return form;
+        }
+    }
+}
+
+//end of SolutionCache class
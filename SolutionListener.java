@@ -0,0 +1,31 @@
+/**
+ * Program: SolutionListener.java
+ *
+ * Interface that is implemented by anything that wants to be passed the
+ * solutions of a board as they are found, instead of only the first one.
+ * It is used with the findSolutions() method of the Solver interface and
+ * of the AIPlayer class. The listener decides when the search can stop,
+ * so a caller can stream every solution of a board, or stop as soon as it
+ * has seen the ones it needs.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public interface SolutionListener
+{
+    /**
+     * Method that is called for each solution the search finds. The
+     * board passed in belongs to the listener and can be kept.
+     *
+     * @param solution
+     *                 the solved board
+     *
+     * @return true or false is returned depending on if the search
+     *         should keep looking for solutions
+     */
+    public boolean solutionFound(SudokuBoard solution);
+}
+
+//end of SolutionListener interface
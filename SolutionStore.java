@@ -0,0 +1,825 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Program: SolutionStore.java
+ *
+ * This class is used to keep the solutions of puzzles on disk, so they
+ * survive a restart and can be far more than fit in memory. The store is
+ * a directory with one file for each board size, and each file is an open
+ * addressing hash table that is memory mapped. A slot of the table holds
+ * the Zobrist hash of a puzzle, then the packed words of the puzzle and of
+ * its solution, laid out the same way as in a PackedBoard. A lookup uses
+ * the hash the board already keeps, compares the words in the mapped file
+ * with the puzzle in place, and only decodes the solution it returns, so
+ * nothing is read in or decoded when the store is opened, and a warm
+ * restart answers puzzles right away.
+ *
+ * The table is doubled into a new file once it is half full, and the new
+ * file then replaces the old one. Lookups can run at the same time, and
+ * adding a solution waits for them. Only one store may have a directory
+ * open at a time, which is made sure of with an exclusive lock on a lock
+ * file in the directory, held until close() is called. Writes reach the
+ * disk when the operating system writes the mapped pages back, or when
+ * flush() or close() is called.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class SolutionStore
+{
+    // fields for the SolutionStore class...
+    private File directory;
+    private Table[] tables;
+
+    // channel of the lock file and the lock held on it, or null when the
+    // store is closed
+    private FileChannel lockChannel;
+    private FileLock directoryLock;
+
+    // counters, which every thread adds to
+    private LongAdder hits;
+    private LongAdder misses;
+
+    // fields to get rid of the magic number problem
+    private static final int maxBoardSize = 25;
+    private static final String filePrefix = "solutions-";
+    private static final String fileSuffix = ".store";
+    private static final String lockName = "store.lock";
+
+
+    /**
+     * Constructor for the SolutionStore class. The directory is made if
+     * it does not exist, and locked. The files of the store are opened 
+     * the first time a board of their size is looked up.
+     *
+     * @param directory
+     *                  the name of the directory that holds the store
+     *
+     * @throws IOException
+     *                     if the directory could not be made, or another
+     *                     store already has it open
+     */
+    public SolutionStore(String directory) throws IOException
+    {
+        this.directory = new File(directory);
+
+        if (!this.directory.isDirectory() && !this.directory.mkdirs())
+        {
+            throw new IOException("Could not make the directory "
+                    + directory);
+        }
+
+        tables = new Table[maxBoardSize + 1];
+        hits = new LongAdder();
+        misses = new LongAdder();
+        lock();
+    }
+
+
+    /**
+     * Method to take the exclusive lock on the lock file of the directory.
+     *
+     * @throws IOException
+     *                     if the lock file could not be opened, or another
+     *                     store already holds the lock
+     */
+    private void lock() throws IOException
+    {
+        FileChannel channel = FileChannel.open(
+                new File(directory, lockName).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock taken = null;
+
+        try
+        {
+            taken = channel.tryLock();
+        }
+        catch (OverlappingFileLockException e)
+        {
+            // another store in this process holds it
+            taken = null;
+        }
+
+        if (taken == null)
+        {
+            channel.close();
+            throw new IOException("The store " + directory
+                    + " is already in use");
+        }
+        lockChannel = channel;
+        directoryLock = taken;
+    }
+
+
+    /**
+     * Method to look up the solution of a puzzle.
+     *
+     * @param puzzle
+     *               the puzzle, which is not changed
+     *
+     * @return the solution of the puzzle is returned, or null if it is
+     *         not in the store
+     */
+    public SudokuBoard get(SudokuBoard puzzle)
+    {
+        SudokuBoard solution = tableFor(puzzle.getBoardSize()).get(puzzle);
+
+        if (solution == null)
+        {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return solution;
+    }
+
+
+    /**
+     * Method to add the solution of a puzzle. Nothing is changed if the
+     * puzzle is already in the store.
+     *
+     * @param puzzle
+     *               the puzzle
+     * @param solution
+     *                 the solution of the puzzle
+     */
+    public void put(SudokuBoard puzzle, SudokuBoard solution)
+    {
+        try
+        {
+            tableFor(puzzle.getBoardSize()).put(puzzle, solution);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    /**
+     * Method to return the table of a board size, opening its file the
+     * first time it is needed, and taking the lock again if the store was
+     * closed.
+     *
+     * @param size
+     *             the size of the board
+     *
+     * @return the table of the board size is returned
+     *
+     * @throws IllegalArgumentException
+     *                                  if the store can not hold boards
+     *                                  of the size
+     */
+    private synchronized Table tableFor(int size)
+    {
+        if (size < 1 || size > maxBoardSize)
+        {
+            throw new IllegalArgumentException("A store can not hold "
+                    + "boards of size " + size);
+        }
+
+        if (tables[size] == null)
+        {
+            File file = new File(directory, filePrefix + size + fileSuffix);
+
+            try
+            {
+                if (directoryLock == null)
+                {
+                    lock();
+                }
+                tables[size] = new Table(file, size);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return tables[size];
+    }
+
+
+    /**
+     * Method to return the number of puzzles in the files of the store
+     * that are open.
+     *
+     * @return the number of puzzles is returned.
+     */
+    public synchronized long getSize()
+    {
+        long size = 0;
+
+        for (Table table : tables)
+        {
+            if (table != null)
+            {
+                size += table.getCount();
+            }
+        }
+        return size;
+    }
+
+
+    /**
+     * Method to return the number of lookups that found the puzzle.
+     *
+     * @return the number of hits is returned.
+     */
+    public long getHits()
+    {
+        return hits.sum();
+    }
+
+
+    /**
+     * Method to return the number of lookups that did not find the
+     * puzzle.
+     *
+     * @return the number of misses is returned.
+     */
+    public long getMisses()
+    {
+        return misses.sum();
+    }
+
+
+    /**
+     * Method to write every change to the store to the disk.
+     *
+     */
+    public synchronized void flush()
+    {
+        for (Table table : tables)
+        {
+            if (table != null)
+            {
+                table.flush();
+            }
+        }
+    }
+
+
+    /**
+     * Method to write every change to the disk, close the files, and 
+     * let go of the lock on the directory. The store can still be used,
+     * and takes the lock and opens the files again when needed.
+     *
+     */
+    public synchronized void close()
+    {
+        flush();
+        tables = new Table[maxBoardSize + 1];
+
+        if (directoryLock != null)
+        {
+            try
+            {
+                // closing the channel lets go of the lock as well
+                lockChannel.close();
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+            finally
+            {
+                lockChannel = null;
+                directoryLock = null;
+            }
+        }
+    }
+
+
+    /**
+     * Method to return a description of the store and its counters.
+     *
+     * @return a description of the store is returned.
+     */
+    public String toString()
+    {
+        return "store " + directory + ": size=" + getSize()
+                + ", hits=" + getHits() + ", misses=" + getMisses();
+    }
+
+
+    /**
+     * The hash table of one board size, memory mapped from its file. The
+     * file starts with a header, followed by the slots. The slots are
+     * mapped in chunks of up to a gigabyte, since a single mapping can not
+     * be larger than 2 gigabytes.
+     *
+     */
+    private static class Table
+    {
+        // fields for the Table class...
+        private File file;
+        private int size;
+        private int words;
+        private int slotBytes;
+        private long capacity;
+        private long count;
+        private MappedByteBuffer header;
+        private MappedByteBuffer[] chunks;
+        private int slotsPerChunk;
+        private ReadWriteLock lock;
+
+        // where each field of the header is kept
+        private static final int magicOffset = 0;
+        private static final int versionOffset = 8;
+        private static final int sizeOffset = 12;
+        private static final int capacityOffset = 16;
+        private static final int countOffset = 24;
+        private static final int headerBytes = 64;
+
+        // marks a file as a solution store, and its layout
+        private static final long magic = 0x5355444F4B55L;
+        private static final int version = 1;
+
+        // slots of a new table, which is doubled when half full
+        private static final long initialCapacity = 1024;
+
+        // fields to get rid of the magic number problem
+        private static final int bytesPerLong = 8;
+        private static final int chunkBytes = 1 << 30;
+        private static final long mixMultiplier = 0x9E3779B97F4A7C15L;
+
+
+        /**
+         * Constructor for the Table class. The file is opened if it
+         * exists, and made empty otherwise.
+         *
+         * @param file
+         *             the file of the table
+         * @param size
+         *             the size of the boards in the table
+         *
+         * @throws IOException
+         *                     if the file could not be opened or is not a
+         *                     solution store for the board size
+         */
+        public Table(File file, int size) throws IOException
+        {
+            this(file, size, initialCapacity);
+        }
+
+
+        /**
+         * Constructor for the Table class. The file is opened if it
+         * exists, and made with a number of slots otherwise.
+         *
+         * @param file
+         *             the file of the table
+         * @param size
+         *             the size of the boards in the table
+         * @param newCapacity
+         *                    the number of slots if the file is made, a
+         *                    power of two
+         *
+         * @throws IOException
+         *                     if the file could not be opened or is not a
+         *                     solution store for the board size
+         */
+        private Table(File file, int size, long newCapacity)
+                throws IOException
+        {
+            this.file = file;
+            this.size = size;
+            words = PackedBoard.getWordCount(size);
+            slotBytes = bytesPerLong * (1 + 2 * words);
+            slotsPerChunk = chunkBytes / slotBytes;
+            lock = new ReentrantReadWriteLock();
+
+            boolean exists = file.length() >= headerBytes;
+
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+            {
+                if (!exists)
+                {
+                    raf.setLength(headerBytes + newCapacity * slotBytes);
+                }
+
+                FileChannel channel = raf.getChannel();
+
+                header = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        headerBytes);
+                header.order(ByteOrder.LITTLE_ENDIAN);
+
+                if (exists)
+                {
+                    readHeader();
+                }
+                else
+                {
+                    capacity = newCapacity;
+                    count = 0;
+                    header.putLong(magicOffset, magic);
+                    header.putInt(versionOffset, version);
+                    header.putInt(sizeOffset, size);
+                    header.putLong(capacityOffset, capacity);
+                    header.putLong(countOffset, count);
+                }
+
+                if (raf.length() < headerBytes + capacity * slotBytes)
+                {
+                    throw new IOException(file + " is cut short");
+                }
+                mapSlots(channel);
+            }
+        }
+
+
+        /**
+         * Method to read the header of a file that already exists, and
+         * check that it is a solution store for the board size.
+         *
+         * @throws IOException
+         *                     if the file is not a solution store for the
+         *                     board size
+         */
+        private void readHeader() throws IOException
+        {
+            if (header.getLong(magicOffset) != magic
+                    || header.getInt(versionOffset) != version)
+            {
+                throw new IOException(file + " is not a solution store");
+            }
+            if (header.getInt(sizeOffset) != size)
+            {
+                throw new IOException(file + " holds boards of size "
+                        + header.getInt(sizeOffset) + ", not " + size);
+            }
+            capacity = header.getLong(capacityOffset);
+            count = header.getLong(countOffset);
+        }
+
+
+        /**
+         * Method to map the slots of the file in chunks.
+         *
+         * @param channel
+         *                the channel of the file
+         *
+         * @throws IOException
+         *                     if the file could not be mapped
+         */
+        private void mapSlots(FileChannel channel) throws IOException
+        {
+            int chunkCount = (int) ((capacity + slotsPerChunk - 1)
+                    / slotsPerChunk);
+
+            chunks = new MappedByteBuffer[chunkCount];
+
+            for (int i = 0; i < chunkCount; i++)
+            {
+                long first = (long) i * slotsPerChunk;
+                long slots = Math.min(slotsPerChunk, capacity - first);
+
+                chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+                        headerBytes + first * slotBytes, slots * slotBytes);
+                chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+
+
+        /**
+         * Method to look up the solution of a puzzle. The puzzle is
+         * compared with the slots in place, and only the solution that is
+         * found is decoded.
+         *
+         * @param puzzle
+         *               the puzzle, which is not changed
+         *
+         * @return the solution is returned, or null if the puzzle is not
+         *         in the table
+         */
+        public SudokuBoard get(SudokuBoard puzzle)
+        {
+            long tag = tag(puzzle.getZobristHash());
+
+            lock.readLock().lock();
+
+            try
+            {
+                long slot = find(tag, puzzle);
+
+                if (slot < 0)
+                {
+                    return null;
+                }
+
+                MappedByteBuffer chunk = chunks[(int) (slot / slotsPerChunk)];
+                int offset = (int) (slot % slotsPerChunk) * slotBytes
+                        + bytesPerLong * (1 + words);
+                SudokuBoard solution = new SudokuBoard(size);
+
+                for (int i = 0; i < words; i++)
+                {
+                    PackedBoard.unpackWord(chunk.getLong(offset
+                            + i * bytesPerLong), i, solution);
+                }
+                return solution;
+            }
+            finally
+            {
+                lock.readLock().unlock();
+            }
+        }
+
+
+        /**
+         * Method to add a puzzle and its solution, doubling the table
+         * first if it is half full.
+         *
+         * @param puzzle
+         *               the puzzle
+         * @param solution
+         *                 the solution of the puzzle
+         *
+         * @throws IOException
+         *                     if the table could not be doubled
+         */
+        public void put(SudokuBoard puzzle, SudokuBoard solution)
+                throws IOException
+        {
+            long tag = tag(puzzle.getZobristHash());
+
+            lock.writeLock().lock();
+
+            try
+            {
+                if (find(tag, puzzle) >= 0)
+                {
+                    return;
+                }
+                if ((count + 1) * 2 > capacity)
+                {
+                    grow();
+                }
+
+                long slot = emptySlot(tag);
+                MappedByteBuffer chunk = chunks[(int) (slot / slotsPerChunk)];
+                int offset = (int) (slot % slotsPerChunk) * slotBytes;
+
+                for (int i = 0; i < words; i++)
+                {
+                    chunk.putLong(offset + (1 + i) * bytesPerLong,
+                            PackedBoard.packWord(puzzle, i));
+                    chunk.putLong(offset + (1 + words + i) * bytesPerLong,
+                            PackedBoard.packWord(solution, i));
+                }
+
+                // the tag is written last, since it marks the slot as used
+                chunk.putLong(offset, tag);
+                count++;
+                header.putLong(countOffset, count);
+            }
+            finally
+            {
+                lock.writeLock().unlock();
+            }
+        }
+
+
+        /**
+         * Method to find the slot of a puzzle. Only a slot with the tag of
+         * the puzzle has its words compared with the puzzle.
+         *
+         * @param tag
+         *            the tag of the puzzle
+         * @param puzzle
+         *               the puzzle
+         *
+         * @return the slot of the puzzle is returned, or -1 if it is not
+         *         in the table
+         */
+        private long find(long tag, SudokuBoard puzzle)
+        {
+            long slot = mix(tag) & (capacity - 1);
+
+            while (true)
+            {
+                MappedByteBuffer chunk = chunks[(int) (slot / slotsPerChunk)];
+                int offset = (int) (slot % slotsPerChunk) * slotBytes;
+                long stored = chunk.getLong(offset);
+
+                if (stored == 0)
+                {
+                    return -1;
+                }
+                if (stored == tag && matches(chunk, offset, puzzle))
+                {
+                    return slot;
+                }
+                slot = (slot + 1) & (capacity - 1);
+            }
+        }
+
+
+        /**
+         * Method to find the empty slot a new puzzle goes in.
+         *
+         * @param tag
+         *            the tag of the puzzle
+         *
+         * @return the first empty slot after the home slot of the tag is
+         *         returned
+         */
+        private long emptySlot(long tag)
+        {
+            long slot = mix(tag) & (capacity - 1);
+
+            while (chunks[(int) (slot / slotsPerChunk)].getLong(
+                    (int) (slot % slotsPerChunk) * slotBytes) != 0)
+            {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            return slot;
+        }
+
+
+        /**
+         * Method to check if the puzzle in a slot is the same as a puzzle.
+         * Each word of the puzzle is packed as it is compared, so nothing
+         * is made.
+         *
+         * @param chunk
+         *              the chunk of the slot
+         * @param offset
+         *               where the slot starts in the chunk
+         * @param puzzle
+         *               the puzzle
+         *
+         * @return true or false is returned depending on if the puzzles
+         *         are the same
+         */
+        private boolean matches(MappedByteBuffer chunk, int offset,
+                SudokuBoard puzzle)
+        {
+            for (int i = 0; i < words; i++)
+            {
+                if (chunk.getLong(offset + (1 + i) * bytesPerLong)
+                        != PackedBoard.packWord(puzzle, i))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+
+        /**
+         * Method to double the table. Every slot that is used is copied
+         * into a new file twice the size, which then replaces the old 
+         * file. The old mappings are let go of right away, so the memory
+         * they map can be given back as soon as they are collected.
+         *
+         * @throws IOException
+         *                     if the new file could not be made
+         */
+        private void grow() throws IOException
+        {
+            File next = new File(file.getPath() + ".grow");
+
+            Files.deleteIfExists(next.toPath());
+
+            Table bigger = new Table(next, size, capacity * 2);
+
+            for (long slot = 0; slot < capacity; slot++)
+            {
+                MappedByteBuffer chunk = chunks[(int) (slot / slotsPerChunk)];
+                int offset = (int) (slot % slotsPerChunk) * slotBytes;
+                long tag = chunk.getLong(offset);
+
+                if (tag == 0)
+                {
+                    continue;
+                }
+
+                long target = bigger.emptySlot(tag);
+                MappedByteBuffer to = bigger.chunks[(int) (target
+                        / bigger.slotsPerChunk)];
+                int toOffset = (int) (target % bigger.slotsPerChunk)
+                        * slotBytes;
+
+                for (int i = 1; i < 1 + 2 * words; i++)
+                {
+                    to.putLong(toOffset + i * bytesPerLong,
+                            chunk.getLong(offset + i * bytesPerLong));
+                }
+                to.putLong(toOffset, tag);
+            }
+            bigger.count = count;
+            bigger.header.putLong(countOffset, count);
+            bigger.flush();
+
+            // drop the mappings of the old file before it is replaced
+            header.force();
+            header = null;
+            Arrays.fill(chunks, null);
+            chunks = null;
+
+            Files.move(next.toPath(), file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+
+            capacity = bigger.capacity;
+            header = bigger.header;
+            chunks = bigger.chunks;
+        }
+
+
+        /**
+         * Method to return the tag a puzzle is kept under, which is its
+         * Zobrist hash, or 1 for the empty board, since 0 marks an empty
+         * slot.
+         *
+         * @param hash
+         *             the Zobrist hash of the puzzle
+         *
+         * @return the tag of the puzzle is returned
+         */
+        private static long tag(long hash)
+        {
+            return hash == 0 ? 1 : hash;
+        }
+
+
+        /**
+         * Method to mix the bits of a tag, so the low bits pick a slot.
+         *
+         * @param tag
+         *            the tag that needs to be mixed
+         *
+         * @return the mixed tag is returned
+         */
+        private static long mix(long tag)
+        {
+            long mixed = tag * mixMultiplier;
+
+            return mixed ^ (mixed >>> 32);
+        }
+
+
+        /**
+         * Method to return the number of puzzles in the table.
+         *
+         * @return the number of puzzles is returned.
+         */
+        public long getCount()
+        {
+            lock.readLock().lock();
+
+            try
+            {
+                return count;
+            }
+            finally
+            {
+                lock.readLock().unlock();
+            }
+        }
+
+
+        /**
+         * Method to write every change to the table to the disk.
+         *
+         */
+        public void flush()
+        {
+            lock.readLock().lock();
+
+            try
+            {
+                header.force();
+
+                for (MappedByteBuffer chunk : chunks)
+                {
+                    chunk.force();
+                }
+            }
+            finally
+            {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
+
+//end of SolutionStore class
@@ -0,0 +1,446 @@
+/**
+ * Program: SolveResult.java
+ *
+ * This class is used to hold the outcome of a single solve. Besides the
+ * solution itself it records how long the solve took in nanoseconds and
+ * counters describing how much work the engine did. The counters are
+ * the number of search nodes expanded, the largest the frontier grew,
+ * the number of backtracks, the number of candidate values tried, the
+ * number of locations filled in by propagation, and the most boards the
+ * engine held at once. Each engine fills in the counters that apply to
+ * it and leaves the rest at zero. A search that remembers visited boards
+ * also records its VisitedSet policy, memory, hits, misses, and false
+ * positive rate. Nothing is printed unless print() is called.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class SolveResult
+{
+    // fields for the SolveResult class...
+    private String engine;
+    private SudokuBoard solution;
+    private long startTime;
+    private long elapsedNanos;
+
+    // counters filled in by the engine
+    private long solutions;
+    private long nodes;
+    private long maxFrontier;
+    private long backtracks;
+    private long candidates;
+    private long propagated;
+    private long peakBoards;
+
+    // statistics of the visited set, if the engine used one
+    private VisitedSet.Policy visitedPolicy;
+    private long visitedBytes;
+    private long visitedHits;
+    private long visitedMisses;
+    private double visitedFalsePositiveRate;
+
+    // field to get rid of the magic number problem
+    private static final double nanosPerSecond = 1e9;
+
+
+    /**
+     * Constructor for the SolveResult class.
+     *
+     * @param engine
+     *               the name of the engine the solve is run with
+     */
+    public SolveResult(String engine)
+    {
+        this.engine = engine;
+    }
+
+
+    /**
+     * Method to start the timer of the solve.
+     *
+     */
+    public void startTimer()
+    {
+        startTime = System.nanoTime();
+    }
+
+
+    /**
+     * Method to stop the timer of the solve. The time since
+     * startTimer() was called is kept as the duration of the solve.
+     *
+     */
+    public void stopTimer()
+    {
+        elapsedNanos = System.nanoTime() - startTime;
+    }
+
+
+    /**
+     * Method to record the solution found by the solve.
+     *
+     * @param solution
+     *                 the solved board
+     */
+    public void setSolution(SudokuBoard solution)
+    {
+        this.solution = solution;
+    }
+
+
+    /**
+     * Method to count solutions that were found.
+     *
+     * @param count
+     *              the number of solutions found
+     */
+    public void addSolutions(long count)
+    {
+        solutions += count;
+    }
+
+
+    /**
+     * Method to count a search node that was expanded.
+     *
+     */
+    public void addNode()
+    {
+        nodes++;
+    }
+
+
+    /**
+     * Method to count a backtrack, which is a move that was undone
+     * because it did not lead to a solution.
+     *
+     */
+    public void addBacktrack()
+    {
+        backtracks++;
+    }
+
+
+    /**
+     * Method to count candidate values that were tried.
+     *
+     * @param count
+     *              the number of candidate values tried
+     */
+    public void addCandidates(long count)
+    {
+        candidates += count;
+    }
+
+
+    /**
+     * Method to count locations that were filled in by propagation.
+     *
+     * @param count
+     *              the number of locations filled in
+     */
+    public void addPropagated(long count)
+    {
+        propagated += count;
+    }
+
+
+    /**
+     * Method to record the current size of the frontier. Only the
+     * largest size is kept.
+     *
+     * @param size
+     *             the current size of the frontier
+     */
+    public void updateFrontier(long size)
+    {
+        maxFrontier = Math.max(maxFrontier, size);
+    }
+
+
+    /**
+     * Method to record how many boards the engine is holding. Only
+     * the largest number is kept.
+     *
+     * @param boards
+     *               the number of boards the engine is holding
+     */
+    public void updateBoards(long boards)
+    {
+        peakBoards = Math.max(peakBoards, boards);
+    }
+
+
+    /**
+     * Method to record the statistics of the visited set used by the
+     * solve.
+     *
+     * @param visited
+     *                the visited set used by the solve
+     */
+    public void setVisited(VisitedSet visited)
+    {
+        visitedPolicy = visited.getPolicy();
+        visitedBytes = visited.getMemoryBytes();
+        visitedHits = visited.getHits();
+        visitedMisses = visited.getMisses();
+        visitedFalsePositiveRate = visited.getFalsePositiveRate();
+    }
+
+
+    /**
+     * Method to add the counters of another result to this one. This
+     * is used to combine the results of the tasks of a parallel solve.
+     * The node, backtrack, candidate, and propagation counters are added
+     * up, and the largest frontier and board counts are kept. Solutions
+     * are not added, since the tasks can find more than the limit between
+     * them, so the engine counts them itself.
+     *
+     * @param other
+     *              the result that needs to be added
+     */
+    public synchronized void add(SolveResult other)
+    {
+        nodes += other.nodes;
+        backtracks += other.backtracks;
+        candidates += other.candidates;
+        propagated += other.propagated;
+        maxFrontier = Math.max(maxFrontier, other.maxFrontier);
+        peakBoards = Math.max(peakBoards, other.peakBoards);
+    }
+
+
+    /**
+     * Method to return if the solve found a solution.
+     *
+     * @return true or false depending on if a solution was found.
+     */
+    public boolean isSolved()
+    {
+        return solution != null;
+    }
+
+
+    /**
+     * Method to return the solution found by the solve.
+     *
+     * @return the solved board is returned, or null if no solution
+     *         was found.
+     */
+    public SudokuBoard getSolution()
+    {
+        return solution;
+    }
+
+
+    /**
+     * Method to return the name of the engine the solve was run with.
+     *
+     * @return the name of the engine is returned.
+     */
+    public String getEngine()
+    {
+        return engine;
+    }
+
+
+    /**
+     * Method to return how long the solve took.
+     *
+     * @return the duration of the solve in nanoseconds is returned.
+     */
+    public long getElapsedNanos()
+    {
+        return elapsedNanos;
+    }
+
+
+    /**
+     * Method to return how long the solve took.
+     *
+     * @return the duration of the solve in seconds is returned.
+     */
+    public double getSeconds()
+    {
+        return elapsedNanos / nanosPerSecond;
+    }
+
+
+    /**
+     * Method to return the number of solutions found. A search for the
+     * first solution stops at one.
+     *
+     * @return the number of solutions found is returned.
+     */
+    public long getSolutionCount()
+    {
+        return solutions;
+    }
+
+
+    /**
+     * Method to return the number of search nodes expanded.
+     *
+     * @return the number of nodes expanded is returned.
+     */
+    public long getNodes()
+    {
+        return nodes;
+    }
+
+
+    /**
+     * Method to return the largest size the frontier reached. For the
+     * backtracking engines this is the deepest the search went.
+     *
+     * @return the largest size of the frontier is returned.
+     */
+    public long getMaxFrontier()
+    {
+        return maxFrontier;
+    }
+
+
+    /**
+     * Method to return the number of backtracks.
+     *
+     * @return the number of backtracks is returned.
+     */
+    public long getBacktracks()
+    {
+        return backtracks;
+    }
+
+
+    /**
+     * Method to return the number of candidate values tried.
+     *
+     * @return the number of candidate values tried is returned.
+     */
+    public long getCandidates()
+    {
+        return candidates;
+    }
+
+
+    /**
+     * Method to return the number of locations filled in by propagation.
+     *
+     * @return the number of locations filled in is returned.
+     */
+    public long getPropagated()
+    {
+        return propagated;
+    }
+
+
+    /**
+     * Method to return the most boards the engine held at once.
+     *
+     * @return the most boards held at once is returned.
+     */
+    public long getPeakBoards()
+    {
+        return peakBoards;
+    }
+
+
+    /**
+     * Method to return the policy of the visited set used by the solve.
+     *
+     * @return the policy is returned, or null if no visited set was used.
+     */
+    public VisitedSet.Policy getVisitedPolicy()
+    {
+        return visitedPolicy;
+    }
+
+
+    /**
+     * Method to return the number of bytes the visited set used.
+     *
+     * @return the number of bytes used is returned.
+     */
+    public long getVisitedBytes()
+    {
+        return visitedBytes;
+    }
+
+
+    /**
+     * Method to return the number of lookups that found a visited board.
+     *
+     * @return the number of hits is returned.
+     */
+    public long getVisitedHits()
+    {
+        return visitedHits;
+    }
+
+
+    /**
+     * Method to return the number of lookups that did not find a
+     * visited board.
+     *
+     * @return the number of misses is returned.
+     */
+    public long getVisitedMisses()
+    {
+        return visitedMisses;
+    }
+
+
+    /**
+     * Method to return the estimated false positive rate of the visited
+     * set when the solve ended.
+     *
+     * @return the false positive rate is returned.
+     */
+    public double getVisitedFalsePositiveRate()
+    {
+        return visitedFalsePositiveRate;
+    }
+
+
+    /**
+     * Method to describe the result on a single line.
+     *
+     * @return a description of the result is returned
+     */
+    public String toString()
+    {
+        String line = engine + ": "
+                + (isSolved() ? "solved" : "no solution")
+                + " in " + elapsedNanos + " ns, solutions=" + solutions
+                + ", nodes=" + nodes
+                + ", maxFrontier=" + maxFrontier
+                + ", backtracks=" + backtracks
+                + ", candidates=" + candidates
+                + ", propagated=" + propagated
+                + ", peakBoards=" + peakBoards;
+
+        if (visitedPolicy != null)
+        {
+            line += ", visited=" + visitedPolicy
+                    + " (" + visitedBytes + " bytes, hits=" + visitedHits
+                    + ", misses=" + visitedMisses
+                    + ", falsePositiveRate=" + visitedFalsePositiveRate
+                    + ")";
+        }
+        return line;
+    }
+
+
+    /**
+     * Method to print the description of the result to the screen.
+     *
+     */
+    public void print()
+    {
+        System.out.println(toString());
+    }
+}
+
+//end of SolveResult class
@@ -0,0 +1,62 @@
+/**
+ * Program: Solver.java
+ *
+ * Interface that is implemented by the solving engines used by the
+ * AIPlayer class. Each engine is created for a single start state,
+ * and this interface defines the methods that an engine must implement
+ * so the AIPlayer can run it and get the solution back without knowing
+ * which engine is being used.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public interface Solver
+{
+    /**
+     * Method to solve the start state the engine was created for. The
+     * start state itself is never changed. The search stops at the
+     * first solution that is found.
+     *
+     * @return true or false is returned depending on if a solution
+     *         is found
+     */
+    public boolean solve();
+
+    /**
+     * Method to look for solutions of the start state, up to a limit.
+     * The search stops as soon as the limit is reached or the listener
+     * asks it to, so a limit of 2 is enough to tell if a board has a
+     * single solution. The first solution found can be retrieved with
+     * getSolution() afterwards.
+     *
+     * @param limit
+     *              the most solutions the search looks for, at least 1
+     * @param listener
+     *                 the listener that is passed each solution, or null
+     *                 if the solutions only need to be counted
+     *
+     * @return the number of solutions found is returned, which is never
+     *         more than the limit
+     */
+    public long findSolutions(long limit, SolutionListener listener);
+
+    /**
+     * Method to return the first solution found by solve() or
+     * findSolutions().
+     *
+     * @return the SudokuBoard holding the solution is returned, or
+     *         null if no solution has been found.
+     */
+    public SudokuBoard getSolution();
+
+    /**
+     * Method to return the timing and counters of the last solve.
+     *
+     * @return the result of the last solve is returned.
+     */
+    public SolveResult getResult();
+}
+
+//end of Solver interface
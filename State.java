@@ -1,3 +1,5 @@
+import java.util.function.IntConsumer;
+
 /**
  * Program: State.java
  * 
@@ -26,14 +28,22 @@ public interface State
     public boolean equals(Object obj);
     
     /**
-     * HashCode method used to produce a hash value. The value
-     * is produced by adding the value in board[i][j] and board[j][i]
-     * then multiplying that value by the current hash value.
+     * HashCode method used to produce a hash value. The value is the 
+     * Zobrist hash of the board folded into an int.
      * 
      * @return the hash value for a board is returned. 
      */
     public int hashCode();
     
+    /**
+     * Method to return the 64 bit Zobrist hash of the board. The hash 
+     * is kept up to date each time a value is set, so it is returned 
+     * without walking the board.
+     * 
+     * @return the Zobrist hash of the board is returned.
+     */
+    public long getZobristHash();
+    
     /**
      * Method to make a copy of the original board. The method takes 
      * a board in as a parameter and makes a copy into it. 
@@ -121,6 +131,51 @@ public interface State
      *         is already in the square that contains the x and y values.
      */
     public boolean checkSquare(int row, int col, int value);
+    
+    /**
+     * Method to get a bitmask of all of the values that can be put into 
+     * a specified location. Bit (value - 1) is set for each value. If 
+     * there is already a value in the location then 0 is returned.
+     * 
+     * @param row
+     *            the row index of the location to get the possible values
+     * @param col
+     *            the column index of the location to get the possible values
+     * 
+     * @return a bitmask of the possible values at the specified location
+     *         is returned
+     */
+    public int getCandidateMask(int row, int col);
+    
+    /**
+     * Method to get the number of values that can be put into a specified
+     * location. If there is already a value in the location then 0 is 
+     * returned.
+     * 
+     * @param row
+     *            the row index of the location to count the possible values
+     * @param col
+     *            the column index of the location to count the possible 
+     *            values
+     * 
+     * @return the number of possible values at the specified location
+     *         is returned
+     */
+    public int getCandidateCount(int row, int col);
+    
+    /**
+     * Method to pass each value that can be put into a specified location
+     * to an action, from the smallest value to the largest, without 
+     * allocating or boxing anything.
+     * 
+     * @param row
+     *            the row index of the location to get the possible values
+     * @param col
+     *            the column index of the location to get the possible values
+     * @param action
+     *               the action that is passed each possible value
+     */
+    public void forEachCandidate(int row, int col, IntConsumer action);
 }
 
 //end of State interface
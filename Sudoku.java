@@ -1,5 +1,7 @@
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.util.Iterator;
 import java.util.Scanner;
 
 /**
@@ -14,7 +16,22 @@ import java.util.Scanner;
  * is created and the methods from that class are called. If the user
  * request to have an AI solve the game then a new AIPlayer instance is 
  * created and methods from that class are called. This class is used to
- * set up the game and use the other classes to do all the work. 
+ * set up the game and use the other classes to do all the work. The game
+ * can also be started in batch mode, which solves every puzzle in a file
+ * without asking the user anything:
+ * 
+ *     java Sudoku --batch inputFile outputFile [threads]
+ * 
+ * or in generate mode, which writes new puzzles to a file in the format
+ * batch mode reads:
+ * 
+ *     java Sudoku --generate outputFile count [size] [difficulty] 
+ *             [threads] [seed]
+ * 
+ * or in pack mode, which packs the puzzles of a text file into a binary
+ * corpus that batch mode also reads:
+ * 
+ *     java Sudoku --pack inputFile outputFile [solutions]
  * 
  * @author Bradley Cronce
  *         Jake Pollard
@@ -42,6 +59,9 @@ public class Sudoku
     private final int sixBoard = 16;
     private final int maxBoard = 25;
     
+    // board size of generate mode when none is given
+    private static final int generateSize = 9;
+    
     
     /**
      * Constructor for the Sudoku game. The game is set up to ask the 
@@ -86,6 +106,14 @@ public class Sudoku
                 input = scan.next();
                 int[][] board = readBoard(input);
                 
+                // if the file could not be used the user is asked again
+                while (board == null)
+                {
+                    System.out.println("Please enter the name of "
+                            + "another file.");
+                    input = scan.next();
+                    board = readBoard(input);
+                }
                 return new SudokuBoard(boardSize, board);
                     
             }
@@ -130,71 +158,47 @@ public class Sudoku
      * Method to read in hard coded boards. Once the game is started
      * the user is asked if they would like to load a board from our
      * library or use a randomly generated board. If the user chooses
-     * to load a board then they will have to provide a file name.
+     * to load a board then they will have to provide a file name. The
+     * first puzzle in the file is used, in either format PuzzleReader
+     * reads.
      * 
      * @param fileName
      *                 the name of the file that contains the hard coded board.
      *                 
      * @return a new two dimensional array is returned that contains the board
-     *         which was read in from a file.
+     *         which was read in from a file, or null if the file could not
+     *         be read or does not hold a board.
      */
     public int[][] readBoard(String fileName)
     {    
-        Scanner sc = null;
-        // values to represent indices in the board
-        int i = 0;
-        int j = 0;
-         
-        // try / catch block used to attempt to open the file.
-        try
+        // try / catch block used to attempt to open and read the file.
+        try (PuzzleReader reader = new PuzzleReader(fileName))
         {
-            sc = new Scanner(new File(fileName));
+            SudokuBoard board = reader.next();
+            
+            if (board == null)
+            {
+                System.out.println("The file does not contain a board!");
+                return null;
+            }
+            boardSize = board.getBoardSize();
+            return board.getBoard();
         }
-        catch (FileNotFoundException e)
+        catch (NoSuchFileException e)
         {
             System.out.println("The file could not be found!");
-        }        
-        
-        // gets the size of the board
-        boardSize = sc.nextInt();
-        
-        // 2d array to hold the new board
-        int[][] board = new int[boardSize][boardSize];
-        
-        // repeat while there are more lines to read from the file.
-        while (sc.hasNextLine())
+        }
+        catch (IOException e)
         {
-            String line = sc.nextLine();
-            
-            // checks for  empty lines in the file
-            if (line.isEmpty())
-            {
-                continue;
-            }
-            j = 0;
-            
-            // split on spaces
-            String[] tokens = line.split("\\s");
-            
-            // gets the values from the text file and places them into the 
-            // 2d array that will be returned.
-            if (i < maxBoard)
-            {
-                for (String token : tokens) 
-                {
-                    if (token.isEmpty())
-                    {
-                        continue;
-                    }
-                    
-                    board[i][j] = Integer.valueOf(token);
-                    j++;
-                }
-            }
-            i++;
+            System.out.println("The file could not be read: "
+                    + e.getMessage());
         }
-        sc.close();
-        return board;
+        catch (IllegalArgumentException e)
+        {
+            System.out.println("The board in the file is not valid: "
+                    + e.getMessage());
+        }
+        return null;
     }
     
     
@@ -226,6 +230,243 @@ public class Sudoku
     }
    
     
+    /**
+     * Method to solve every puzzle in a file without any user input.
+     * The input file, output file, and optionally the number of worker 
+     * threads are taken from the command line. The engine used is the 
+     * one picked with the sudoku.engine system property.
+     * 
+     * @param args
+     *             command line arguments, starting with --batch
+     */
+    public static void runBatch(String[] args)
+    {
+        if (args.length < 3)
+        {
+            System.out.println("Usage: java Sudoku --batch inputFile "
+                    + "outputFile [threads]");
+            return;
+        }
+        
+        int threads = Runtime.getRuntime().availableProcessors();
+        
+        if (args.length > 3)
+        {
+            threads = Integer.parseInt(args[3]);
+        }
+        
+        BatchSolver batch = new BatchSolver(threads, 
+                AIPlayer.getDefaultEngine());
+        
+        try
+        {
+            int puzzles = batch.solve(args[1], args[2]);
+            
+            System.out.println("Solved " + batch.getSolvedCount() + " of " 
+                    + puzzles + " puzzles. " + batch.getUnsolvedCount() 
+                    + " had no solution and " + batch.getInvalidCount() 
+                    + " could not be read.");
+            batch.printStats();
+            
+            if (AIPlayer.getDefaultCache() != null)
+            {
+                System.out.println(AIPlayer.getDefaultCache());
+            }
+            
+            if (AIPlayer.getDefaultStore() != null)
+            {
+                System.out.println(AIPlayer.getDefaultStore());
+                AIPlayer.getDefaultStore().close();
+            }
+        }
+        catch (IOException e)
+        {
+            System.out.println("The batch could not be solved! " 
+                    + e.getMessage());
+        }
+    }
+    
+    
+    /**
+     * Method to make new puzzles and write them to a file without any 
+     * user input. The output file and the number of puzzles are taken 
+     * from the command line, and optionally the board size, the 
+     * difficulty, the number of worker threads, and the seed. The 
+     * statistics of each stage are printed when the batch is done.
+     * 
+     * @param args
+     *             command line arguments, starting with --generate
+     */
+    public static void runGenerate(String[] args)
+    {
+        if (args.length < 3)
+        {
+            System.out.println("Usage: java Sudoku --generate outputFile "
+                    + "count [size] [difficulty] [threads] [seed]");
+            return;
+        }
+        
+        long count = Long.parseLong(args[2]);
+        int size = generateSize;
+        PuzzleGenerator.Difficulty difficulty = 
+                PuzzleGenerator.Difficulty.MEDIUM;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        
+        if (args.length > 3)
+        {
+            size = Integer.parseInt(args[3]);
+        }
+        if (args.length > 4)
+        {
+            difficulty = PuzzleGenerator.Difficulty.valueOf(
+                    args[4].toUpperCase());
+        }
+        if (args.length > 5)
+        {
+            threads = Integer.parseInt(args[5]);
+        }
+        if (args.length > 6)
+        {
+            seed = Long.parseLong(args[6]);
+        }
+        
+        BatchGenerator batch = new BatchGenerator(size, 
+                difficulty.getClues(size), threads, seed);
+        
+        try
+        {
+            batch.generate(args[1], count);
+            batch.printStats();
+        }
+        catch (IOException e)
+        {
+            System.out.println("The puzzles could not be written! " 
+                    + e.getMessage());
+        }
+        catch (IllegalStateException e)
+        {
+            batch.printStats();
+            System.out.println(e.getMessage());
+        }
+    }
+    
+    
+    /**
+     * Method to pack the puzzles of a text file into a binary corpus 
+     * without any user input. The input file and output file are taken 
+     * from the command line, and the word "solutions" after them keeps 
+     * the solution of each puzzle in the corpus as well. Every puzzle in 
+     * a corpus has the same size, so puzzles of another size than the 
+     * first one, puzzles that could not be read, and, when solutions are
+     * kept, puzzles without a solution are skipped.
+     * 
+     * @param args
+     *             command line arguments, starting with --pack
+     */
+    public static void runPack(String[] args)
+    {
+        if (args.length < 3)
+        {
+            System.out.println("Usage: java Sudoku --pack inputFile "
+                    + "outputFile [solutions]");
+            return;
+        }
+        
+        boolean solutions = args.length > 3 && args[3].equals("solutions");
+        CorpusWriter writer = null;
+        long skipped = 0;
+        
+        try (PuzzleReader reader = new PuzzleReader(args[1]))
+        {
+            Iterator<SudokuBoard> puzzles = reader.iterator();
+            
+            while (puzzles.hasNext())
+            {
+                SudokuBoard puzzle;
+                
+                try
+                {
+                    puzzle = puzzles.next();
+                }
+                catch (IllegalArgumentException e)
+                {
+                    skipped++;
+                    continue;
+                }
+                
+                // the first puzzle sets the size of the corpus
+                if (writer == null)
+                {
+                    writer = new CorpusWriter(args[2], 
+                            puzzle.getBoardSize(), solutions);
+                }
+                
+                if (puzzle.getBoardSize() != writer.getBoardSize())
+                {
+                    skipped++;
+                    continue;
+                }
+                
+                SudokuBoard solution = null;
+                
+                if (solutions)
+                {
+                    SolveResult result = new AIPlayer(puzzle.clone()).solve();
+                    
+                    if (!result.isSolved())
+                    {
+                        skipped++;
+                        continue;
+                    }
+                    solution = result.getSolution();
+                }
+                
+                if (solution == null)
+                {
+                    writer.add(puzzle);
+                }
+                else
+                {
+                    writer.add(puzzle, solution);
+                }
+            }
+            
+            if (writer != null)
+            {
+                writer.close();
+                System.out.println("Packed " + writer.getCount() 
+                        + " puzzles into " + args[2] + ", skipped " 
+                        + skipped + ".");
+            }
+            else
+            {
+                System.out.println("The file does not contain a board!");
+            }
+        }
+        catch (IOException | UncheckedIOException e)
+        {
+            System.out.println("The puzzles could not be packed! " 
+                    + e.getMessage());
+        }
+        finally
+        {
+            try
+            {
+                if (writer != null)
+                {
+                    writer.close();
+                }
+            }
+            catch (IOException e)
+            {
+                System.out.println("The corpus could not be closed! "
+                        + e.getMessage());
+            }
+        }
+    }
+    
+    
     /**
      * Main method to start a new Sudoku game. When the game starts the user
      * is asked if they would like to load a premade board from our library, 
@@ -234,13 +475,33 @@ public class Sudoku
      * request to solve the game themselves then a new HumanPlayer instance
      * is created and the methods from that class are called. If the user
      * request to have an AI solve the game then a new AIPlayer instance is 
-     * created and methods from that class are called.  
+     * created and methods from that class are called. If the first 
+     * argument is --batch then the puzzles in a file are solved instead,
+     * if it is --generate then new puzzles are written to a file, and if 
+     * it is --pack then the puzzles of a text file are packed into a 
+     * binary corpus.
      * 
      * @param args
      *             command line arguments
      */
     public static void main(String[] args) 
     { 
+        if (args.length > 0 && args[0].equals("--batch"))
+        {
+            runBatch(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--generate"))
+        {
+            runGenerate(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--pack"))
+        {
+            runPack(args);
+            return;
+        }
+        
         Boolean keepPlaying = true;
         
         // repeat while the user wishes to play
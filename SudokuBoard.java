@@ -1,5 +1,5 @@
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.function.IntConsumer;
 
 /**
  * Program: SudokuBoard.java
@@ -22,8 +22,50 @@ public class SudokuBoard implements State
     private int size;
     private double squareSize;
     
-    // variable to handle the magic number problem
-    private final int magic37 = 37;
+    // shared lookup tables for the row, column, and square of each cell
+    private BoardGeometry geometry;
+    
+    // occupancy bitmasks for each row, column, and square. bit (value - 1)
+    // is set when the value occurs at least once in that row, column, or 
+    // square. an int holds every value for the supported board sizes.
+    private int[] rowMasks;
+    private int[] colMasks;
+    private int[] squareMasks;
+    
+    // number of times each value occurs in each row, column, and square,
+    // indexed by (unit * size) + (value - 1). these are needed so that 
+    // clearing one copy of a duplicate value keeps the mask bit set.
+    private byte[] rowCounts;
+    private byte[] colCounts;
+    private byte[] squareCounts;
+    
+    // mask with a bit set for every legal value of the board
+    private int fullMask;
+    
+    // Zobrist hash of the values on the board, kept up to date by 
+    // setValue() so the board never has to be walked to hash it
+    private long zobrist;
+    
+    // number of locations holding a value between 1 and the board size,
+    // and the number of extra copies of a value in a row, column, or 
+    // square. both are kept up to date by setValue() so a solved board
+    // is found without scanning the board.
+    private int filled;
+    private int conflicts;
+    
+    // largest board randomFill() makes at medium difficulty
+    private static final int largestMediumSize = 16;
+    
+    // renderer used by printBoard(), one for each thread so its buffer
+    // is reused from one board to the next
+    private static final ThreadLocal<BoardRenderer> renderer = 
+            new ThreadLocal<BoardRenderer>()
+            {
+                protected BoardRenderer initialValue()
+                {
+                    return new BoardRenderer();
+                }
+            };
 
 
     /**
@@ -37,9 +79,26 @@ public class SudokuBoard implements State
      */
     public SudokuBoard(int boardSize) 
     {
-        board = new int[boardSize][boardSize];
-        size = boardSize;
+        this(BoardGeometry.forSize(boardSize));
+    }
+
+
+    /**
+     * Constructor for the SudokuBoard class. The constructor sets up an
+     * empty board for the size of the geometry it is passed. This is
+     * used by clone() so the shared geometry does not have to be looked
+     * up again for every copy.
+     * 
+     * @param geometry
+     *                 the shared geometry of the board size
+     */
+    private SudokuBoard(BoardGeometry geometry) 
+    {
+        size = geometry.getSize();
+        board = new int[size][size];
         squareSize = Math.sqrt((double) size);
+        this.geometry = geometry;
+        initMasks();
     }
 
 
@@ -58,11 +117,34 @@ public class SudokuBoard implements State
         size = boardSize; 
         squareSize = Math.sqrt((double) size);
         board = new int[boardSize][boardSize];
+        geometry = BoardGeometry.forSize(size);
+        initMasks();
 
         copyArray(otherBoard);
     }
 
 
+    /**
+     * Method to set up the occupancy masks and value counts used to 
+     * check moves. The masks are kept up to date by the setValue() 
+     * method so a move can be checked with a few bitwise operations 
+     * instead of scanning the row, column, and square.
+     * 
+     */
+    private void initMasks()
+    {
+        fullMask = (1 << size) - 1;
+        
+        rowMasks = new int[size];
+        colMasks = new int[size];
+        squareMasks = new int[size];
+        
+        rowCounts = new byte[size * size];
+        colCounts = new byte[size * size];
+        squareCounts = new byte[size * size];
+    }
+
+
     /**
      * Method to return the two dimensional array representation
      * of the board for a SudokuBoard.
@@ -100,6 +182,19 @@ public class SudokuBoard implements State
     }
 
 
+    /**
+     * Method to return the geometry of the SudokuBoard. The geometry
+     * is shared by every board of the same size and holds the row, 
+     * column, and square of each location on the board.
+     * 
+     * @return the geometry of the SudokuBoard is returned.
+     */
+    public BoardGeometry getGeometry()
+    {
+        return geometry;
+    }
+
+
     /**
      * Method to return the value in a specified location in a SudokuBoard.
      * The method is passed an X and Y integer (x, y), which are used as 
@@ -134,7 +229,115 @@ public class SudokuBoard implements State
      */
     public void setValue(int x, int y, int value)
     {
-        board[x][y] = value;        
+        int oldValue = board[x][y];
+        
+        if (oldValue == value)
+        {
+            return;
+        }
+        
+        int cell = geometry.getCell(x, y);
+        
+        // remove the value being replaced from the masks and the hash
+        if (oldValue > 0 && oldValue <= size)
+        {
+            removeFromMasks(x, y, oldValue);
+            zobrist ^= geometry.getZobristKey(cell, oldValue);
+        }
+        
+        board[x][y] = value;
+        
+        if (value > 0 && value <= size)
+        {
+            addToMasks(x, y, value);
+            zobrist ^= geometry.getZobristKey(cell, value);
+        }
+    }
+
+
+    /**
+     * Method to record a value in the row, column, and square that 
+     * contain the location (x, y). The count for the value is increased
+     * and the bit for the value is set in each of the masks. A value that
+     * was already in the row, column, or square adds a conflict.
+     * 
+     * @param x
+     *          x index of the location the value was placed at
+     * @param y
+     *          y index of the location the value was placed at
+     * @param value
+     *              value that was placed, between 1 and the board size
+     */
+    private void addToMasks(int x, int y, int value)
+    {
+        int bit = 1 << (value - 1);
+        int square = geometry.getSquare(x, y);
+        
+        // a value that was already in the unit is a conflict
+        if (rowCounts[x * size + value - 1]++ > 0)
+        {
+            conflicts++;
+        }
+        if (colCounts[y * size + value - 1]++ > 0)
+        {
+            conflicts++;
+        }
+        if (squareCounts[square * size + value - 1]++ > 0)
+        {
+            conflicts++;
+        }
+        filled++;
+        
+        rowMasks[x] |= bit;
+        colMasks[y] |= bit;
+        squareMasks[square] |= bit;
+    }
+
+
+    /**
+     * Method to remove a value from the row, column, and square that 
+     * contain the location (x, y). The count for the value is decreased
+     * and the bit for the value is only cleared once no copies of the 
+     * value are left in the row, column, or square. Otherwise a conflict
+     * is removed.
+     * 
+     * @param x
+     *          x index of the location the value was removed from
+     * @param y
+     *          y index of the location the value was removed from
+     * @param value
+     *              value that was removed, between 1 and the board size
+     */
+    private void removeFromMasks(int x, int y, int value)
+    {
+        int bit = 1 << (value - 1);
+        int square = geometry.getSquare(x, y);
+        
+        if (--rowCounts[x * size + value - 1] == 0)
+        {
+            rowMasks[x] &= ~bit;
+        }
+        else
+        {
+            conflicts--;
+        }
+        if (--colCounts[y * size + value - 1] == 0)
+        {
+            colMasks[y] &= ~bit;
+        }
+        else
+        {
+            conflicts--;
+        }
+        if (--squareCounts[square * size + value - 1] == 0)
+        {
+            squareMasks[square] &= ~bit;
+        }
+        else
+        {
+            conflicts--;
+        }
+        filled--;
     }
 
 
@@ -155,6 +358,13 @@ public class SudokuBoard implements State
         if (obj instanceof SudokuBoard)
         {
             SudokuBoard data = (SudokuBoard) obj;
+            
+            // boards with different hashes can not be equal, so only
+            // boards that collide have to be compared location by location
+            if (zobrist != data.zobrist || size != data.size)
+            {
+                return false;
+            }
 
             // traverse the rows
             for (int row = 0; row < size; row++)
@@ -176,56 +386,106 @@ public class SudokuBoard implements State
 
 
     /**
-     * Method used to pick random locations in a board and place 
-     * random vales in the locations. This method is used in the 
-     * Sudoku class to create random SudokuBoards for the user to 
-     * play on. 
+     * Method used to fill the board with a random puzzle. This method is
+     * used in the Sudoku class to create random SudokuBoards for the user
+     * to play on. The puzzle is made by a PuzzleGenerator, so it always 
+     * has exactly one solution. It is made at medium difficulty, except on
+     * 25x25 boards, where removing values stops before medium is reached
+     * and easy is asked for instead.
      * 
      */
     public void randomFill()
     {
-        Random randomGenerator = new Random();
-
-        for (int i = 0; i < size; i++)
-        {   
-            // random value
-            int randomInt = randomGenerator.nextInt(size) + 1;
-            // random row value
-            int randomInt2 = randomGenerator.nextInt(size);
-            // random column value
-            int randomInt3 = randomGenerator.nextInt(size);
+        PuzzleGenerator generator = new PuzzleGenerator(size);
+        PuzzleGenerator.Difficulty difficulty = 
+                PuzzleGenerator.Difficulty.MEDIUM;
 
-            // checks to make sure the value generated do not conflict with the
-            // values that are already in the board.
-            if (checkMove(randomInt2, randomInt3, randomInt))
-            {
-                setValue(randomInt2, randomInt3, randomInt);
-            }
+        if (size > largestMediumSize)
+        {
+            difficulty = PuzzleGenerator.Difficulty.EASY;
         }
+        copy(generator.generate(difficulty));
     }
 
 
     /**
-     * HashCode method used to produce a hash value. The value
-     * is produced by adding the value in board[i][j] and board[j][i]
-     * then multiplying that value by the current hash value.
+     * HashCode method used to produce a hash value. The value is the 
+     * Zobrist hash of the board folded into an int, so it is found 
+     * without walking the board.
      * 
      * @return the hash value for a board is returned. 
      */
     public int hashCode() 
     {
-        int hashVal = 0;
+        return (int) (zobrist ^ (zobrist >>> 32));
+    }
 
-        // traverses the rows
-        for (int i = 0; i < board.length; i++)
-        {
-            // traverses the columns
-            for (int j = 0; j < board[i].length; j++)
-            {
-                hashVal = magic37 * hashVal + (board[i][j] + board[j][i]);
-            }
-        }
-        return hashVal;
+
+    /**
+     * Method to return the 64 bit Zobrist hash of the board. The hash 
+     * is the exclusive or of a random key for each value at each 
+     * location, and is updated by setValue() each time a value changes.
+     * Equal boards always have the same hash.
+     * 
+     * @return the Zobrist hash of the board is returned.
+     */
+    public long getZobristHash()
+    {
+        return zobrist;
+    }
+
+
+    /**
+     * Method to find the canonical form of the board, which is the same 
+     * for every board that is this puzzle with its values relabeled, 
+     * transposed, or with rows, columns, bands, or stacks swapped. The 
+     * canonical form also holds the moves, so a solution of the canonical
+     * board can be mapped back to this board.
+     * 
+     * @return the canonical form of the board is returned
+     */
+    public CanonicalForm canonicalize()
+    {
+        return CanonicalForm.of(this);
+    }
+
+
+    /**
+     * Method to check if the board is solved, which is when every 
+     * location holds a value and no value occurs twice in a row, column,
+     * or square. The counters kept by setValue() are used, so the board 
+     * is not scanned.
+     * 
+     * @return true or false is returned depending on if the board is solved
+     */
+    public boolean isSolved()
+    {
+        return filled == size * size && conflicts == 0;
+    }
+
+
+    /**
+     * Method to return the number of locations that hold a value.
+     * 
+     * @return the number of filled locations is returned.
+     */
+    public int getFilledCount()
+    {
+        return filled;
+    }
+
+
+    /**
+     * Method to return the number of conflicts on the board. Each extra
+     * copy of a value in a row, column, or square is one conflict, so a 
+     * board that breaks no rules has none. A puzzle whose given values
+     * have a conflict can not be solved.
+     * 
+     * @return the number of conflicts is returned.
+     */
+    public int getConflictCount()
+    {
+        return conflicts;
     }
 
 
@@ -246,19 +506,27 @@ public class SudokuBoard implements State
         // traverses the rows
         for (int i = 0; i < size; i++) 
         {
-            // traverses the columns
-            for (int j = 0; j < size; j++) 
-            {
-                board[i][j] = data.board[i][j];
-            }
+            System.arraycopy(data.board[i], 0, board[i], 0, size);
         }
+        
+        // the masks and counts describe the copied board as well
+        System.arraycopy(data.rowMasks, 0, rowMasks, 0, size);
+        System.arraycopy(data.colMasks, 0, colMasks, 0, size);
+        System.arraycopy(data.squareMasks, 0, squareMasks, 0, size);
+        System.arraycopy(data.rowCounts, 0, rowCounts, 0, size * size);
+        System.arraycopy(data.colCounts, 0, colCounts, 0, size * size);
+        System.arraycopy(data.squareCounts, 0, squareCounts, 0, size * size);
+        zobrist = data.zobrist;
+        filled = data.filled;
+        conflicts = data.conflicts;
     }
 
     
     /**
      * Method to make a copy of the current board. The method is the same
      * as the method above, except this method makes a copy of the 
-     * current board and places it into a two dimensional array. 
+     * current board and places it into a two dimensional array. Each
+     * value goes through setValue() so the masks stay up to date.
      * 
      * @param board
      *              a two dimensional array that needs to be copied to.
@@ -271,7 +539,7 @@ public class SudokuBoard implements State
             // traverses the columns
             for (int j = 0; j < size; j++) 
             {
-                this.board[i][j] = board[i][j];
+                setValue(i, j, board[i][j]);
             }
         }
     }
@@ -286,92 +554,23 @@ public class SudokuBoard implements State
      */
     public SudokuBoard clone()
     {
-        SudokuBoard newState = new SudokuBoard(size);
+        SudokuBoard newState = new SudokuBoard(geometry);
         newState.copy(this);
         return newState;
     }
 
 
     /**
-     * Method to print the board itself. The method is set
-     * up to accommodate to multiple board sizes. After doing
-     * some testing, we realized that board sizes 16 and 25
-     * mess up the printing of the board. This method needs to 
-     * be fixed for sizes 16 and 25.
+     * Method to print the board itself. The board is laid out by a
+     * BoardRenderer, which pads every value to the same width so the
+     * columns line up on every board size, and prints it in one write.
+     * Each thread keeps its own renderer, so printing makes nothing new
+     * once its buffer is large enough.
      *  
      */
     public void printBoard() 
     {
-        // gets iteration size based on the board size and square size
-        int newSize = size + (int) squareSize;
-        int rowCount = (int) squareSize;
-        int colCount = (int) squareSize;
-        int row = 0;
-        int col = 0;
-
-        for (int i = 0; i < newSize; i++)
-        {
-            if (row == size) 
-            {
-
-                break;    
-            }
-
-            if (rowCount != 0 && rowCount == i) 
-            {
-                for (int x = 0; x < newSize - 1; x++) 
-                {
-                    if (colCount == x && colCount != size) 
-                    {
-                        System.out.print("+");
-                        colCount += squareSize + 1;
-                    } 
-                    // check for specific values so the board prints correctly
-                    else if (x == 6 || x == 11 || x == 15 || x == 20) 
-                    { 
-                        System.out.print("---");
-                    } 
-                    else 
-                    {
-                        System.out.print("--");
-                    }
-                }
-                rowCount += squareSize;
-                colCount = (int) squareSize;
-                System.out.println();
-            }
-
-            col = 0;
-            int colIndex = (int) squareSize;
-            for (int j = 0; j < newSize; j++) 
-            {
-                if (col == size) 
-                {
-                    continue;
-                }
-
-                if (colIndex == j && j != newSize) 
-                {
-                    System.out.print("| ");
-                    colIndex += squareSize + 1;
-                    continue;
-                }
-
-                if (board[row][col] != 0) 
-                {
-                    System.out.print(board[row][col] + " ");
-                } 
-                else 
-                {
-                    // if the value at board[row][col] 
-                    // equals 0, a '*' is printed
-                    System.out.print("* ");
-                }
-                col++;
-            }
-            row++;
-            System.out.println();
-        }
+        renderer.get().print(this, System.out);
     }
 
 
@@ -392,14 +591,108 @@ public class SudokuBoard implements State
      */
     public boolean checkMove(int row, int col, int value)
     {
-        if (checkRow(row, value) 
-                && checkColumn(col, value) 
-                && checkSquare(row, col, value)
-                && !checkForValue(row, col))
+        if (value < 1 || value > size)
         {
-            return true;
+            return false;
+        }
+        return (getCandidateMask(row, col) & (1 << (value - 1))) != 0;
+    }
+
+
+    /**
+     * Method to get a bitmask of all of the values that can be put into 
+     * a specified location. Bit (value - 1) is set when the value does 
+     * not occur in the row, column, or square of the location. If there
+     * is already a value in the location then 0 is returned.
+     * 
+     * @param row
+     *            the row index of the location to get the possible values
+     * @param col
+     *            the column index of the location to get the possible values
+     * 
+     * @return a bitmask of the possible values at the specified location
+     *         is returned
+     */
+    public int getCandidateMask(int row, int col)
+    {
+        if (board[row][col] != 0)
+        {
+            return 0;
         }
-        return false;
+        int square = geometry.getSquare(row, col);
+        
+        return ~(rowMasks[row] | colMasks[col] | squareMasks[square]) 
+                & fullMask;
+    }
+
+
+    /**
+     * Method to get the number of values that can be put into a specified
+     * location. If there is already a value in the location then 0 is 
+     * returned.
+     * 
+     * @param row
+     *            the row index of the location to count the possible values
+     * @param col
+     *            the column index of the location to count the possible 
+     *            values
+     * 
+     * @return the number of possible values at the specified location
+     *         is returned
+     */
+    public int getCandidateCount(int row, int col)
+    {
+        return Integer.bitCount(getCandidateMask(row, col));
+    }
+
+
+    /**
+     * Method to pass each value that can be put into a specified location
+     * to an action, from the smallest value to the largest. Nothing is 
+     * allocated or boxed, unlike getActions().
+     * 
+     * @param row
+     *            the row index of the location to get the possible values
+     * @param col
+     *            the column index of the location to get the possible values
+     * @param action
+     *               the action that is passed each possible value
+     */
+    public void forEachCandidate(int row, int col, IntConsumer action)
+    {
+        int candidates = getCandidateMask(row, col);
+        
+        while (candidates != 0)
+        {
+            int bit = candidates & -candidates;
+            candidates ^= bit;
+            
+            action.accept(Integer.numberOfTrailingZeros(bit) + 1);
+        }
+    }
+
+
+    /**
+     * Method to fill in every location on the board whose value is forced
+     * by the values already on the board. A location is forced when it only
+     * has one possible value, or when it is the only location in a row,
+     * column, or square where a value can go. If the board turns out to 
+     * have no solution then every value filled in is cleared again and the
+     * board is left the way it was.
+     * 
+     * @return the number of locations that were filled in is returned, or
+     *         Propagator.CONTRADICTION if the board can not be solved.
+     */
+    public int simplify()
+    {
+        UndoTrail trail = new UndoTrail(size);
+        int resolved = new Propagator().propagate(this, trail);
+        
+        if (resolved == Propagator.CONTRADICTION)
+        {
+            trail.undo(this, 0);
+        }
+        return resolved;
     }
 
 
@@ -408,7 +701,9 @@ public class SudokuBoard implements State
      * of the possible values that can be put into the specified location.
      * The method will first check to see if there is a value in the specified
      * row and column and then continue through the process. If there is
-     * a value there already then null is returned.
+     * a value there already then null is returned. The list is allocated
+     * on every call, so searches use getCandidateMask(), 
+     * getCandidateCount(), or forEachCandidate() instead.
      * 
      * @param row
      *            the row index of the location to get the possible values
@@ -420,19 +715,22 @@ public class SudokuBoard implements State
      */
     public ArrayList<Integer> getActions(int row, int col)
     {
-        // array to hold the possible values
-        ArrayList<Integer> values = new ArrayList<Integer>();
-
         if (checkForValue(row, col))
         {
             return null;
         }
+        
+        int candidates = getCandidateMask(row, col);
+
+        // array to hold the possible values
+        ArrayList<Integer> values = 
+                new ArrayList<Integer>(Integer.bitCount(candidates));
 
         // check each possible value that is possible in the board
         for (int i = 1; i < size + 1; i++)
         {
-            // if checkMoves() returns true then 'i' gets added to the list
-            if (checkMove(row, col, i))
+            // if the bit for 'i' is set then 'i' gets added to the list
+            if ((candidates & (1 << (i - 1))) != 0)
             {
                 values.add(i);
             }
@@ -457,16 +755,7 @@ public class SudokuBoard implements State
      */
     public boolean checkColumn(int col, int value) 
     {
-        // traverse the rows
-        for (int i = 0; i < size; i++)
-        {
-            // if the value is found return false
-            if (board[i][col] == value)
-            {
-                return false;
-            }
-        }
-        return true;
+        return (colMasks[col] & (1 << (value - 1))) == 0;
     }
 
 
@@ -485,17 +774,7 @@ public class SudokuBoard implements State
      */
     public boolean checkRow(int row, int value)
     {
-        // traverse the rows
-        for (int i = 0; i < size; i++)
-        { 
-            // traverse the columns
-            // if the value is found return false
-            if (board[row][i] == value)
-            {
-                return false;
-            }
-        }
-        return true;        
+        return (rowMasks[row] & (1 << (value - 1))) == 0;
     }
 
 
@@ -518,22 +797,9 @@ public class SudokuBoard implements State
      */
     public boolean checkSquare(int row, int col, int value) 
     {
-        int squareNumber = getSquareNumber(row, col);
-        int[][] square = getSquare(squareNumber);
-
-        // traverse the rows
-        for (int i = 0; i < square.length; i++)
-        {
-            // traverse the columns
-            for (int j = 0; j < square[i].length; j++)
-            {
-                if (square[i][j] == value)
-                {
-                    return false;
-                }
-            }
-        }
-        return true;        
+        int square = geometry.getSquare(row, col);
+        
+        return (squareMasks[square] & (1 << (value - 1))) == 0;
     }
 
 
@@ -550,41 +816,11 @@ public class SudokuBoard implements State
     public int[][] getSquareIndices()
     {
         // array to hold the indices of each square
-        int[][] squareIndices = new int[size][4];
-        int square = 0;
-
-        // variables to hold the inner and outer X and
-        // Y indices
-        int innerX = 0;
-        int innerY = 0;
-        int outterX = (int) squareSize;
-        int outterY = (int) squareSize;
-
-        // traverse the rows
-        for (int i = 0; i < squareSize; i++)
+        int[][] squareIndices = new int[size][];
+
+        for (int square = 0; square < size; square++)
         {
-            outterY = (int) squareSize;
-            innerY = 0;
-            
-            // traverse the columns
-            for (int j = 0; j < squareSize; j++)
-            {
-                squareIndices[square][0] = innerX;
-                squareIndices[square][1] = innerY;
-                squareIndices[square][2] = outterX;
-                squareIndices[square][3] = outterY;
-
-                // Outer Y index of the current square
-                outterY += squareSize;
-                // Inner Y index of the current square
-                innerY += squareSize;
-                // the actual square
-                square++;
-            } 
-            // Outer X index of the current square
-            outterX += squareSize;
-            // inner X index of the current square
-            innerX += squareSize;
+            squareIndices[square] = geometry.getSquareIndices(square).clone();
         }
         return squareIndices;
     }
@@ -606,23 +842,7 @@ public class SudokuBoard implements State
      */
     public int getSquareNumber(int x, int y)
     {
-        // array to hold the square indices
-        int[][] indices = getSquareIndices();
-        int square = 0;
-
-        for (int i = 0; i < indices.length; i++)
-        {
-            int innerX = indices[i][0];
-            int innerY = indices[i][1];
-            int outterX = indices[i][2]; 
-            int outterY = indices[i][3];
-
-            if (x >= innerX && y >= innerY && x < outterX && y < outterY)
-            {
-                square = i;
-            }
-        }
-        return square;
+        return geometry.getSquare(x, y);
     }
 
 
@@ -640,24 +860,17 @@ public class SudokuBoard implements State
      */
     public int[][] getSquare(int squareNumber)
     {
-        int[][] square = new int[(int) squareSize][(int) squareSize];
-        int[][] indices = getSquareIndices();
-
-        // indices for the specified square that is needed
-        int rowLocation = indices[squareNumber][0];
-        int colLocation = indices[squareNumber][1];
+        int width = geometry.getSquareWidth();
+        int[][] square = new int[width][width];
+        int[] cells = geometry.getSquareCells(squareNumber);
 
-        // traverses the rows
-        for (int row = 0; row < squareSize; row++)
+        // the cells of a square are in row order
+        for (int i = 0; i < cells.length; i++)
         {
-            // traverses the columns
-            for (int col = 0; col < squareSize; col++)
-            {
-                square[row][col] = board[rowLocation][colLocation];
-                colLocation++;
-            }
-            rowLocation++;
-            colLocation = indices[squareNumber][1];
+            int row = geometry.getRow(cells[i]);
+            int col = geometry.getColumn(cells[i]);
+            
+            square[i / width][i % width] = board[row][col];
         }
         return square;      
     }
@@ -0,0 +1,90 @@
+/**
+ * Program: UndoTrail.java
+ * 
+ * This class is used to record the cells that a solver fills in on a 
+ * SudokuBoard so they can be cleared again when the solver backtracks. 
+ * The cells are kept on a primitive stack. Before trying a value the 
+ * solver takes a mark of the trail, and when the value fails every cell
+ * filled in since the mark is set back to empty. This lets a solver work
+ * on a single board instead of cloning the board for every move.
+ * 
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *         
+ * @version 10/18/2026
+ */
+public class UndoTrail
+{
+    // fields for the UndoTrail class...
+    private int[] cells;
+    private int top;
+    
+    
+    /**
+     * Constructor for the UndoTrail class. The trail can hold every
+     * cell of a board of the given size, since a cell is only ever 
+     * filled in once between backtracks.
+     * 
+     * @param boardSize
+     *                  size of the board the trail is used with
+     */
+    public UndoTrail(int boardSize) 
+    {
+        cells = new int[boardSize * boardSize];
+        top = 0;
+    }
+    
+    
+    /**
+     * Method to fill in a cell on the board and record it on the trail.
+     * 
+     * @param board
+     *              the board the value is placed on
+     * @param cell
+     *             the cell number of the location being filled in
+     * @param value
+     *              the value placed in the cell
+     */
+    public void assign(SudokuBoard board, int cell, int value)
+    {
+        BoardGeometry geometry = board.getGeometry();
+        
+        board.setValue(geometry.getRow(cell), geometry.getColumn(cell), value);
+        cells[top++] = cell;
+    }
+    
+    
+    /**
+     * Method to return the current position of the trail. The position
+     * is passed to undo() to clear every cell filled in after it.
+     * 
+     * @return the current position of the trail is returned.
+     */
+    public int mark()
+    {
+        return top;
+    }
+    
+    
+    /**
+     * Method to clear every cell that was filled in after a mark was
+     * taken, in the reverse order they were filled in.
+     * 
+     * @param board
+     *              the board the cells were filled in on
+     * @param mark
+     *             a position previously returned by mark()
+     */
+    public void undo(SudokuBoard board, int mark)
+    {
+        BoardGeometry geometry = board.getGeometry();
+        
+        while (top > mark)
+        {
+            int cell = cells[--top];
+            board.setValue(geometry.getRow(cell), geometry.getColumn(cell), 0);
+        }
+    }
+}
+
+//end of UndoTrail class
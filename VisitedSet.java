@@ -0,0 +1,364 @@
+/**
+ * Program: VisitedSet.java
+ *
+ * This class is used to remember the boards the depth first search in
+ * the AIPlayer class has already expanded, so they are not expanded a
+ * second time. Three policies trade memory for work:
+ *
+ * OFF keeps nothing. This is a pure tree search, which is sound for
+ * Sudoku since every child of a board differs from its siblings at the
+ * location that was filled in, so no board can be reached twice.
+ *
+ * EXACT keeps the 64 bit Zobrist hash of each board in an open addressing
+ * table of longs instead of the boards themselves. Two different boards
+ * would only be mistaken for each other if their hashes collide.
+ *
+ * BLOOM keeps a Bloom filter with a fixed number of bytes, so the memory
+ * used never grows. A Bloom filter can report a board it has never seen
+ * as seen, which prunes that board. The chance of this grows as the
+ * filter fills up, and is reported by getFalsePositiveRate() so it can be
+ * weighed against the memory saved. Since a pruned board could hold a
+ * solution, the AIPlayer only uses BLOOM to skip work: it never counts
+ * solutions with it, and searches again without it when it found none.
+ *
+ * OFF is the default.
+ *
+ * The set also counts how many lookups found a board (hits) and how many
+ * did not (misses).
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class VisitedSet
+{
+    /**
+     * The policies the visited set can use. The policy can be picked at
+     * runtime with the sudoku.visited system property, for example
+     * -Dsudoku.visited=bloom.
+     *
+     */
+    public enum Policy
+    {
+        // nothing is remembered
+        OFF,
+
+        // the Zobrist hash of every board is remembered
+        EXACT,
+
+        // a fixed size Bloom filter of the Zobrist hashes
+        BLOOM
+    }
+
+    // fields for the VisitedSet class...
+    private Policy policy;
+    private long size;
+    private long hits;
+    private long misses;
+
+    // open addressing table of hashes used by EXACT, 0 marks a free slot
+    private long[] table;
+    private boolean hasZero;
+
+    // bits of the filter used by BLOOM
+    private long[] bits;
+    private long bitMask;
+
+    // number of bits set in the filter for each board
+    private static final int bloomHashes = 4;
+
+    // fields to get rid of the magic number problem
+    private static final int initialTableSize = 1024;
+    private static final int bitsPerLong = 64;
+    private static final int bytesPerLong = 8;
+    private static final long mixMultiplier = 0x9E3779B97F4A7C15L;
+
+
+    /**
+     * Constructor for the VisitedSet class.
+     *
+     * @param policy
+     *               the policy the set uses
+     * @param byteBudget
+     *                   the number of bytes the BLOOM filter may use. The
+     *                   filter is rounded down to a power of two bits.
+     *                   The other policies ignore it.
+     */
+    public VisitedSet(Policy policy, long byteBudget)
+    {
+        this.policy = policy;
+
+        if (policy == Policy.EXACT)
+        {
+            table = new long[initialTableSize];
+        }
+        else if (policy == Policy.BLOOM)
+        {
+            long longs = Long.highestOneBit(
+                    Math.max(1, byteBudget / bytesPerLong));
+
+            bits = new long[(int) Math.min(longs, 1 << 30)];
+            bitMask = (long) bits.length * bitsPerLong - 1;
+        }
+    }
+
+
+    /**
+     * Method to remember a board as visited.
+     *
+     * @param board
+     *              the board that was visited
+     */
+    public void add(SudokuBoard board)
+    {
+        long hash = board.getZobristHash();
+
+        if (policy == Policy.EXACT)
+        {
+            if (addHash(hash))
+            {
+                size++;
+            }
+        }
+        else if (policy == Policy.BLOOM)
+        {
+            long step = mix(hash) | 1;
+
+            for (int i = 0; i < bloomHashes; i++)
+            {
+                long bit = (hash + i * step) & bitMask;
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+            }
+            size++;
+        }
+    }
+
+
+    /**
+     * Method to check if a board has been visited. Each call counts as
+     * a hit or a miss.
+     *
+     * @param board
+     *              the board that needs to be checked for
+     *
+     * @return true or false is returned depending on if the board has
+     *         been visited
+     */
+    public boolean contains(SudokuBoard board)
+    {
+        boolean found = false;
+        long hash = board.getZobristHash();
+
+        if (policy == Policy.EXACT)
+        {
+            found = containsHash(hash);
+        }
+        else if (policy == Policy.BLOOM)
+        {
+            long step = mix(hash) | 1;
+            found = true;
+
+            for (int i = 0; i < bloomHashes && found; i++)
+            {
+                long bit = (hash + i * step) & bitMask;
+                found = (bits[(int) (bit >>> 6)] & (1L << bit)) != 0;
+            }
+        }
+
+        if (found)
+        {
+            hits++;
+        }
+        else
+        {
+            misses++;
+        }
+        return found;
+    }
+
+
+    /**
+     * Method to add a hash to the table used by EXACT. The table is
+     * doubled once it is half full.
+     *
+     * @param hash
+     *             the hash that needs to be added
+     *
+     * @return true or false is returned depending on if the hash was new
+     */
+    private boolean addHash(long hash)
+    {
+        if (hash == 0)
+        {
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+
+        if (size * 2 >= table.length)
+        {
+            long[] old = table;
+            table = new long[old.length * 2];
+
+            for (long value : old)
+            {
+                if (value != 0)
+                {
+                    table[findSlot(value)] = value;
+                }
+            }
+        }
+
+        int slot = findSlot(hash);
+
+        if (table[slot] == hash)
+        {
+            return false;
+        }
+        table[slot] = hash;
+        return true;
+    }
+
+
+    /**
+     * Method to check if a hash is in the table used by EXACT.
+     *
+     * @param hash
+     *             the hash that needs to be checked for
+     *
+     * @return true or false is returned depending on if the hash is in
+     *         the table
+     */
+    private boolean containsHash(long hash)
+    {
+        if (hash == 0)
+        {
+            return hasZero;
+        }
+        return table[findSlot(hash)] == hash;
+    }
+
+
+    /**
+     * Method to find the slot of the table that holds a hash, or the
+     * free slot where it would go.
+     *
+     * @param hash
+     *             the hash that needs to be found
+     *
+     * @return the index of the slot is returned
+     */
+    private int findSlot(long hash)
+    {
+        int mask = table.length - 1;
+        int slot = (int) mix(hash) & mask;
+
+        while (table[slot] != 0 && table[slot] != hash)
+        {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+
+    /**
+     * Method to mix the bits of a hash, so the low bits used to pick a
+     * slot or a bit depend on every bit of the hash.
+     *
+     * @param hash
+     *             the hash that needs to be mixed
+     *
+     * @return the mixed hash is returned
+     */
+    private static long mix(long hash)
+    {
+        long mixed = hash * mixMultiplier;
+        return mixed ^ (mixed >>> 32);
+    }
+
+
+    /**
+     * Method to return the policy of the set.
+     *
+     * @return the policy of the set is returned.
+     */
+    public Policy getPolicy()
+    {
+        return policy;
+    }
+
+
+    /**
+     * Method to return the number of boards added to the set.
+     *
+     * @return the number of boards added is returned.
+     */
+    public long getSize()
+    {
+        return size;
+    }
+
+
+    /**
+     * Method to return the number of lookups that found a board.
+     *
+     * @return the number of hits is returned.
+     */
+    public long getHits()
+    {
+        return hits;
+    }
+
+
+    /**
+     * Method to return the number of lookups that did not find a board.
+     *
+     * @return the number of misses is returned.
+     */
+    public long getMisses()
+    {
+        return misses;
+    }
+
+
+    /**
+     * Method to return the number of bytes used to remember boards.
+     *
+     * @return the number of bytes used is returned.
+     */
+    public long getMemoryBytes()
+    {
+        if (table != null)
+        {
+            return (long) table.length * bytesPerLong;
+        }
+        if (bits != null)
+        {
+            return (long) bits.length * bytesPerLong;
+        }
+        return 0;
+    }
+
+
+    /**
+     * Method to return the chance that a lookup of a board that was never
+     * added finds it anyway. For BLOOM this is estimated from how full
+     * the filter is. EXACT and OFF never report a board that was not
+     * added, apart from a collision of two 64 bit hashes for EXACT.
+     *
+     * @return the false positive rate of a lookup is returned.
+     */
+    public double getFalsePositiveRate()
+    {
+        if (bits == null)
+        {
+            return 0;
+        }
+        double filled = 1 - Math.exp(-(double) bloomHashes * size
+                / (bitMask + 1));
+        return Math.pow(filled, bloomHashes);
+    }
+}
+
+//end of VisitedSet class
@@ -0,0 +1,421 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+
+/**
+ * Program: Benchmarks.java
+ *
+ * This class is used to measure how fast the board primitives and the
+ * solving engines are, so every performance change can be checked
+ * against the numbers from before it. Each benchmark runs an operation on
+ * one puzzle of a fixed corpus (corpus.txt) over and over. The first few
+ * iterations warm up the JIT and are thrown away, the rest are measured.
+ * For each benchmark the throughput in operations per second is printed,
+ * along with the bytes allocated per operation, the allocation rate, and
+ * the number of garbage collections during the measured iterations.
+ *
+ * The allocation numbers only count the benchmark thread, so the
+ * allocations made by the worker threads of the PARALLEL engine are not
+ * included.
+ *
+ * Usage: java -jar benchmarks.jar [-wi warmups] [-i iterations]
+ *                                 [-r milliseconds] [filter]
+ *
+ * Only benchmarks whose name contains the filter are run, for example
+ * "SOLVE_DANCING_LINKS" or "25x25".
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class Benchmarks
+{
+    /**
+     * The operations that can be measured on a puzzle.
+     *
+     */
+    private enum Operation
+    {
+        // board primitives
+        GET_ACTIONS,
+        CANDIDATE_COUNT,
+        CHECK_MOVE,
+        CLONE,
+        HASH_CODE,
+
+        // end to end solves
+        SOLVE_DEPTH_FIRST,
+        SOLVE_BACKTRACKING,
+        SOLVE_DANCING_LINKS,
+        SOLVE_PARALLEL
+    }
+
+    // fields for the Benchmarks class...
+    private int warmupIterations = 3;
+    private int measureIterations = 5;
+    private long iterationMillis = 1000;
+    private String filter = "";
+
+    // puzzles of the corpus and their names
+    private ArrayList<String> names = new ArrayList<String>();
+    private ArrayList<SudokuBoard> puzzles = new ArrayList<SudokuBoard>();
+
+    // results are added here so the JIT can not remove the work
+    private static volatile long sink;
+
+    // field to get rid of the magic number problem
+    private static final double nanosPerSecond = 1e9;
+    private static final double bytesPerMegabyte = 1024 * 1024;
+
+    // the original depth first search is only run on the easy puzzles
+    // that it can solve in well under a second
+    private static final int depthFirstMaxSize = 9;
+
+
+    /**
+     * Main method to run the benchmarks.
+     *
+     * @param args
+     *             command line arguments
+     *
+     * @throws IOException
+     *                     if the corpus could not be read
+     */
+    public static void main(String[] args) throws IOException
+    {
+        Benchmarks benchmarks = new Benchmarks();
+
+        for (int i = 0; i < args.length; i++)
+        {
+            if (args[i].equals("-wi"))
+            {
+                benchmarks.warmupIterations = Integer.parseInt(args[++i]);
+            }
+            else if (args[i].equals("-i"))
+            {
+                benchmarks.measureIterations = Integer.parseInt(args[++i]);
+            }
+            else if (args[i].equals("-r"))
+            {
+                benchmarks.iterationMillis = Long.parseLong(args[++i]);
+            }
+            else
+            {
+                benchmarks.filter = args[i];
+            }
+        }
+
+        benchmarks.loadCorpus();
+        benchmarks.runAll();
+    }
+
+
+    /**
+     * Method to read the puzzles of the corpus. Each line of the corpus
+     * holds the name of a puzzle and the puzzle in the single line format.
+     *
+     * @throws IOException
+     *                     if the corpus could not be read
+     */
+    private void loadCorpus() throws IOException
+    {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+                Benchmarks.class.getResourceAsStream("/corpus.txt"), "UTF-8"));
+
+        try
+        {
+            String line;
+
+            while ((line = reader.readLine()) != null)
+            {
+                String[] tokens = line.trim().split("\\s+");
+
+                if (tokens.length == 2)
+                {
+                    names.add(tokens[0]);
+                    puzzles.add(PuzzleReader.parseLine(tokens[1]));
+                }
+            }
+        }
+        finally
+        {
+            reader.close();
+        }
+    }
+
+
+    /**
+     * Method to run every benchmark that matches the filter and print
+     * a line of results for each.
+     *
+     */
+    private void runAll()
+    {
+        System.out.println(String.format("%-32s %12s %10s %12s %10s %5s",
+                "Benchmark", "ops/s", "+- stdev", "B/op", "MB/s", "GCs"));
+
+        for (Operation operation : Operation.values())
+        {
+            for (int i = 0; i < puzzles.size(); i++)
+            {
+                String name = operation + ":" + names.get(i);
+                SudokuBoard board = puzzles.get(i);
+
+                if (!name.contains(filter))
+                {
+                    continue;
+                }
+                if (operation == Operation.SOLVE_DEPTH_FIRST
+                        && (board.getBoardSize() > depthFirstMaxSize
+                        || !names.get(i).endsWith("easy")))
+                {
+                    continue;
+                }
+                measure(name, operation, board);
+            }
+        }
+    }
+
+
+    /**
+     * Method to run the warmup and measured iterations of a benchmark
+     * and print its results.
+     *
+     * @param name
+     *             the name of the benchmark
+     * @param operation
+     *                  the operation that is measured
+     * @param board
+     *              the puzzle the operation is run on
+     */
+    private void measure(String name, Operation operation, SudokuBoard board)
+    {
+        for (int i = 0; i < warmupIterations; i++)
+        {
+            runIteration(operation, board);
+        }
+
+        long gcBefore = getCollectionCount();
+        long bytesBefore = getAllocatedBytes();
+        long totalOps = 0;
+        long totalNanos = 0;
+        double[] scores = new double[measureIterations];
+
+        for (int i = 0; i < measureIterations; i++)
+        {
+            long start = System.nanoTime();
+            long ops = runIteration(operation, board);
+            long elapsed = System.nanoTime() - start;
+
+            scores[i] = ops * nanosPerSecond / elapsed;
+            totalOps += ops;
+            totalNanos += elapsed;
+        }
+
+        long bytes = getAllocatedBytes() - bytesBefore;
+        long collections = getCollectionCount() - gcBefore;
+
+        double mean = 0;
+
+        for (double score : scores)
+        {
+            mean += score / scores.length;
+        }
+
+        double variance = 0;
+
+        for (double score : scores)
+        {
+            variance += (score - mean) * (score - mean) / scores.length;
+        }
+
+        System.out.println(String.format(
+                "%-32s %12.1f %10.1f %12.1f %10.1f %5d", name, mean,
+                Math.sqrt(variance), (double) bytes / totalOps,
+                bytes / bytesPerMegabyte / (totalNanos / nanosPerSecond),
+                collections));
+    }
+
+
+    /**
+     * Method to run an operation over and over for one iteration. At
+     * least one operation is always run, so a slow solve still counts.
+     *
+     * @param operation
+     *                  the operation that is run
+     * @param board
+     *              the puzzle the operation is run on
+     *
+     * @return the number of operations run in the iteration is returned
+     */
+    private long runIteration(Operation operation, SudokuBoard board)
+    {
+        long end = System.nanoTime() + iterationMillis * 1000000L;
+        long ops = 0;
+        long result = 0;
+
+        do
+        {
+            result += run(operation, board);
+            ops++;
+        }
+        while (System.nanoTime() < end);
+
+        sink += result;
+        return ops;
+    }
+
+
+    /**
+     * Method to run an operation once.
+     *
+     * @param operation
+     *                  the operation that is run
+     * @param board
+     *              the puzzle the operation is run on
+     *
+     * @return a value computed by the operation, so it can not be removed
+     */
+    private long run(Operation operation, SudokuBoard board)
+    {
+        int size = board.getBoardSize();
+        long result = 0;
+
+        switch (operation)
+        {
+            case GET_ACTIONS:
+                for (int row = 0; row < size; row++)
+                {
+                    for (int col = 0; col < size; col++)
+                    {
+                        ArrayList<Integer> actions = board.getActions(row, col);
+
+                        if (actions != null)
+                        {
+                            result += actions.size();
+                        }
+                    }
+                }
+                return result;
+
+            case CANDIDATE_COUNT:
+                for (int row = 0; row < size; row++)
+                {
+                    for (int col = 0; col < size; col++)
+                    {
+                        result += board.getCandidateCount(row, col);
+                    }
+                }
+                return result;
+
+            case CHECK_MOVE:
+                for (int row = 0; row < size; row++)
+                {
+                    for (int col = 0; col < size; col++)
+                    {
+                        for (int value = 1; value <= size; value++)
+                        {
+                            if (board.checkMove(row, col, value))
+                            {
+                                result++;
+                            }
+                        }
+                    }
+                }
+                return result;
+
+            case CLONE:
+                return board.clone().getBoardSize();
+
+            case HASH_CODE:
+                return board.hashCode();
+
+            case SOLVE_DEPTH_FIRST:
+                return solve(board, AIPlayer.Engine.DEPTH_FIRST);
+
+            case SOLVE_BACKTRACKING:
+                return solve(board, AIPlayer.Engine.BACKTRACKING);
+
+            case SOLVE_DANCING_LINKS:
+                return solve(board, AIPlayer.Engine.DANCING_LINKS);
+
+            case SOLVE_PARALLEL:
+                return solve(board, AIPlayer.Engine.PARALLEL);
+
+            default:
+                throw new IllegalArgumentException(operation.toString());
+        }
+    }
+
+
+    /**
+     * Method to solve a puzzle with an engine.
+     *
+     * @param board
+     *              the puzzle that needs to be solved
+     * @param engine
+     *               the engine used to solve the puzzle
+     *
+     * @return 1 is returned if a solution was found, 0 otherwise
+     */
+    private long solve(SudokuBoard board, AIPlayer.Engine engine)
+    {
+        AIPlayer player = new AIPlayer(board, engine);
+
+        // every run has to search, not be answered by the cache or store
+        player.setCache(null);
+        player.setStore(null);
+
+        if (!player.solve().isSolved())
+        {
+            return 0;
+        }
+        return 1;
+    }
+
+
+    /**
+     * Method to get the number of bytes allocated by the current thread
+     * so far. This is only supported on HotSpot based JVMs.
+     *
+     * @return the number of bytes allocated is returned, or 0 if the
+     *         JVM can not measure it.
+     */
+    private static long getAllocatedBytes()
+    {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        if (bean instanceof com.sun.management.ThreadMXBean)
+        {
+            return ((com.sun.management.ThreadMXBean) bean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+
+    /**
+     * Method to get the number of garbage collections so far, added
+     * up over every collector of the JVM.
+     *
+     * @return the number of garbage collections is returned.
+     */
+    private static long getCollectionCount()
+    {
+        long count = 0;
+
+        for (GarbageCollectorMXBean bean
+                : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            count += Math.max(0, bean.getCollectionCount());
+        }
+        return count;
+    }
+}
+
+//end of Benchmarks class
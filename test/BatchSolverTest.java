@@ -0,0 +1,182 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Program: BatchSolverTest.java
+ *
+ * This class is used to test that BatchSolver writes exactly one line for
+ * every puzzle of its input, in input order, whatever the format of each
+ * puzzle and whether it is solved, has no solution, or can not be read.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class BatchSolverTest
+{
+    // folder of the files of each test, removed after it
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    // worker threads, more than one so puzzles finish out of order
+    private static final int threads = 4;
+
+    // a 4x4 puzzle in both formats, and one with two 1s in a row
+    private static final String single = ".13....43...1...";
+    private static final String header = "4\n0 1 3 0\n0 0 0 4\n"
+            + "3 0 0 0\n1 0 0 0";
+    private static final String conflict = "11..............";
+
+
+    /**
+     * Method to test a file that mixes both formats with puzzles that are
+     * solved, have no solution, and are malformed.
+     *
+     * @throws IOException
+     *                     if the files could not be read or written
+     */
+    @Test
+    public void writesOneLinePerPuzzleInOrder() throws IOException
+    {
+        List<String> input = Arrays.asList(
+                header,
+                "4\n0 1 3 0\n0 x 0 4\n3 0 0 0\n1 0 0 0",
+                single,
+                conflict,
+                ".13..Z.43...1...",
+                "2\n1 2\n2 1",
+                single);
+        File in = write(input);
+        File out = folder.newFile("solutions.txt");
+        BatchSolver batch = new BatchSolver(threads,
+                AIPlayer.Engine.BACKTRACKING);
+
+        assertEquals(input.size(), batch.solve(in.getPath(),
+                out.getPath()));
+
+        List<String> lines = Files.readAllLines(out.toPath(),
+                StandardCharsets.UTF_8);
+
+        assertEquals(input.size(), lines.size());
+        assertSolves(single, lines.get(0));
+        assertTrue(lines.get(1).startsWith("Invalid puzzle: Line 8:"));
+        assertSolves(single, lines.get(2));
+        assertEquals("No solution", lines.get(3));
+        assertTrue(lines.get(4).startsWith("Invalid puzzle: Line 13:"));
+        assertTrue(lines.get(5).startsWith(
+                "Invalid puzzle: Board size 2"));
+        assertEquals(lines.get(0), lines.get(6));
+
+        assertEquals(3, batch.getSolvedCount());
+        assertEquals(1, batch.getUnsolvedCount());
+        assertEquals(3, batch.getInvalidCount());
+    }
+
+
+    /**
+     * Method to test that every corpus puzzle gets its own solution line,
+     * in order, when there are more puzzles than are in flight at once.
+     *
+     * @throws IOException
+     *                     if the files could not be read or written
+     */
+    @Test
+    public void keepsOrderOverManyPuzzles() throws IOException
+    {
+        List<String> input = new ArrayList<String>();
+
+        for (int i = 0; i < threads * threads; i++)
+        {
+            for (SudokuBoard puzzle : TestCorpus.load())
+            {
+                if (puzzle.getBoardSize() <= threads * threads)
+                {
+                    input.add(PuzzleReader.toLine(puzzle));
+                }
+            }
+        }
+
+        File in = write(input);
+        File out = folder.newFile("solutions.txt");
+        BatchSolver batch = new BatchSolver(threads,
+                AIPlayer.Engine.BACKTRACKING);
+
+        assertEquals(input.size(), batch.solve(in.getPath(),
+                out.getPath()));
+
+        List<String> lines = Files.readAllLines(out.toPath(),
+                StandardCharsets.UTF_8);
+
+        assertEquals(input.size(), lines.size());
+
+        for (int i = 0; i < input.size(); i++)
+        {
+            assertSolves(input.get(i), lines.get(i));
+        }
+    }
+
+
+    /**
+     * Method to check that a line of the output is a solution of a
+     * puzzle.
+     *
+     * @param puzzle
+     *               the puzzle in the single line format
+     * @param line
+     *             the line of the output
+     */
+    private static void assertSolves(String puzzle, String line)
+    {
+        SudokuBoard given = PuzzleReader.parseLine(puzzle);
+        SudokuBoard solution = PuzzleReader.parseLine(line);
+        int size = given.getBoardSize();
+
+        assertTrue(line, solution.isSolved());
+
+        for (int cell = 0; cell < size * size; cell++)
+        {
+            int value = given.getValue(cell / size, cell % size);
+
+            if (value != 0)
+            {
+                assertEquals(value,
+                        solution.getValue(cell / size, cell % size));
+            }
+        }
+    }
+
+
+    /**
+     * Method to write puzzles to a new input file, one after another.
+     *
+     * @param puzzles
+     *                the puzzles, each in either format
+     *
+     * @return the file is returned
+     *
+     * @throws IOException
+     *                     if the file could not be written
+     */
+    private File write(List<String> puzzles) throws IOException
+    {
+        File file = folder.newFile("puzzles.txt");
+
+        Files.write(file.toPath(), puzzles, StandardCharsets.UTF_8);
+        return file;
+    }
+}
+
+//end of BatchSolverTest class
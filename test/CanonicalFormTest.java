@@ -0,0 +1,223 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Program: CanonicalFormTest.java
+ *
+ * This class is used to test that CanonicalForm gives the same canonical
+ * board to every board that is the same puzzle, and that the moves it
+ * keeps map a board there and back. Each puzzle of the corpus is changed
+ * by a random mix of the moves the canonical form undoes: relabeling the
+ * values, transposing, and swapping rows, columns, bands and stacks.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class CanonicalFormTest
+{
+    // random boards made from each puzzle
+    private static final int disguises = 20;
+
+    // largest board whose search always finishes before its step limit
+    private static final int largestExactSize = 9;
+
+    // field to get rid of the magic number problem
+    private static final long seed = 20261018L;
+
+
+    /**
+     * Method to test that every disguise of a puzzle has the same
+     * canonical board as the puzzle, on the boards whose search is exact.
+     *
+     * @throws IOException
+     *                     if the corpus could not be read
+     */
+    @Test
+    public void disguisedPuzzlesHaveTheSameCanonicalBoard() throws IOException
+    {
+        Random random = new Random(seed);
+
+        for (SudokuBoard puzzle : TestCorpus.load())
+        {
+            if (puzzle.getBoardSize() > largestExactSize)
+            {
+                continue;
+            }
+
+            CanonicalForm form = CanonicalForm.of(puzzle);
+
+            assertTrue(form.isExact());
+
+            for (int i = 0; i < disguises; i++)
+            {
+                SudokuBoard disguise = disguise(puzzle, random);
+                CanonicalForm other = CanonicalForm.of(disguise);
+
+                assertTrue(other.isExact());
+                assertEquals(form.getBoard(), other.getBoard());
+                assertEquals(form.getFingerprint(), other.getFingerprint());
+            }
+        }
+    }
+
+
+    /**
+     * Method to test that the moves of a canonical form turn the board
+     * into the canonical board and back, on every board size, including
+     * the ones whose search stops at its step limit.
+     *
+     * @throws IOException
+     *                     if the corpus could not be read
+     */
+    @Test
+    public void movesMapBoardsThereAndBack() throws IOException
+    {
+        Random random = new Random(seed);
+
+        for (SudokuBoard puzzle : TestCorpus.load())
+        {
+            SudokuBoard disguise = disguise(puzzle, random);
+            CanonicalForm form = CanonicalForm.of(disguise);
+
+            assertEquals(form.getBoard(), form.toCanonical(disguise));
+            assertEquals(disguise,
+                    form.toOriginal(form.toCanonical(disguise)));
+            assertEquals(disguise, form.toOriginal(form.getBoard()));
+        }
+    }
+
+
+    /**
+     * Method to test that a puzzle and its disguises have the same shape,
+     * which the solution cache uses before it finds a canonical form.
+     *
+     * @throws IOException
+     *                     if the corpus could not be read
+     */
+    @Test
+    public void disguisedPuzzlesHaveTheSameShape() throws IOException
+    {
+        Random random = new Random(seed);
+
+        for (SudokuBoard puzzle : TestCorpus.load())
+        {
+            long shape = CanonicalForm.getShape(puzzle);
+
+            for (int i = 0; i < disguises; i++)
+            {
+                assertEquals(shape,
+                        CanonicalForm.getShape(disguise(puzzle, random)));
+            }
+        }
+    }
+
+
+    /**
+     * Method to make a board that is the same puzzle as another, with a
+     * random relabeling, maybe transposed, and with random rows inside
+     * each band, bands, columns inside each stack, and stacks swapped.
+     *
+     * @param board
+     *              the board, which is not changed
+     * @param random
+     *               the random numbers that pick the moves
+     *
+     * @return the disguised board is returned
+     */
+    private static SudokuBoard disguise(SudokuBoard board, Random random)
+    {
+        int size = board.getBoardSize();
+        int width = board.getGeometry().getSquareWidth();
+        int[] labels = shuffled(size + 1, 1, random);
+        int[] rows = lineOrder(width, random);
+        int[] cols = lineOrder(width, random);
+        boolean transpose = random.nextBoolean();
+        SudokuBoard result = new SudokuBoard(size);
+
+        for (int row = 0; row < size; row++)
+        {
+            for (int col = 0; col < size; col++)
+            {
+                int value = transpose
+                        ? board.getValue(cols[col], rows[row])
+                        : board.getValue(rows[row], cols[col]);
+
+                result.setValue(row, col, labels[value]);
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Method to make a random order of the rows or columns of a board
+     * that keeps the lines of a band or stack together.
+     *
+     * @param width
+     *              the number of lines in a band or stack
+     * @param random
+     *               the random numbers that pick the order
+     *
+     * @return the line each line of the new board comes from is returned
+     */
+    private static int[] lineOrder(int width, Random random)
+    {
+        int[] bands = shuffled(width, 0, random);
+        int[] order = new int[width * width];
+
+        for (int band = 0; band < width; band++)
+        {
+            int[] lines = shuffled(width, 0, random);
+
+            for (int line = 0; line < width; line++)
+            {
+                order[band * width + line] = bands[band] * width
+                        + lines[line];
+            }
+        }
+        return order;
+    }
+
+
+    /**
+     * Method to make a random order of the numbers 0 to count - 1 that
+     * leaves the numbers below first where they are.
+     *
+     * @param count
+     *              the number of numbers
+     * @param first
+     *              the first number that is moved
+     * @param random
+     *               the random numbers that pick the order
+     *
+     * @return the numbers in a random order are returned
+     */
+    private static int[] shuffled(int count, int first, Random random)
+    {
+        int[] values = new int[count];
+
+        for (int i = 0; i < count; i++)
+        {
+            values[i] = i;
+        }
+
+        // Fisher-Yates shuffle
+        for (int i = count - 1; i > first; i--)
+        {
+            int j = first + random.nextInt(i - first + 1);
+            int temp = values[i];
+            values[i] = values[j];
+            values[j] = temp;
+        }
+        return values;
+    }
+}
+
+//end of CanonicalFormTest class
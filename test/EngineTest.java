@@ -0,0 +1,193 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+/**
+ * Program: EngineTest.java
+ *
+ * This class is used to test that every engine of the AIPlayer solves
+ * the puzzles of the corpus, which has puzzles of every board size, and
+ * that the engines agree on how many solutions a puzzle has. A solution
+ * must break no rules and keep every given value of its puzzle.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class EngineTest
+{
+    // most solutions counted, enough to tell a single solution apart
+    private static final long uniqueLimit = 2;
+
+    // most solutions counted on a puzzle with many of them
+    private static final long manyLimit = 500;
+
+    // board size of the corpus puzzles made to have more solutions
+    private static final int openSize = 9;
+
+
+    /**
+     * Method to test that every engine solves every puzzle of the corpus
+     * and leaves the puzzle it was given as it was.
+     *
+     * @throws IOException
+     *                     if the corpus could not be read
+     */
+    @Test
+    public void everyEngineSolvesTheCorpus() throws IOException
+    {
+        for (AIPlayer.Engine engine : AIPlayer.Engine.values())
+        {
+            for (SudokuBoard puzzle : TestCorpus.load())
+            {
+                SudokuBoard given = puzzle.clone();
+                SolveResult result = player(puzzle, engine).solve();
+
+                assertTrue(engine + " found no solution", result.isSolved());
+                assertTrue(result.getSolution().isSolved());
+                assertKeepsGivens(puzzle, result.getSolution());
+                assertEquals(given, puzzle);
+            }
+        }
+    }
+
+
+    /**
+     * Method to test that every engine agrees on whether each puzzle of
+     * the corpus has a single solution.
+     *
+     * @throws IOException
+     *                     if the corpus could not be read
+     */
+    @Test
+    public void enginesAgreeOnUniqueSolutions() throws IOException
+    {
+        for (SudokuBoard puzzle : TestCorpus.load())
+        {
+            long expected = player(puzzle, AIPlayer.Engine.BACKTRACKING)
+                    .countSolutions(uniqueLimit);
+
+            for (AIPlayer.Engine engine : AIPlayer.Engine.values())
+            {
+                assertEquals(engine + " on a " + puzzle.getBoardSize() + "x"
+                        + puzzle.getBoardSize() + " puzzle", expected,
+                        player(puzzle, engine).countSolutions(uniqueLimit));
+            }
+        }
+    }
+
+
+    /**
+     * Method to test that every engine counts the same number of
+     * solutions, up to a limit, on 9x9 puzzles of the corpus with given
+     * values taken out until they have more than one solution.
+     *
+     * @throws IOException
+     *                     if the corpus could not be read
+     */
+    @Test
+    public void enginesAgreeOnSolutionCounts() throws IOException
+    {
+        for (SudokuBoard puzzle : TestCorpus.load())
+        {
+            if (puzzle.getBoardSize() != openSize)
+            {
+                continue;
+            }
+
+            SudokuBoard open = removeClues(puzzle);
+            long expected = player(open, AIPlayer.Engine.BACKTRACKING)
+                    .countSolutions(manyLimit);
+
+            assertTrue(expected > 1);
+
+            for (AIPlayer.Engine engine : AIPlayer.Engine.values())
+            {
+                assertEquals(engine.name(), expected,
+                        player(open, engine).countSolutions(manyLimit));
+            }
+        }
+    }
+
+
+    /**
+     * Method to make an AIPlayer for an engine that always searches,
+     * without a solution cache or store.
+     *
+     * @param puzzle
+     *               the puzzle the AIPlayer solves
+     * @param engine
+     *               the engine the AIPlayer uses
+     *
+     * @return the AIPlayer is returned
+     */
+    private static AIPlayer player(SudokuBoard puzzle, AIPlayer.Engine engine)
+    {
+        AIPlayer player = new AIPlayer(puzzle, engine);
+
+        player.setCache(null);
+        player.setStore(null);
+        return player;
+    }
+
+
+    /**
+     * Method to check that a solution holds every given value of its
+     * puzzle.
+     *
+     * @param puzzle
+     *               the puzzle
+     * @param solution
+     *                 the solution of the puzzle
+     */
+    private static void assertKeepsGivens(SudokuBoard puzzle,
+            SudokuBoard solution)
+    {
+        int size = puzzle.getBoardSize();
+
+        for (int row = 0; row < size; row++)
+        {
+            for (int col = 0; col < size; col++)
+            {
+                if (puzzle.getValue(row, col) != 0)
+                {
+                    assertEquals(puzzle.getValue(row, col),
+                            solution.getValue(row, col));
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Method to make a copy of a puzzle with its given values taken out
+     * from the last location back, until it has more than one solution.
+     *
+     * @param puzzle
+     *               the puzzle, which is not changed
+     *
+     * @return the copy with fewer given values is returned
+     */
+    private static SudokuBoard removeClues(SudokuBoard puzzle)
+    {
+        SudokuBoard open = puzzle.clone();
+        int size = open.getBoardSize();
+
+        for (int cell = size * size - 1; cell >= 0; cell--)
+        {
+            if (player(open, AIPlayer.Engine.BACKTRACKING)
+                    .countSolutions(uniqueLimit) > 1)
+            {
+                break;
+            }
+            open.setValue(cell / size, cell % size, 0);
+        }
+        return open;
+    }
+}
+
+//end of EngineTest class
@@ -0,0 +1,338 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Program: PuzzleCorpusTest.java
+ *
+ * This class is used to test that a corpus written by a CorpusWriter is
+ * read back by a PuzzleCorpus with every puzzle and solution where it was
+ * added, that its shards cover every puzzle once, and that a file that is
+ * not a whole corpus is told apart from one that is.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class PuzzleCorpusTest
+{
+    // folder of the files of each test, removed after it
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    // puzzles written, more than fit in one block of the writer
+    private static final int puzzles = 1000;
+
+    // board size of the puzzles written
+    private static final int size = 9;
+
+    // most shards a corpus is split into, more than it has puzzles
+    private static final int maxShards = 20;
+
+    // field to get rid of the magic number problem
+    private static final long seed = 20261018L;
+
+
+    /**
+     * Method to test that every puzzle and solution added to a corpus is
+     * read back at its index, and by the iterator in order.
+     *
+     * @throws IOException
+     *                     if the corpus could not be written or read
+     */
+    @Test
+    public void puzzlesAndSolutionsRoundTrip() throws IOException
+    {
+        List<SudokuBoard[]> pairs = pairs(puzzles);
+        String fileName = write(pairs, true);
+
+        try (PuzzleCorpus corpus = new PuzzleCorpus(fileName))
+        {
+            assertEquals(puzzles, corpus.getCount());
+            assertEquals(size, corpus.getBoardSize());
+            assertTrue(corpus.hasSolutions());
+
+            Iterator<SudokuBoard> boards = corpus.iterator();
+
+            for (int i = 0; i < puzzles; i++)
+            {
+                assertEquals(pairs.get(i)[0], corpus.getPuzzle(i).unpack());
+                assertEquals(pairs.get(i)[1],
+                        corpus.getSolution(i).unpack());
+                assertEquals(pairs.get(i)[0], boards.next());
+            }
+            assertFalse(boards.hasNext());
+        }
+    }
+
+
+    /**
+     * Method to test that a corpus written without solutions does not
+     * hand any out.
+     *
+     * @throws IOException
+     *                     if the corpus could not be written or read
+     */
+    @Test
+    public void corpusWithoutSolutions() throws IOException
+    {
+        List<SudokuBoard[]> pairs = pairs(1);
+
+        try (PuzzleCorpus corpus = new PuzzleCorpus(write(pairs, false)))
+        {
+            assertFalse(corpus.hasSolutions());
+            assertEquals(pairs.get(0)[0], corpus.getBoard(0));
+            corpus.getSolution(0);
+            fail("a solution was read from a corpus without solutions");
+        }
+        catch (IllegalStateException e)
+        {
+            assertTrue(e.getMessage().endsWith("does not hold solutions"));
+        }
+    }
+
+
+    /**
+     * Method to test that the shards of a corpus start at 0, end at its
+     * count, and differ in size by at most one puzzle, for corpora with
+     * fewer and more puzzles than shards, and that a shard that does not
+     * exist is refused.
+     *
+     * @throws IOException
+     *                     if the corpus could not be written or read
+     */
+    @Test
+    public void shardsCoverEveryPuzzle() throws IOException
+    {
+        List<SudokuBoard[]> pairs = pairs(maxShards - 1);
+
+        for (int count = 0; count < pairs.size(); count++)
+        {
+            String fileName = write(pairs.subList(0, count), false);
+
+            try (PuzzleCorpus corpus = new PuzzleCorpus(fileName))
+            {
+                for (int shards = 1; shards <= maxShards; shards++)
+                {
+                    assertShards(corpus, shards);
+                }
+                assertNoShard(corpus, -1, 1);
+                assertNoShard(corpus, 2, 1);
+                assertNoShard(corpus, 0, 0);
+            }
+        }
+    }
+
+
+    /**
+     * Method to test that a corpus whose file is shorter than its header
+     * says is refused.
+     *
+     * @throws IOException
+     *                     if the corpus could not be written or read
+     */
+    @Test
+    public void truncatedCorpusIsCutShort() throws IOException
+    {
+        String fileName = write(pairs(puzzles), true);
+
+        try (RandomAccessFile raf = new RandomAccessFile(fileName, "rw"))
+        {
+            raf.setLength(raf.length() - 1);
+        }
+
+        try
+        {
+            new PuzzleCorpus(fileName).close();
+            fail("a corpus that is cut short was opened");
+        }
+        catch (IOException e)
+        {
+            assertTrue(e.getMessage(), e.getMessage().endsWith("cut short"));
+        }
+    }
+
+
+    /**
+     * Method to test that only a corpus is taken for one, and not a text
+     * file of puzzles, a file too short to have a header, or a file that
+     * does not exist.
+     *
+     * @throws IOException
+     *                     if the files could not be written
+     */
+    @Test
+    public void isCorpusOnlyForCorpora() throws IOException
+    {
+        File text = folder.newFile("puzzles.txt");
+        File tiny = folder.newFile("tiny.corpus");
+
+        Files.write(text.toPath(), Arrays.asList(
+                PuzzleReader.toLine(pairs(1).get(0)[0])),
+                StandardCharsets.UTF_8);
+        Files.write(tiny.toPath(), new byte[] {1, 2, 3});
+
+        assertTrue(PuzzleCorpus.isCorpus(write(pairs(1), false)));
+        assertFalse(PuzzleCorpus.isCorpus(text.getPath()));
+        assertFalse(PuzzleCorpus.isCorpus(tiny.getPath()));
+        assertFalse(PuzzleCorpus.isCorpus(
+                new File(folder.getRoot(), "missing.corpus").getPath()));
+
+        try
+        {
+            new PuzzleCorpus(text.getPath()).close();
+            fail("a text file was opened as a corpus");
+        }
+        catch (IOException e)
+        {
+            assertTrue(e.getMessage().endsWith("is not a puzzle corpus"));
+        }
+    }
+
+
+    /**
+     * Method to check the shards of a corpus split into a number of
+     * shards.
+     *
+     * @param corpus
+     *               the corpus
+     * @param shards
+     *               the number of shards
+     */
+    private static void assertShards(PuzzleCorpus corpus, int shards)
+    {
+        long count = corpus.getCount();
+        long smallest = count / shards;
+
+        assertEquals(0, corpus.getShardStart(0, shards));
+        assertEquals(count, corpus.getShardStart(shards, shards));
+
+        for (int shard = 0; shard < shards; shard++)
+        {
+            long puzzlesInShard = corpus.getShardStart(shard + 1, shards)
+                    - corpus.getShardStart(shard, shards);
+
+            assertTrue(puzzlesInShard == smallest
+                    || puzzlesInShard == smallest + 1);
+        }
+    }
+
+
+    /**
+     * Method to check that a shard that does not exist is refused.
+     *
+     * @param corpus
+     *               the corpus
+     * @param shard
+     *              the shard
+     * @param shards
+     *               the number of shards
+     */
+    private static void assertNoShard(PuzzleCorpus corpus, int shard,
+            int shards)
+    {
+        try
+        {
+            corpus.getShardStart(shard, shards);
+            fail("shard " + shard + " of " + shards + " was found");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertTrue(e.getMessage().endsWith("does not exist"));
+        }
+    }
+
+
+    /**
+     * Method to write puzzles to a new corpus.
+     *
+     * @param pairs
+     *              the puzzles, each followed by its solution
+     * @param solutions
+     *                  true if the solutions are written as well
+     *
+     * @return the name of the file of the corpus is returned
+     *
+     * @throws IOException
+     *                     if the corpus could not be written
+     */
+    private String write(List<SudokuBoard[]> pairs, boolean solutions)
+            throws IOException
+    {
+        File file = File.createTempFile("puzzles", ".corpus",
+                folder.getRoot());
+
+        try (CorpusWriter writer = new CorpusWriter(file.getPath(), size,
+                solutions))
+        {
+            for (SudokuBoard[] pair : pairs)
+            {
+                if (solutions)
+                {
+                    writer.add(pair[0], pair[1]);
+                }
+                else
+                {
+                    writer.add(pair[0]);
+                }
+            }
+        }
+        return file.getPath();
+    }
+
+
+    /**
+     * Method to make different puzzles with their solutions. Each
+     * solution is a new random grid, and its puzzle has about half of the
+     * values of the grid.
+     *
+     * @param count
+     *              the number of puzzles
+     *
+     * @return the puzzles, each followed by its solution, are returned
+     */
+    private static List<SudokuBoard[]> pairs(int count)
+    {
+        PuzzleGenerator generator = new PuzzleGenerator(size, seed);
+        Random random = new Random(seed);
+        List<SudokuBoard[]> pairs = new ArrayList<SudokuBoard[]>();
+
+        for (int i = 0; i < count; i++)
+        {
+            SudokuBoard solution = generator.generateSolution();
+            SudokuBoard puzzle = solution.clone();
+
+            for (int row = 0; row < size; row++)
+            {
+                for (int col = 0; col < size; col++)
+                {
+                    if (random.nextBoolean())
+                    {
+                        puzzle.setValue(row, col, 0);
+                    }
+                }
+            }
+            pairs.add(new SudokuBoard[] {puzzle, solution});
+        }
+        return pairs;
+    }
+}
+
+//end of PuzzleCorpusTest class
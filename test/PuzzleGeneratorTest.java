@@ -0,0 +1,131 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * Program: PuzzleGeneratorTest.java
+ *
+ * This class is used to test that PuzzleGenerator makes puzzles with a
+ * single solution and no more given values than their difficulty asks
+ * for, on every board size small enough to make puzzles on quickly, and
+ * that it throws instead of returning an easier puzzle when a target can
+ * not be reached.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class PuzzleGeneratorTest
+{
+    // board sizes puzzles are made on, 25x25 takes seconds a puzzle
+    private static final int[] sizes = {4, 9, 16};
+
+    // puzzles made at each size and difficulty
+    private static final int puzzles = 3;
+
+    // largest board size HARD can be reached on
+    private static final int largestHardSize = 9;
+
+    // fewer given values than any 9x9 puzzle with one solution has
+    private static final int belowFewestClues = 16;
+
+    // field to get rid of the magic number problem
+    private static final long seed = 20261018L;
+
+
+    /**
+     * Method to test that puzzles of every difficulty have a single
+     * solution and at most the given values of their difficulty, and
+     * that HARD throws on the boards it can not be reached on.
+     */
+    @Test
+    public void everyDifficultyHasOneSolution()
+    {
+        for (int size : sizes)
+        {
+            PuzzleGenerator generator = new PuzzleGenerator(size, seed);
+
+            for (PuzzleGenerator.Difficulty difficulty
+                    : PuzzleGenerator.Difficulty.values())
+            {
+                if (difficulty == PuzzleGenerator.Difficulty.HARD
+                        && size > largestHardSize)
+                {
+                    assertThrows(generator, difficulty.getClues(size));
+                    continue;
+                }
+
+                for (int i = 0; i < puzzles; i++)
+                {
+                    SudokuBoard puzzle = generator.generate(difficulty);
+
+                    assertEquals(size, puzzle.getBoardSize());
+                    assertTrue(difficulty + " on " + size + "x" + size,
+                            AIPlayer.hasUniqueSolution(puzzle));
+                    assertTrue(puzzle.getFilledCount()
+                            <= difficulty.getClues(size));
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Method to test that a target below the fewest given values a puzzle
+     * can have throws instead of returning a puzzle with more.
+     */
+    @Test
+    public void unreachableTargetThrows()
+    {
+        assertThrows(new PuzzleGenerator(9, seed), belowFewestClues);
+    }
+
+
+    /**
+     * Method to test that two generators with the same seed make the same
+     * puzzles.
+     */
+    @Test
+    public void sameSeedMakesSamePuzzles()
+    {
+        PuzzleGenerator first = new PuzzleGenerator(9, seed);
+        PuzzleGenerator second = new PuzzleGenerator(9, seed);
+
+        for (int i = 0; i < puzzles; i++)
+        {
+            assertEquals(first.generate(PuzzleGenerator.Difficulty.HARD),
+                    second.generate(PuzzleGenerator.Difficulty.HARD));
+        }
+    }
+
+
+    /**
+     * Method to check that making a puzzle with a number of given values
+     * throws an IllegalStateException.
+     *
+     * @param generator
+     *                  the generator that makes the puzzle
+     * @param targetClues
+     *                    the number of given values that can not be
+     *                    reached
+     */
+    private static void assertThrows(PuzzleGenerator generator,
+            int targetClues)
+    {
+        try
+        {
+            generator.generate(targetClues);
+            fail("a puzzle with " + targetClues + " given values was made");
+        }
+        catch (IllegalStateException e)
+        {
+            assertTrue(e.getMessage(),
+                    e.getMessage().contains("the fewest reached was"));
+        }
+    }
+}
+
+//end of PuzzleGeneratorTest class
@@ -0,0 +1,191 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+import org.junit.Test;
+
+/**
+ * Program: PuzzleReaderTest.java
+ *
+ * This class is used to test that PuzzleReader reads both puzzle formats,
+ * mixed in one file, and that a malformed puzzle gives exactly one error
+ * and leaves the reader at the start of the puzzle after it.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class PuzzleReaderTest
+{
+    // the same 4x4 puzzle in both formats
+    private static final String header = "4\n0 1 3 0\n0 0 0 4\n"
+            + "3 0 0 0\n1 0 0 0\n";
+    private static final String single = ".13....43...1...";
+
+
+    /**
+     * Method to test that a board in each format is read, with blank
+     * lines between them skipped, and that they are the same puzzle.
+     *
+     * @throws IOException
+     *                     if the puzzles could not be read
+     */
+    @Test
+    public void readsBothFormats() throws IOException
+    {
+        PuzzleReader reader = reader(header + "\n\n" + single + "\n");
+        SudokuBoard first = reader.next();
+        SudokuBoard second = reader.next();
+
+        assertEquals(PuzzleReader.parseLine(single), first);
+        assertEquals(first, second);
+        assertNull(reader.next());
+    }
+
+
+    /**
+     * Method to test that a size header board with a bad row gives one
+     * error, and that the puzzle after it is read next.
+     *
+     * @throws IOException
+     *                     if the puzzles could not be read
+     */
+    @Test
+    public void badHeaderBoardIsSkippedAsOne() throws IOException
+    {
+        PuzzleReader reader = reader("4\n0 1 3 0\n0 x 0 4\n3 0 0 0\n"
+                + "1 0 0 0\n" + single + "\n");
+
+        assertErrorOnLine(reader, 3);
+        assertEquals(PuzzleReader.parseLine(single), reader.next());
+        assertNull(reader.next());
+    }
+
+
+    /**
+     * Method to test that a board with a size that is not supported is
+     * skipped as one error, with its rows.
+     *
+     * @throws IOException
+     *                     if the puzzles could not be read
+     */
+    @Test
+    public void unsupportedSizeIsSkippedAsOne() throws IOException
+    {
+        PuzzleReader reader = reader("2\n1 2\n2 1\n" + header);
+
+        try
+        {
+            reader.next();
+            fail("a board of size 2 was read");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertTrue(e.getMessage().contains("not supported"));
+        }
+        assertEquals(PuzzleReader.parseLine(single), reader.next());
+        assertNull(reader.next());
+    }
+
+
+    /**
+     * Method to test that a bad single line puzzle only takes its own
+     * line, and that the iterator goes on after it.
+     *
+     * @throws IOException
+     *                     if the puzzles could not be read
+     */
+    @Test
+    public void iteratorGoesOnAfterAnError() throws IOException
+    {
+        PuzzleReader reader = reader(single + "\n.13..Z.43...1...\n"
+                + header);
+        int read = 0;
+        int errors = 0;
+
+        for (Iterator<SudokuBoard> puzzles = reader.iterator();
+                puzzles.hasNext();)
+        {
+            try
+            {
+                puzzles.next();
+                read++;
+            }
+            catch (IllegalArgumentException e)
+            {
+                errors++;
+            }
+        }
+        assertEquals(2, read);
+        assertEquals(1, errors);
+    }
+
+
+    /**
+     * Method to test that a file that ends in the middle of a board
+     * gives an error.
+     *
+     * @throws IOException
+     *                     if the puzzles could not be read
+     */
+    @Test
+    public void endInsideBoardIsAnError() throws IOException
+    {
+        PuzzleReader reader = reader("4\n0 1 3 0\n0 0 0 4\n");
+
+        assertErrorOnLine(reader, 3);
+        assertNull(reader.next());
+    }
+
+
+    /**
+     * Method to make a reader over the bytes of a text.
+     *
+     * @param text
+     *             the text that is read
+     *
+     * @return the reader is returned
+     */
+    private static PuzzleReader reader(String text)
+    {
+        return new PuzzleReader(new ByteArrayInputStream(
+                text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+
+    /**
+     * Method to check that the next puzzle gives an error that names a
+     * line.
+     *
+     * @param reader
+     *               the reader
+     * @param line
+     *             the line the error should name
+     *
+     * @throws IOException
+     *                     if the puzzles could not be read
+     */
+    private static void assertErrorOnLine(PuzzleReader reader, int line)
+            throws IOException
+    {
+        try
+        {
+            reader.next();
+            fail("a malformed puzzle was read");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertTrue(e.getMessage(),
+                    e.getMessage().startsWith("Line " + line + ":"));
+        }
+    }
+}
+
+//end of PuzzleReaderTest class
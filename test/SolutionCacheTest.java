@@ -0,0 +1,340 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Program: SolutionCacheTest.java
+ *
+ * This class is used to test that a SolutionCache finds a puzzle that was
+ * relabeled or transposed by its canonical form and maps the solution
+ * over to it, that LRU and LFU each evict the puzzle they should, and that
+ * the cache never holds more puzzles than its capacity.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class SolutionCacheTest
+{
+    // board size of the corpus puzzles that have a single solution
+    private static final int uniqueSize = 9;
+
+    // capacity that always makes two segments, the first with room for
+    // two puzzles
+    private static final int twoSegments = 3;
+
+    // puzzles stored in the first segment, one more than it has room for
+    private static final int crowded = 3;
+
+    // bit of the Zobrist hash that picks the segment of a puzzle
+    private static final int segmentBit = 40;
+
+    // puzzles stored in the small cache, and its capacity
+    private static final int stored = 500;
+    private static final int smallCapacity = 100;
+
+    // field to get rid of the magic number problem
+    private static final long seed = 20261018L;
+
+
+    /**
+     * Method to test that a relabeled and a transposed copy of each 9x9
+     * puzzle of the corpus are found by their canonical form, with a
+     * solution of the copy, and as they are given after that.
+     *
+     * @throws IOException
+     *                     if the corpus could not be read
+     */
+    @Test
+    public void copiesAreCanonicalHits() throws IOException
+    {
+        Random random = new Random(seed);
+
+        for (SudokuBoard puzzle : TestCorpus.load())
+        {
+            if (puzzle.getBoardSize() != uniqueSize)
+            {
+                continue;
+            }
+
+            SudokuBoard[] copies = {relabel(puzzle, random),
+                    transpose(puzzle)};
+
+            for (SudokuBoard copy : copies)
+            {
+                SolutionCache cache = new SolutionCache(
+                        SolutionCache.Policy.LRU, smallCapacity);
+
+                cache.put(puzzle, solve(puzzle));
+
+                SudokuBoard solution = cache.get(copy);
+
+                assertNotNull(solution);
+                assertEquals(1, cache.getCanonicalHits());
+                assertEquals(solve(copy), solution);
+
+                assertEquals(solution, cache.get(copy));
+                assertEquals(1, cache.getHits());
+                assertEquals(0, cache.getMisses());
+            }
+        }
+    }
+
+
+    /**
+     * Method to test that LRU evicts the puzzle used least recently, even
+     * if it was used more often than the others.
+     *
+     * @throws IOException
+     *                     if the corpus could not be read
+     */
+    @Test
+    public void lruEvictsLeastRecentlyUsed() throws IOException
+    {
+        List<SudokuBoard> puzzles = sameSegmentPuzzles();
+        SudokuBoard solution = solve(puzzles.get(0));
+        SolutionCache cache = fillAndUse(SolutionCache.Policy.LRU, puzzles,
+                solution);
+
+        assertNull(cache.get(puzzles.get(0)));
+        assertEquals(solution, cache.get(puzzles.get(1)));
+        assertEquals(solution, cache.get(puzzles.get(2)));
+        assertEquals(1, cache.getEvictions());
+    }
+
+
+    /**
+     * Method to test that LFU evicts the puzzle used least often, even if
+     * it was used more recently than the others.
+     *
+     * @throws IOException
+     *                     if the corpus could not be read
+     */
+    @Test
+    public void lfuEvictsLeastOftenUsed() throws IOException
+    {
+        List<SudokuBoard> puzzles = sameSegmentPuzzles();
+        SudokuBoard solution = solve(puzzles.get(0));
+        SolutionCache cache = fillAndUse(SolutionCache.Policy.LFU, puzzles,
+                solution);
+
+        assertEquals(solution, cache.get(puzzles.get(0)));
+        assertNull(cache.get(puzzles.get(1)));
+        assertEquals(solution, cache.get(puzzles.get(2)));
+        assertEquals(1, cache.getEvictions());
+    }
+
+
+    /**
+     * Method to test that a cache of each policy never holds more puzzles
+     * than its capacity, and that every puzzle it let go of was counted as
+     * evicted.
+     */
+    @Test
+    public void sizeNeverExceedsCapacity()
+    {
+        for (SolutionCache.Policy policy : new SolutionCache.Policy[] {
+                SolutionCache.Policy.LRU, SolutionCache.Policy.LFU})
+        {
+            PuzzleGenerator generator = new PuzzleGenerator(uniqueSize,
+                    seed);
+            SolutionCache cache = new SolutionCache(policy, smallCapacity);
+
+            for (int i = 0; i < stored; i++)
+            {
+                SudokuBoard grid = generator.generateSolution();
+
+                cache.put(grid, grid);
+                assertTrue(cache.toString(),
+                        cache.getSize() <= smallCapacity);
+            }
+            assertEquals(stored, cache.getSize() + cache.getEvictions());
+        }
+    }
+
+
+    /**
+     * Method to make a cache with room for two puzzles in the segment of
+     * three puzzles, and store and look them up so LRU and LFU evict a
+     * different one. The first puzzle is used twice and the second once,
+     * most recently, before the third is stored.
+     *
+     * @param policy
+     *               the policy of the cache
+     * @param puzzles
+     *                three puzzles in the first segment
+     * @param solution
+     *                 the solution of the puzzles
+     *
+     * @return the cache is returned
+     */
+    private static SolutionCache fillAndUse(SolutionCache.Policy policy,
+            List<SudokuBoard> puzzles, SudokuBoard solution)
+    {
+        SolutionCache cache = new SolutionCache(policy, twoSegments);
+
+        cache.put(puzzles.get(0), solution);
+        cache.put(puzzles.get(1), solution);
+        cache.get(puzzles.get(0));
+        cache.get(puzzles.get(0));
+        cache.get(puzzles.get(1));
+        cache.put(puzzles.get(2), solution);
+        return cache;
+    }
+
+
+    /**
+     * Method to make three puzzles that fall in the first of two
+     * segments, each the first 9x9 puzzle of the corpus with one more
+     * location cleared.
+     *
+     * @return the puzzles are returned
+     *
+     * @throws IOException
+     *                     if the corpus could not be read
+     */
+    private static List<SudokuBoard> sameSegmentPuzzles() throws IOException
+    {
+        SudokuBoard puzzle = firstUniquePuzzle();
+        List<SudokuBoard> puzzles = new ArrayList<SudokuBoard>();
+
+        for (int cell = 0; puzzles.size() < crowded; cell++)
+        {
+            int row = cell / uniqueSize;
+            int col = cell % uniqueSize;
+
+            if (puzzle.getValue(row, col) == 0)
+            {
+                continue;
+            }
+
+            SudokuBoard open = puzzle.clone();
+
+            open.setValue(row, col, 0);
+
+            if ((new PackedBoard(open).getZobristHash()
+                    >>> segmentBit & 1) == 0)
+            {
+                puzzles.add(open);
+            }
+        }
+        return puzzles;
+    }
+
+
+    /**
+     * Method to return the first 9x9 puzzle of the corpus.
+     *
+     * @return the puzzle is returned
+     *
+     * @throws IOException
+     *                     if the corpus could not be read
+     */
+    private static SudokuBoard firstUniquePuzzle() throws IOException
+    {
+        for (SudokuBoard puzzle : TestCorpus.load())
+        {
+            if (puzzle.getBoardSize() == uniqueSize)
+            {
+                return puzzle;
+            }
+        }
+        throw new IllegalStateException("The corpus has no 9x9 puzzle");
+    }
+
+
+    /**
+     * Method to solve a puzzle with a search, without a solution cache or
+     * store.
+     *
+     * @param puzzle
+     *               the puzzle, which is not changed
+     *
+     * @return the solution is returned
+     */
+    private static SudokuBoard solve(SudokuBoard puzzle)
+    {
+        AIPlayer player = new AIPlayer(puzzle);
+
+        player.setCache(null);
+        player.setStore(null);
+        return player.solve().getSolution();
+    }
+
+
+    /**
+     * Method to make a copy of a board with its values relabeled at
+     * random.
+     *
+     * @param board
+     *              the board, which is not changed
+     * @param random
+     *               the random numbers that pick the labels
+     *
+     * @return the relabeled board is returned
+     */
+    private static SudokuBoard relabel(SudokuBoard board, Random random)
+    {
+        int size = board.getBoardSize();
+        int[] labels = new int[size + 1];
+        SudokuBoard result = new SudokuBoard(size);
+
+        for (int i = 0; i <= size; i++)
+        {
+            labels[i] = i;
+        }
+
+        // Fisher-Yates shuffle that leaves the empty label where it is
+        for (int i = size; i > 1; i--)
+        {
+            int j = 1 + random.nextInt(i);
+            int temp = labels[i];
+            labels[i] = labels[j];
+            labels[j] = temp;
+        }
+
+        for (int row = 0; row < size; row++)
+        {
+            for (int col = 0; col < size; col++)
+            {
+                result.setValue(row, col, labels[board.getValue(row, col)]);
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Method to make a copy of a board with its rows and columns swapped.
+     *
+     * @param board
+     *              the board, which is not changed
+     *
+     * @return the transposed board is returned
+     */
+    private static SudokuBoard transpose(SudokuBoard board)
+    {
+        int size = board.getBoardSize();
+        SudokuBoard result = new SudokuBoard(size);
+
+        for (int row = 0; row < size; row++)
+        {
+            for (int col = 0; col < size; col++)
+            {
+                result.setValue(row, col, board.getValue(col, row));
+            }
+        }
+        return result;
+    }
+}
+
+//end of SolutionCacheTest class
@@ -0,0 +1,310 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Program: SolutionStoreTest.java
+ *
+ * This class is used to test that a SolutionStore keeps every solution
+ * put in it when its files grow and after it is closed and opened again,
+ * that only one store can have a directory open at a time, and that a
+ * file that is not a store of its board size is refused with an
+ * IOException instead of being read.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class SolutionStoreTest
+{
+    // folder of the stores of each test, removed after it
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    // puzzles put in the store, enough for its 1024 slots to grow twice
+    private static final int puzzles = 1500;
+
+    // times the slots of the store grow to hold the puzzles
+    private static final int growth = 4;
+
+    // bytes of the header of a file, before the slots
+    private static final int headerBytes = 64;
+
+    // board sizes of the store files that are damaged
+    private static final int storedSize = 9;
+    private static final int otherSize = 4;
+
+    // field to get rid of the magic number problem
+    private static final long seed = 20261018L;
+
+
+    /**
+     * Method to test that every puzzle is found with its solution after
+     * the file of the store has grown twice, and again after the store
+     * is closed and opened.
+     *
+     * @throws IOException
+     *                     if the store could not be opened
+     */
+    @Test
+    public void keepsSolutionsThroughGrowsAndReopen() throws IOException
+    {
+        String directory = folder.newFolder("store").getPath();
+        File file = storeFile(directory, storedSize);
+        List<SudokuBoard[]> pairs = pairs(puzzles);
+        SolutionStore store = new SolutionStore(directory);
+
+        assertNull(store.get(pairs.get(0)[0]));
+
+        long firstSlots = file.length() - headerBytes;
+
+        for (SudokuBoard[] pair : pairs)
+        {
+            store.put(pair[0], pair[1]);
+        }
+        assertEquals(growth * firstSlots, file.length() - headerBytes);
+        assertFindsAll(store, pairs);
+        store.close();
+
+        SolutionStore reopened = new SolutionStore(directory);
+
+        assertFindsAll(reopened, pairs);
+        assertEquals(puzzles, reopened.getSize());
+        reopened.close();
+    }
+
+
+    /**
+     * Method to test that a second store can not open a directory while
+     * the first has it open, and can once the first is closed.
+     *
+     * @throws IOException
+     *                     if the store could not be opened
+     */
+    @Test
+    public void secondOpenIsRefused() throws IOException
+    {
+        String directory = folder.newFolder("store").getPath();
+        SolutionStore store = new SolutionStore(directory);
+
+        try
+        {
+            new SolutionStore(directory);
+            fail("a store that is in use was opened");
+        }
+        catch (IOException e)
+        {
+            assertTrue(e.getMessage(),
+                    e.getMessage().endsWith("is already in use"));
+        }
+        store.close();
+        new SolutionStore(directory).close();
+    }
+
+
+    /**
+     * Method to test that a file of another board size is refused.
+     *
+     * @throws IOException
+     *                     if the store could not be opened
+     */
+    @Test
+    public void wrongSizeFileIsRefused() throws IOException
+    {
+        String directory = storeWithOnePuzzle();
+
+        Files.move(storeFile(directory, storedSize).toPath(),
+                storeFile(directory, otherSize).toPath());
+        assertRefused(directory, new SudokuBoard(otherSize),
+                "holds boards of size " + storedSize + ", not " + otherSize);
+    }
+
+
+    /**
+     * Method to test that a file whose header was written over is
+     * refused.
+     *
+     * @throws IOException
+     *                     if the store could not be opened
+     */
+    @Test
+    public void damagedFileIsRefused() throws IOException
+    {
+        String directory = storeWithOnePuzzle();
+
+        try (RandomAccessFile raf = new RandomAccessFile(
+                storeFile(directory, storedSize), "rw"))
+        {
+            raf.write(new byte[headerBytes]);
+        }
+        assertRefused(directory, new SudokuBoard(storedSize),
+                "is not a solution store");
+    }
+
+
+    /**
+     * Method to test that a file with fewer slots than its header says is
+     * refused.
+     *
+     * @throws IOException
+     *                     if the store could not be opened
+     */
+    @Test
+    public void cutShortFileIsRefused() throws IOException
+    {
+        String directory = storeWithOnePuzzle();
+        File file = storeFile(directory, storedSize);
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+        {
+            raf.setLength(file.length() / 2);
+        }
+        assertRefused(directory, new SudokuBoard(storedSize),
+                "is cut short");
+    }
+
+
+    /**
+     * Method to make a store with one puzzle in it, and close it.
+     *
+     * @return the directory of the store is returned
+     *
+     * @throws IOException
+     *                     if the store could not be opened
+     */
+    private String storeWithOnePuzzle() throws IOException
+    {
+        String directory = folder.newFolder("store").getPath();
+        SudokuBoard[] pair = pairs(1).get(0);
+        SolutionStore store = new SolutionStore(directory);
+
+        store.put(pair[0], pair[1]);
+        store.close();
+        return directory;
+    }
+
+
+    /**
+     * Method to check that looking up a board in a store fails with an
+     * IOException, and that the store still lets go of its directory.
+     *
+     * @param directory
+     *                  the directory of the store
+     * @param board
+     *              the board that is looked up
+     * @param message
+     *                the end of the message of the IOException
+     *
+     * @throws IOException
+     *                     if the store could not be opened
+     */
+    private static void assertRefused(String directory, SudokuBoard board,
+            String message) throws IOException
+    {
+        SolutionStore store = new SolutionStore(directory);
+
+        try
+        {
+            store.get(board);
+            fail("a damaged store file was read");
+        }
+        catch (UncheckedIOException e)
+        {
+            assertTrue(e.getCause().getMessage(),
+                    e.getCause().getMessage().endsWith(message));
+        }
+        finally
+        {
+            store.close();
+        }
+    }
+
+
+    /**
+     * Method to make different 9x9 puzzles with their solutions. Each
+     * solution is a new random grid, and its puzzle has about half of the
+     * values of the grid.
+     *
+     * @param count
+     *              the number of puzzles
+     *
+     * @return the puzzles, each followed by its solution, are returned
+     */
+    private static List<SudokuBoard[]> pairs(int count)
+    {
+        PuzzleGenerator generator = new PuzzleGenerator(storedSize, seed);
+        Random random = new Random(seed);
+        List<SudokuBoard[]> pairs = new ArrayList<SudokuBoard[]>();
+
+        for (int i = 0; i < count; i++)
+        {
+            SudokuBoard solution = generator.generateSolution();
+            SudokuBoard puzzle = solution.clone();
+
+            for (int row = 0; row < storedSize; row++)
+            {
+                for (int col = 0; col < storedSize; col++)
+                {
+                    if (random.nextBoolean())
+                    {
+                        puzzle.setValue(row, col, 0);
+                    }
+                }
+            }
+            pairs.add(new SudokuBoard[] {puzzle, solution});
+        }
+        return pairs;
+    }
+
+
+    /**
+     * Method to check that a store finds every puzzle with its solution.
+     *
+     * @param store
+     *              the store
+     * @param pairs
+     *              the puzzles, each followed by its solution
+     */
+    private static void assertFindsAll(SolutionStore store,
+            List<SudokuBoard[]> pairs)
+    {
+        for (SudokuBoard[] pair : pairs)
+        {
+            assertEquals(Arrays.toString(pair), pair[1], store.get(pair[0]));
+        }
+    }
+
+
+    /**
+     * Method to return the file of a board size in a store.
+     *
+     * @param directory
+     *                  the directory of the store
+     * @param size
+     *             the board size
+     *
+     * @return the file is returned
+     */
+    private static File storeFile(String directory, int size)
+    {
+        return new File(directory, "solutions-" + size + ".store");
+    }
+}
+
+//end of SolutionStoreTest class
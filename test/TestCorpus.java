@@ -0,0 +1,63 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Program: TestCorpus.java
+ *
+ * This class is used by the tests to load the puzzles of the benchmark
+ * corpus, which has an easy and a hard puzzle of every board size. Each
+ * line of the corpus is the name of a puzzle followed by the puzzle in
+ * the single line format.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class TestCorpus
+{
+    // file of the corpus, from the directory the tests are run in
+    private static final String corpusFile =
+            "benchmarks/src/main/resources/corpus.txt";
+
+
+    /**
+     * Constructor for the TestCorpus class, which is never used.
+     *
+     */
+    private TestCorpus()
+    {
+    }
+
+
+    /**
+     * Method to load every puzzle of the corpus.
+     *
+     * @return the puzzles of the corpus are returned, in file order
+     *
+     * @throws IOException
+     *                     if the corpus could not be read
+     */
+    public static List<SudokuBoard> load() throws IOException
+    {
+        List<SudokuBoard> puzzles = new ArrayList<SudokuBoard>();
+
+        for (String line : Files.readAllLines(Paths.get(corpusFile),
+                StandardCharsets.UTF_8))
+        {
+            String[] parts = line.trim().split("\\s+");
+
+            if (parts.length == 2)
+            {
+                puzzles.add(PuzzleReader.parseLine(parts[1]));
+            }
+        }
+        return puzzles;
+    }
+}
+
+//end of TestCorpus class
@@ -0,0 +1,170 @@
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Program: ZobristTest.java
+ *
+ * This class is used to test that the Zobrist hash SudokuBoard keeps up
+ * to date in setValue() is always the hash worked out from scratch, after
+ * values are set, changed, and cleared at random and then undone, either
+ * by setValue() itself or by an UndoTrail.
+ *
+ * @author Bradley Cronce
+ *         Jake Pollard
+ *
+ * @version 10/18/2026
+ */
+public class ZobristTest
+{
+    // random changes made to each puzzle
+    private static final int changes = 2000;
+
+    // field to get rid of the magic number problem
+    private static final long seed = 20261018L;
+
+
+    /**
+     * Method to test the hash after random setValue() calls, each of
+     * which is later undone by setting the old value back.
+     *
+     * @throws IOException
+     *                     if the corpus could not be read
+     */
+    @Test
+    public void setValueKeepsTheHash() throws IOException
+    {
+        Random random = new Random(seed);
+
+        for (SudokuBoard puzzle : TestCorpus.load())
+        {
+            SudokuBoard board = puzzle.clone();
+            int size = board.getBoardSize();
+            int[] cells = new int[changes];
+            int[] oldValues = new int[changes];
+
+            assertEquals(fullHash(board), board.getZobristHash());
+
+            for (int i = 0; i < changes; i++)
+            {
+                int cell = random.nextInt(size * size);
+
+                cells[i] = cell;
+                oldValues[i] = board.getValue(cell / size, cell % size);
+                board.setValue(cell / size, cell % size,
+                        random.nextInt(size + 1));
+                assertEquals(fullHash(board), board.getZobristHash());
+            }
+
+            for (int i = changes - 1; i >= 0; i--)
+            {
+                board.setValue(cells[i] / size, cells[i] % size,
+                        oldValues[i]);
+                assertEquals(fullHash(board), board.getZobristHash());
+            }
+            assertEquals(puzzle, board);
+            assertEquals(puzzle.getZobristHash(), board.getZobristHash());
+        }
+    }
+
+
+    /**
+     * Method to test the hash after values are placed on empty locations
+     * with an UndoTrail and undone back to marks, the way the
+     * backtracking solver does it.
+     *
+     * @throws IOException
+     *                     if the corpus could not be read
+     */
+    @Test
+    public void undoTrailKeepsTheHash() throws IOException
+    {
+        Random random = new Random(seed);
+
+        for (SudokuBoard puzzle : TestCorpus.load())
+        {
+            SudokuBoard board = puzzle.clone();
+            int size = board.getBoardSize();
+            UndoTrail trail = new UndoTrail(size);
+            int start = trail.mark();
+
+            for (int i = 0; i < changes; i++)
+            {
+                int mark = trail.mark();
+                int cell = random.nextInt(size * size);
+
+                if (board.getValue(cell / size, cell % size) == 0)
+                {
+                    trail.assign(board, cell, 1 + random.nextInt(size));
+                    assertEquals(fullHash(board), board.getZobristHash());
+                }
+
+                // undo some of the values, the most recent first
+                if (random.nextBoolean())
+                {
+                    trail.undo(board, mark);
+                    assertEquals(fullHash(board), board.getZobristHash());
+                }
+            }
+            trail.undo(board, start);
+            assertEquals(puzzle, board);
+            assertEquals(puzzle.getZobristHash(), board.getZobristHash());
+        }
+    }
+
+
+    /**
+     * Method to test that a clone and a copy have the hash of the board
+     * they were made from.
+     *
+     * @throws IOException
+     *                     if the corpus could not be read
+     */
+    @Test
+    public void cloneAndCopyKeepTheHash() throws IOException
+    {
+        for (SudokuBoard puzzle : TestCorpus.load())
+        {
+            SudokuBoard copy = new SudokuBoard(puzzle.getBoardSize());
+
+            copy.copy(puzzle);
+            assertEquals(puzzle.getZobristHash(),
+                    puzzle.clone().getZobristHash());
+            assertEquals(puzzle.getZobristHash(), copy.getZobristHash());
+            assertEquals(fullHash(copy), copy.getZobristHash());
+        }
+    }
+
+
+    /**
+     * Method to work out the Zobrist hash of a board from scratch, from
+     * the key of every value on it.
+     *
+     * @param board
+     *              the board, which is not changed
+     *
+     * @return the Zobrist hash of the board is returned
+     */
+    private static long fullHash(SudokuBoard board)
+    {
+        BoardGeometry geometry = board.getGeometry();
+        int size = board.getBoardSize();
+        long hash = 0;
+
+        for (int cell = 0; cell < size * size; cell++)
+        {
+            int value = board.getValue(cell / size, cell % size);
+
+            if (value > 0)
+            {
+                hash ^= geometry.getZobristKey(cell, value);
+            }
+        }
+        return hash;
+    }
+}
+
+//end of ZobristTest class